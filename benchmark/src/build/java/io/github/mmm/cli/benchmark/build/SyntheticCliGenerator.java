@@ -0,0 +1,200 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark.build;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generator for the synthetic CLIs used by the benchmarks. It is launched as single source-file program during the
+ * {@code generate-sources} phase (see {@code pom.xml}) so the generated commands are regular compiled classes with
+ * their resource bundles on the classpath.<br>
+ * For every given scale {@code N} it generates the package {@code io.github.mmm.cli.benchmark.synthetic.s<N>} with
+ * {@code N} commands {@code Command<k>} and the CLI {@code SyntheticCli<N>}. The number of properties per command is
+ * spread linearly from {@value #MIN_PROPERTIES} (first command) to {@value #MAX_PROPERTIES} (last command).
+ */
+public class SyntheticCliGenerator {
+
+  /** The minimum number of properties of a generated command. */
+  public static final int MIN_PROPERTIES = 5;
+
+  /** The maximum number of properties of a generated command. */
+  public static final int MAX_PROPERTIES = 50;
+
+  private static final String PACKAGE = "io.github.mmm.cli.benchmark.synthetic";
+
+  private static final String SHORT_OPTIONS = "abcdefgijklmnopqrstuwxyz";
+
+  private static final String HEADER = "/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0\n"
+      + " * http://www.apache.org/licenses/LICENSE-2.0 */\n";
+
+  private final Path sourceDir;
+
+  private final Path resourceDir;
+
+  private SyntheticCliGenerator(Path sourceDir, Path resourceDir) {
+
+    super();
+    this.sourceDir = sourceDir;
+    this.resourceDir = resourceDir;
+  }
+
+  /**
+   * @param commandCount the number of commands to generate.
+   * @param k the index of the command.
+   * @return the number of properties of the command.
+   */
+  public static int getPropertyCount(int commandCount, int k) {
+
+    if (commandCount <= 1) {
+      return MIN_PROPERTIES;
+    }
+    return MIN_PROPERTIES + ((k * (MAX_PROPERTIES - MIN_PROPERTIES)) / (commandCount - 1));
+  }
+
+  private void generate(int commandCount) throws IOException {
+
+    String pkg = PACKAGE + ".s" + commandCount;
+    Path pkgSourceDir = this.sourceDir.resolve(pkg.replace('.', '/'));
+    Path pkgResourceDir = this.resourceDir.resolve("l10n").resolve(pkg.replace('.', '/'));
+    Files.createDirectories(pkgSourceDir);
+    Files.createDirectories(pkgResourceDir);
+    for (int k = 0; k < commandCount; k++) {
+      generateCommand(pkg, pkgSourceDir, pkgResourceDir, k, getPropertyCount(commandCount, k));
+    }
+    generateCli(pkg, pkgSourceDir, commandCount);
+  }
+
+  private void generateCommand(String pkg, Path pkgSourceDir, Path pkgResourceDir, int k, int propertyCount)
+      throws IOException {
+
+    String name = "Command" + k;
+    StringBuilder java = new StringBuilder(HEADER);
+    StringBuilder nls = new StringBuilder();
+    java.append("package ").append(pkg).append(";\n\n");
+    java.append("import io.github.mmm.bean.Mandatory;\n");
+    java.append("import io.github.mmm.bean.PropertyAlias;\n");
+    java.append("import io.github.mmm.cli.CliMain;\n");
+    java.append("import io.github.mmm.cli.command.CliCommand;\n");
+    java.append("import io.github.mmm.property.booleans.BooleanProperty;\n");
+    java.append("import io.github.mmm.property.container.list.ListProperty;\n");
+    java.append("import io.github.mmm.property.number.longs.LongProperty;\n");
+    java.append("import io.github.mmm.property.string.StringProperty;\n\n");
+    java.append("/**\n * Synthetic command with ").append(propertyCount).append(" properties (generated).\n */\n");
+    java.append("public interface ").append(name).append(" extends CliCommand {\n\n");
+    nls.append("help=Synthetic command ").append(k).append(" with ").append(propertyCount)
+        .append(" properties.\n");
+    appendProperty(java, "command activation", true, "BooleanProperty", "Command", "command" + k, "0");
+    for (int j = 1; j < propertyCount - 1; j++) {
+      String shortOption = null;
+      if (j <= SHORT_OPTIONS.length()) {
+        shortOption = "-" + SHORT_OPTIONS.charAt(j - 1);
+      }
+      String type;
+      String propertyName;
+      String longOption;
+      switch (j % 4) {
+        case 1:
+          type = "BooleanProperty";
+          propertyName = "Flag" + j;
+          longOption = "--flag-" + j;
+          break;
+        case 2:
+          type = "StringProperty";
+          propertyName = "Name" + j;
+          longOption = "--name-" + j;
+          break;
+        case 3:
+          type = "LongProperty";
+          propertyName = "Count" + j;
+          longOption = "--count-" + j;
+          break;
+        default:
+          type = "ListProperty<String>";
+          propertyName = "Item" + j;
+          longOption = "--item-" + j;
+      }
+      if (shortOption == null) {
+        appendProperty(java, "synthetic option " + j, false, type, propertyName, longOption);
+      } else {
+        appendProperty(java, "synthetic option " + j, false, type, propertyName, longOption, shortOption);
+      }
+      nls.append(propertyName).append("=The synthetic option ").append(j).append(".\n");
+    }
+    appendProperty(java, "synthetic target", true, "StringProperty", "Target", "1");
+    nls.append("Target=The synthetic target.\n");
+    java.append("  @Override\n  default int run(CliMain main) {\n\n    return 0;\n  }\n\n}\n");
+    write(pkgSourceDir.resolve(name + ".java"), java);
+    write(pkgResourceDir.resolve(name + ".properties"), nls);
+  }
+
+  private static void appendProperty(StringBuilder java, String doc, boolean mandatory, String type,
+      String propertyName, String... aliases) {
+
+    java.append("  /** @return the ").append(doc).append(". */\n");
+    if (mandatory) {
+      java.append("  @Mandatory\n");
+    }
+    java.append("  @PropertyAlias({ ");
+    for (int i = 0; i < aliases.length; i++) {
+      if (i > 0) {
+        java.append(", ");
+      }
+      java.append('"').append(aliases[i]).append('"');
+    }
+    java.append(" })\n");
+    java.append("  ").append(type).append(' ').append(propertyName).append("();\n\n");
+  }
+
+  private void generateCli(String pkg, Path pkgSourceDir, int commandCount) throws IOException {
+
+    String name = "SyntheticCli" + commandCount;
+    StringBuilder java = new StringBuilder(HEADER);
+    java.append("package ").append(pkg).append(";\n\n");
+    java.append("import java.util.List;\n\n");
+    java.append("import io.github.mmm.cli.benchmark.SyntheticCli;\n");
+    java.append("import io.github.mmm.cli.command.CliCommand;\n\n");
+    java.append("/**\n * {@link SyntheticCli} with ").append(commandCount).append(" commands (generated).\n */\n");
+    java.append("public class ").append(name).append(" extends SyntheticCli {\n\n");
+    java.append("  private static final List<Class<? extends CliCommand>> COMMANDS = List.of(");
+    for (int k = 0; k < commandCount; k++) {
+      if (k > 0) {
+        java.append(',');
+      }
+      java.append("\n      Command").append(k).append(".class");
+    }
+    java.append(");\n\n");
+    java.append("  @Override\n  public List<Class<? extends CliCommand>> getCommandClasses() {\n\n");
+    java.append("    return COMMANDS;\n  }\n\n}\n");
+    write(pkgSourceDir.resolve(name + ".java"), java);
+  }
+
+  private static void write(Path file, CharSequence content) throws IOException {
+
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.append(content);
+    }
+  }
+
+  /**
+   * @param args the command-line arguments: the source directory, the resource directory and the comma separated
+   *        list of scales (number of commands per CLI).
+   * @throws IOException on I/O error.
+   */
+  public static void main(String[] args) throws IOException {
+
+    if (args.length != 3) {
+      System.err.println("Usage: SyntheticCliGenerator <source-dir> <resource-dir> <scale>[,<scale>]*");
+      System.exit(1);
+    }
+    SyntheticCliGenerator generator = new SyntheticCliGenerator(Paths.get(args[0]), Paths.get(args[1]));
+    for (String scale : args[2].split(",")) {
+      generator.generate(Integer.parseInt(scale.trim()));
+    }
+  }
+
+}
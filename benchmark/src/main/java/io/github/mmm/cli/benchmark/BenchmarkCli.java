@@ -0,0 +1,58 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import io.github.mmm.cli.CliMain;
+import io.github.mmm.cli.container.impl.CliCommandContainerImpl;
+import io.github.mmm.cli.container.impl.CliContainerImpl;
+import io.github.mmm.cli.io.impl.CliConsoleImpl;
+
+/**
+ * {@link CliMain} for benchmarks. Writes all output to {@link OutputStream#nullOutputStream() nowhere} so the
+ * benchmarks measure the CLI infrastructure rather than the terminal.
+ */
+public class BenchmarkCli extends CliMain {
+
+  /**
+   * The constructor.
+   */
+  public BenchmarkCli() {
+
+    super(createSilentConsole());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected void addCommands() {
+
+    super.addCommands();
+    group().add(BenchmarkCommand.class);
+  }
+
+  /**
+   * @param commandInterface the {@link Class} reflecting the {@link io.github.mmm.cli.command.CliCommand} that has
+   *        been added to the root group.
+   * @return the according {@link CliCommandContainerImpl}.
+   */
+  public CliCommandContainerImpl getCommandContainer(Class<?> commandInterface) {
+
+    CliContainerImpl container = (CliContainerImpl) getContainer();
+    return (CliCommandContainerImpl) container.getGroup(commandInterface.getName());
+  }
+
+  /**
+   * @return a new {@link CliConsoleImpl} that discards all output.
+   */
+  public static CliConsoleImpl createSilentConsole() {
+
+    CliConsoleImpl console = new CliConsoleImpl();
+    PrintStream nowhere = new PrintStream(OutputStream.nullOutputStream());
+    console.setStdOut(nowhere);
+    console.setStdErr(nowhere);
+    return console;
+  }
+
+}
@@ -0,0 +1,56 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import io.github.mmm.bean.Mandatory;
+import io.github.mmm.bean.PropertyAlias;
+import io.github.mmm.cli.CliMain;
+import io.github.mmm.cli.command.CliCommand;
+import io.github.mmm.property.booleans.BooleanProperty;
+import io.github.mmm.property.container.list.ListProperty;
+import io.github.mmm.property.number.longs.LongProperty;
+import io.github.mmm.property.string.StringProperty;
+
+/**
+ * {@link CliCommand} with a typical mix of keyword, options and values for benchmarks.
+ */
+public interface BenchmarkCommand extends CliCommand {
+
+  /** @return the command activation. */
+  @Mandatory
+  @PropertyAlias({ "build", "0" })
+  BooleanProperty Build();
+
+  /** @return the build target. */
+  @Mandatory
+  @PropertyAlias({ "--target", "-t" })
+  StringProperty Target();
+
+  /** @return {@code true} for quiet mode. */
+  @PropertyAlias({ "--quiet", "-q" })
+  BooleanProperty Quiet();
+
+  /** @return {@code true} for offline mode. */
+  @PropertyAlias({ "--offline", "-o" })
+  BooleanProperty Offline();
+
+  /** @return the number of parallel jobs. */
+  @PropertyAlias({ "--jobs", "-j" })
+  LongProperty Jobs();
+
+  /** @return the system properties to define. */
+  @PropertyAlias({ "--define", "-D" })
+  ListProperty<String> Defines();
+
+  /** @return the project to build. */
+  @Mandatory
+  @PropertyAlias("1")
+  StringProperty Project();
+
+  @Override
+  default int run(CliMain main) {
+
+    return 0;
+  }
+
+}
@@ -0,0 +1,62 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.cli.arg.CliArgs;
+
+/**
+ * Benchmark of {@link CliArgs#CliArgs(String...) parsing} command-line arguments of different {@link SyntheticArgs
+ * shapes}. Run with {@code -prof gc} to also get the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CliArgsBenchmark {
+
+  /** The number of properties of the command the arguments are created for. */
+  @Param({ "5", "50" })
+  public int properties;
+
+  /** The {@link SyntheticArgs shape} of the arguments. */
+  @Param({ "MINIMAL", "TYPICAL", "FULL" })
+  public SyntheticArgs shape;
+
+  private String[] args;
+
+  /**
+   * Creates the arguments to parse.
+   */
+  @Setup
+  public void setup() {
+
+    SyntheticCli cli = SyntheticCli.of(10);
+    this.args = this.shape.of(cli.getCommandContainer(this.properties));
+  }
+
+  /**
+   * @return the parsed {@link CliArgs}.
+   */
+  @Benchmark
+  public CliArgs parse() {
+
+    return new CliArgs(this.args);
+  }
+
+}
@@ -0,0 +1,76 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.cli.command.CliCommandAutoComplete;
+
+/**
+ * Benchmark of {@link CliCommandAutoComplete#run(io.github.mmm.cli.CliMain) auto-completion} in a {@link SyntheticCli}
+ * with the given number of commands. The completion either suggests the keywords of all commands starting with
+ * {@code command1} or the long options of the last command. The output is discarded. Run with {@code -prof gc} to also
+ * get the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CliAutoCompleteBenchmark {
+
+  /** The number of commands of the {@link SyntheticCli}. */
+  @Param({ "10", "100", "1000" })
+  public int commands;
+
+  /** {@code KEYWORD} to complete a keyword or {@code OPTION} to complete an option. */
+  @Param({ "KEYWORD", "OPTION" })
+  public String completion;
+
+  private SyntheticCli cli;
+
+  private CliCommandAutoComplete autoComplete;
+
+  private List<String> arguments;
+
+  /**
+   * Creates the {@link SyntheticCli} and the arguments to complete.
+   */
+  @Setup
+  public void setup() {
+
+    this.cli = SyntheticCli.of(this.commands);
+    this.autoComplete = (CliCommandAutoComplete) this.cli.getCommandContainer(CliCommandAutoComplete.class)
+        .getCommand();
+    if ("KEYWORD".equals(this.completion)) {
+      this.arguments = List.of("command1");
+    } else {
+      this.arguments = List.of("command" + (this.commands - 1), "--");
+    }
+  }
+
+  /**
+   * @return the exit code of the auto-completion.
+   */
+  @Benchmark
+  public int complete() {
+
+    this.autoComplete.Arguments().set(this.arguments);
+    return this.autoComplete.run(this.cli);
+  }
+
+}
@@ -0,0 +1,125 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.cli.io.CliFlushPolicy;
+import io.github.mmm.cli.io.CliOut;
+import io.github.mmm.cli.io.impl.CliConsoleChannel;
+import io.github.mmm.cli.io.impl.CliConsoleImpl;
+
+/**
+ * Benchmark of the text throughput of a {@link CliConsoleImpl} writing to a {@link PrintStream} configured like
+ * {@link System#out} compared to a {@link CliConsoleChannel} writing to a {@link FileChannel}. Both write to a
+ * temporary file. A single operation logs one typical line of a text-heavy command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CliConsoleBenchmark {
+
+  /**
+   * The console backend: {@code stream} for {@link PrintStream}, {@code channel} for {@link CliConsoleChannel} and
+   * {@code channelThreadSafe} for a {@link CliConsoleChannel#isThreadSafe() thread-safe} {@link CliConsoleChannel}.
+   */
+  @Param({ "stream", "channel", "channelThreadSafe" })
+  public String backend;
+
+  /** The {@link CliFlushPolicy}. */
+  @Param({ "LINE", "SIZE" })
+  public CliFlushPolicy policy;
+
+  private Path file;
+
+  private FileChannel channel;
+
+  private PrintStream stream;
+
+  private CliConsoleImpl console;
+
+  private CliOut out;
+
+  private long counter;
+
+  /**
+   * Creates the console writing to a temporary file.
+   *
+   * @throws IOException on I/O error.
+   */
+  @Setup
+  public void setup() throws IOException {
+
+    this.file = Files.createTempFile("mmm-cli-console", ".txt");
+    Charset charset = StandardCharsets.UTF_8;
+    if (this.backend.startsWith("channel")) {
+      boolean threadSafe = "channelThreadSafe".equals(this.backend);
+      this.channel = FileChannel.open(this.file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      this.console = new CliConsoleChannel(this.channel, charset, this.channel, charset, threadSafe);
+    } else {
+      // same setup as System.out
+      this.stream = new PrintStream(new BufferedOutputStream(new FileOutputStream(this.file.toFile()), 128), true,
+          charset);
+      this.console = new CliConsoleImpl();
+      this.console.setStdOut(this.stream);
+      this.console.setStdErr(this.stream);
+    }
+    this.console.setFlushPolicy(this.policy);
+    this.out = this.console.out();
+  }
+
+  /**
+   * Closes the console and deletes the temporary file.
+   *
+   * @throws IOException on I/O error.
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+
+    this.console.flush();
+    if (this.channel != null) {
+      this.channel.close();
+    }
+    if (this.stream != null) {
+      this.stream.close();
+    }
+    Files.deleteIfExists(this.file);
+  }
+
+  /**
+   * Logs a typical line of a text-heavy command.
+   */
+  @Benchmark
+  public void log() {
+
+    this.out.log("Processed entry ", Long.valueOf(this.counter++), " of archive /var/data/release-2.7.1.zip: ",
+        "src/main/java/io/github/mmm/cli/io/impl/CliConsoleImpl.java (12.4 KiB)");
+  }
+
+}
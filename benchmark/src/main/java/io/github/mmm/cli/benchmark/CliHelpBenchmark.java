@@ -0,0 +1,62 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.cli.arg.CliArgs;
+import io.github.mmm.cli.command.CliCommandHelp;
+
+/**
+ * Benchmark of {@link CliCommandHelp#run(io.github.mmm.cli.CliMain) printing the help} of a {@link SyntheticCli} with
+ * the given number of commands. The output is discarded. Run with {@code -prof gc} to also get the allocation per
+ * operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CliHelpBenchmark {
+
+  /** The number of commands of the {@link SyntheticCli}. */
+  @Param({ "10", "100", "1000" })
+  public int commands;
+
+  private SyntheticCli cli;
+
+  private CliArgs args;
+
+  /**
+   * Creates the {@link SyntheticCli}.
+   */
+  @Setup
+  public void setup() {
+
+    this.cli = SyntheticCli.of(this.commands);
+    this.args = new CliArgs("--help");
+  }
+
+  /**
+   * @return the exit code of the help command.
+   */
+  @Benchmark
+  public int help() {
+
+    return this.cli.run(this.args);
+  }
+
+}
@@ -0,0 +1,110 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.cli.arg.CliArgs;
+import io.github.mmm.cli.container.impl.CliBindingPlan;
+import io.github.mmm.cli.container.impl.CliCommandContainerImpl;
+
+/**
+ * Benchmark of {@link CliCommandContainerImpl#match(CliArgs)}. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} of {@link #legacyMatch()} with {@link #match()}. Both perform the same full match but
+ * {@link #legacyMatch()} additionally tracks the missing mandatory properties as done before the mandatory slots were
+ * precomputed: collecting the names of all mandatory properties into a {@link Set} per match and removing the name of
+ * each bound property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CliMatchBenchmark {
+
+  private CliCommandContainerImpl command;
+
+  private CliArgs matchingArgs;
+
+  private CliArgs missingMandatoryArgs;
+
+  private CliArgs undefinedOptionArgs;
+
+  /**
+   * Creates the {@link BenchmarkCli} and the {@link CliArgs} to match.
+   */
+  @Setup
+  public void setup() {
+
+    BenchmarkCli cli = new BenchmarkCli();
+    this.command = cli.getCommandContainer(BenchmarkCommand.class);
+    this.matchingArgs = new CliArgs("build", "-q", "-o", "--target", "install", "-j", "8", "-D", "skip=true",
+        "project");
+    this.missingMandatoryArgs = new CliArgs("build", "-q", "-o", "-j", "8", "project");
+    this.undefinedOptionArgs = new CliArgs("build", "--target", "install", "--undefined", "project");
+  }
+
+  /**
+   * @return the {@link CliBindingPlan} for arguments that match with the former tracking of mandatory properties.
+   */
+  @Benchmark
+  public CliBindingPlan legacyMatch() {
+
+    Set<String> mandatoryProperties = this.command.getProperties().stream().filter(p -> p.isMandatory())
+        .map(p -> p.getPropertyName()).collect(Collectors.toSet());
+    CliBindingPlan plan = this.command.match(this.matchingArgs);
+    if (plan == null) {
+      return null;
+    }
+    int count = plan.getBindingCount();
+    for (int i = 0; i < count; i++) {
+      mandatoryProperties.remove(plan.getBindingProperty(i).getPropertyName());
+    }
+    if (!mandatoryProperties.isEmpty()) {
+      return null;
+    }
+    return plan;
+  }
+
+  /**
+   * @return the {@link CliBindingPlan} for arguments that match.
+   */
+  @Benchmark
+  public CliBindingPlan match() {
+
+    return this.command.match(this.matchingArgs);
+  }
+
+  /**
+   * @return {@code null} as a mandatory option is missing.
+   */
+  @Benchmark
+  public CliBindingPlan matchMissingMandatory() {
+
+    return this.command.match(this.missingMandatoryArgs);
+  }
+
+  /**
+   * @return {@code null} as an undefined option is given.
+   */
+  @Benchmark
+  public CliBindingPlan matchUndefinedOption() {
+
+    return this.command.match(this.undefinedOptionArgs);
+  }
+
+}
@@ -0,0 +1,88 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.cli.CliMain;
+import io.github.mmm.cli.arg.CliArgs;
+
+/**
+ * Benchmark of {@link CliMain#run(CliArgs)} dispatching to a synthetic command with the given number of properties
+ * in a {@link SyntheticCli} with the given number of commands. The command with 5 properties is registered first
+ * while the command with 50 properties is registered last. Run with {@code -prof gc} to also get the allocation per
+ * operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CliRunBenchmark {
+
+  /** The number of commands of the {@link SyntheticCli}. */
+  @Param({ "10", "100", "1000" })
+  public int commands;
+
+  /** The number of properties of the command to dispatch to. */
+  @Param({ "5", "50" })
+  public int properties;
+
+  /** The {@link SyntheticArgs shape} of the arguments. */
+  @Param({ "TYPICAL" })
+  public SyntheticArgs shape;
+
+  private SyntheticCli cli;
+
+  private String[] args;
+
+  private CliArgs cliArgs;
+
+  /**
+   * Creates the {@link SyntheticCli} and the arguments to dispatch.
+   */
+  @Setup
+  public void setup() {
+
+    this.cli = SyntheticCli.of(this.commands);
+    this.args = this.shape.of(this.cli.getCommandContainer(this.properties));
+    this.cliArgs = new CliArgs(this.args);
+    int exitCode = this.cli.run(this.cliArgs);
+    if (exitCode != 0) {
+      throw new IllegalStateException("Arguments " + Arrays.toString(this.args) + " failed with " + exitCode);
+    }
+  }
+
+  /**
+   * @return the exit code of {@link CliMain#run(CliArgs)} for already parsed {@link CliArgs}.
+   */
+  @Benchmark
+  public int run() {
+
+    return this.cli.run(this.cliArgs);
+  }
+
+  /**
+   * @return the exit code of {@link CliMain#run(String...)} including the parsing of the arguments.
+   */
+  @Benchmark
+  public int parseAndRun() {
+
+    return this.cli.run(this.args);
+  }
+
+}
@@ -0,0 +1,110 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.cli.cds.CliAppCds;
+
+/**
+ * Benchmark of the startup time of a {@link SyntheticCli} launched in a new JVM dispatching to a synthetic command
+ * with {@link SyntheticArgs#TYPICAL typical} arguments. Compares the launch without and with an AppCDS archive created
+ * by {@link CliAppCds}. As AppCDS requires JAR files on the classpath, run it from {@code benchmarks.jar}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CliStartupBenchmark {
+
+  /** The number of commands of the {@link SyntheticCli}. */
+  @Param({ "10", "1000" })
+  public int commands;
+
+  /** {@code true} to launch with an AppCDS archive, {@code false} otherwise. */
+  @Param({ "false", "true" })
+  public boolean appCds;
+
+  private Path archive;
+
+  private List<String> command;
+
+  /**
+   * Creates the AppCDS archive (if {@link #appCds enabled}) and the command to launch.
+   *
+   * @throws IOException on I/O error.
+   * @throws InterruptedException if interrupted.
+   */
+  @Setup
+  public void setup() throws IOException, InterruptedException {
+
+    String classpath = System.getProperty("java.class.path");
+    SyntheticCli cli = SyntheticCli.of(this.commands);
+    this.command = new ArrayList<>();
+    this.command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    if (this.appCds) {
+      Path folder = Files.createTempDirectory("mmm-cli-appcds");
+      CliAppCds cds = new CliAppCds(cli.getClass().getName(), classpath);
+      this.archive = cds.createArchive(folder.resolve("synthetic.jsa"));
+      this.command.add("-XX:SharedArchiveFile=" + this.archive);
+    }
+    this.command.add("-cp");
+    this.command.add(classpath);
+    this.command.add(SyntheticCliMain.class.getName());
+    this.command.add(Integer.toString(this.commands));
+    this.command.addAll(Arrays.asList(SyntheticArgs.TYPICAL.of(cli.getCommandContainer(5))));
+    int exitCode = launch();
+    if (exitCode != 0) {
+      throw new IllegalStateException("Command " + this.command + " failed with " + exitCode);
+    }
+  }
+
+  /**
+   * Deletes the AppCDS archive.
+   *
+   * @throws IOException on I/O error.
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+
+    if (this.archive != null) {
+      Files.deleteIfExists(this.archive);
+      Files.deleteIfExists(this.archive.getParent());
+    }
+  }
+
+  /**
+   * @return the exit code of the launched {@link SyntheticCli}.
+   * @throws IOException on I/O error.
+   * @throws InterruptedException if interrupted.
+   */
+  @Benchmark
+  public int launch() throws IOException, InterruptedException {
+
+    Process process = new ProcessBuilder(this.command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .redirectError(ProcessBuilder.Redirect.DISCARD).start();
+    return process.waitFor();
+  }
+
+}
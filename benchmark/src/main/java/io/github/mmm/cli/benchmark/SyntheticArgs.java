@@ -0,0 +1,95 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.mmm.cli.container.impl.CliCommandContainerImpl;
+import io.github.mmm.cli.container.impl.CliPropertyContainerImpl;
+import io.github.mmm.property.WritableProperty;
+import io.github.mmm.property.container.collection.WritableCollectionProperty;
+
+/**
+ * Shape of synthetic command-line arguments derived from the properties of a {@link CliCommandContainerImpl command}.
+ * Short flags are combined (e.g. {@code -adi}), other options alternate between separate value ({@code -b value}) and
+ * assignment ({@code --name-6=value}) syntax. Collection options are omitted as binding them would accumulate values
+ * in the command over all benchmark invocations.
+ */
+public enum SyntheticArgs {
+
+  /** Only the mandatory keyword and value. */
+  MINIMAL(0),
+
+  /** The mandatory keyword and value with a few options as typically used. */
+  TYPICAL(4),
+
+  /** All options of the command. */
+  FULL(Integer.MAX_VALUE);
+
+  private final int maxOptions;
+
+  private SyntheticArgs(int maxOptions) {
+
+    this.maxOptions = maxOptions;
+  }
+
+  /**
+   * @param container the {@link CliCommandContainerImpl} of the command.
+   * @return the command-line arguments of this shape that match the given command.
+   */
+  public String[] of(CliCommandContainerImpl container) {
+
+    List<String> keywords = new ArrayList<>();
+    List<String> options = new ArrayList<>();
+    List<String> values = new ArrayList<>();
+    StringBuilder flags = new StringBuilder("-");
+    int optionCount = 0;
+    for (CliPropertyContainerImpl property : container.getProperties()) {
+      if (property.isKeyword()) {
+        keywords.add(property.getAliases().get(0));
+      } else if (property.isValue()) {
+        values.add("value" + property.getIndex());
+      } else if (property.isOption() && (optionCount < this.maxOptions)) {
+        WritableProperty<?> writableProperty = container.getCommand()
+            .getRequiredProperty(property.getPropertyName());
+        if (writableProperty instanceof WritableCollectionProperty) {
+          continue;
+        }
+        optionCount++;
+        String longOption = property.getAliases().get(0);
+        String shortOption = getShortOption(property);
+        if (property.isFlag()) {
+          if (shortOption == null) {
+            options.add(longOption);
+          } else {
+            flags.append(shortOption.charAt(1));
+          }
+        } else if ((shortOption != null) && ((optionCount % 2) == 0)) {
+          options.add(shortOption);
+          options.add("42");
+        } else {
+          options.add(longOption + "=42");
+        }
+      }
+    }
+    List<String> args = new ArrayList<>(keywords);
+    if (flags.length() > 1) {
+      args.add(flags.toString());
+    }
+    args.addAll(options);
+    args.addAll(values);
+    return args.toArray(new String[args.size()]);
+  }
+
+  private static String getShortOption(CliPropertyContainerImpl property) {
+
+    for (String alias : property.getAliases()) {
+      if ((alias.length() == 2) && (alias.charAt(0) == '-')) {
+        return alias;
+      }
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,76 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.mmm.cli.CliAddCommand;
+import io.github.mmm.cli.command.CliCommand;
+import io.github.mmm.cli.container.impl.CliCommandContainerImpl;
+
+/**
+ * {@link BenchmarkCli} with synthetic {@link CliCommand}s. The implementations as well as the commands are generated
+ * at build time for the scales 10, 100 and 1000 commands. The first command has 5 properties and the number of
+ * properties grows linearly up to 50 for the last command. Each command has a keyword ({@code command<k>}), options of
+ * different types (flag, string, number, list) where the first 24 options also have a short alias and a mandatory
+ * value as last property.
+ */
+public abstract class SyntheticCli extends BenchmarkCli {
+
+  @Override
+  protected void addCommands() {
+
+    super.addCommands();
+    CliAddCommand group = group();
+    for (Class<? extends CliCommand> commandClass : getCommandClasses()) {
+      group.add(commandClass);
+    }
+  }
+
+  @Override
+  protected List<String[]> getTrainingInvocations() {
+
+    List<String[]> invocations = new ArrayList<>(super.getTrainingInvocations());
+    invocations.add(SyntheticArgs.TYPICAL.of(getCommandContainer(5)));
+    return invocations;
+  }
+
+  /**
+   * @return the {@link List} with the {@link Class}es reflecting the synthetic {@link CliCommand}s.
+   */
+  public abstract List<Class<? extends CliCommand>> getCommandClasses();
+
+  /**
+   * @param propertyCount the requested number of properties.
+   * @return the {@link CliCommandContainerImpl} of the first synthetic {@link CliCommand} having at least the given
+   *         number of properties.
+   */
+  public CliCommandContainerImpl getCommandContainer(int propertyCount) {
+
+    CliCommandContainerImpl result = null;
+    for (Class<? extends CliCommand> commandClass : getCommandClasses()) {
+      result = getCommandContainer(commandClass);
+      if (result.getProperties().size() >= propertyCount) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param commandCount the number of synthetic {@link CliCommand}s. Supported values are 10, 100 and 1000.
+   * @return the new {@link SyntheticCli} with the given number of {@link CliCommand}s.
+   */
+  public static SyntheticCli of(int commandCount) {
+
+    String className = SyntheticCli.class.getPackageName() + ".synthetic.s" + commandCount + ".SyntheticCli"
+        + commandCount;
+    try {
+      return (SyntheticCli) Class.forName(className).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("Unsupported number of commands: " + commandCount, e);
+    }
+  }
+
+}
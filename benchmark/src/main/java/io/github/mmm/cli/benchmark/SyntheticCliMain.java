@@ -0,0 +1,26 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Main program to launch a {@link SyntheticCli} in its own JVM (see {@link CliStartupBenchmark}).
+ */
+public final class SyntheticCliMain {
+
+  private SyntheticCliMain() {
+
+  }
+
+  /**
+   * @param args the number of commands of the {@link SyntheticCli} followed by the arguments to run.
+   */
+  public static void main(String[] args) {
+
+    SyntheticCli cli = SyntheticCli.of(Integer.parseInt(args[0]));
+    int exitCode = cli.run(Arrays.copyOfRange(args, 1, args.length));
+    System.exit(exitCode);
+  }
+
+}
@@ -37,6 +37,35 @@ public interface CliAddCommand {
     return this;
   }
 
+  /**
+   * Registers the given {@link CliCommand} lazily. Unlike {@link #add(Class)} the {@link CliCommand} bean, its
+   * {@link CliBundle} and its property containers are only created on demand (if the command is a candidate for the
+   * given arguments or for help and auto-completion). Only the metadata is read when registered, from
+   * {@link io.github.mmm.cli.container.CliCommandMetadata generated metadata} if available or otherwise from the
+   * annotations of the {@link CliCommand} interface. Hence, startup cost scales with the commands an invocation
+   * actually touches rather than with the number of registered commands.
+   *
+   * @param commandInterface the {@link Class} reflecting the {@link CliCommand} interface to register.
+   * @return this object itself for fluent API calls.
+   */
+  default CliAddCommand addLazy(Class<? extends CliCommand> commandInterface) {
+
+    return add(commandInterface);
+  }
+
+  /**
+   * @param commandInterfaces the {@link Class}es reflecting the {@link CliCommand} interfaces to
+   *        {@link #addLazy(Class) register lazily}.
+   * @return this object itself for fluent API calls.
+   */
+  default CliAddCommand addLazy(@SuppressWarnings("unchecked") Class<? extends CliCommand>... commandInterfaces) {
+
+    for (Class<? extends CliCommand> command : commandInterfaces) {
+      addLazy(command);
+    }
+    return this;
+  }
+
   /**
    * @param command the {@link CliCommand} to register.
    * @return this object itself for fluent API calls.
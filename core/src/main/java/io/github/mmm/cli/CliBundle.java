@@ -1,22 +1,29 @@
 package io.github.mmm.cli;
 
+import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.Executor;
 
 import io.github.mmm.base.i18n.Localizable;
 import io.github.mmm.cli.command.CliCommand;
 import io.github.mmm.cli.io.CliConsole;
 
 /**
- * Simple wrapper for {@link ResourceBundle} to circumvent flaws and bugs in JDK.
+ * Simple wrapper for {@link ResourceBundle} to circumvent flaws and bugs in JDK. The values are read from the
+ * {@link CliBundleCache} so each {@link ResourceBundle} is only loaded once per process and {@link Locale}. Loading
+ * is deferred until a value is actually needed (or {@link #preload(Executor) preloaded}).
  */
 public class CliBundle {
 
   private final String name;
 
-  private final ResourceBundle bundle;
+  private final Locale locale;
 
   private final CliConsole console;
 
+  private volatile Loaded loaded;
+
   /**
    * The constructor.
    *
@@ -27,14 +34,53 @@ public class CliBundle {
 
     super();
     this.name = Localizable.BUNDLE_PREFIX + name;
+    this.locale = console.getLocale();
     this.console = console;
-    ResourceBundle b = null;
-    try {
-      b = ResourceBundle.getBundle(this.name, console.getLocale());
-    } catch (Exception e) {
-      console.error().log(e.toString());
+  }
+
+  /**
+   * @return the {@link CliBundleCache#get(String, Locale, CliConsole) cached table} of the {@link ResourceBundle} or
+   *         {@code null} if not available. Will be loaded on first access and reloaded if the {@link CliBundleCache}
+   *         has been {@link CliBundleCache#invalidate() invalidated}.
+   */
+  private Map<String, String> getTable() {
+
+    int currentVersion = CliBundleCache.getVersion();
+    Loaded current = this.loaded;
+    if ((current == null) || (current.version != currentVersion)) {
+      current = new Loaded(currentVersion, CliBundleCache.get(this.name, this.locale, this.console));
+      this.loaded = current;
     }
-    this.bundle = b;
+    return current.table;
+  }
+
+  /**
+   * Starts to load the {@link ResourceBundle} asynchronously so it is available when needed without blocking the
+   * current thread now. Commands that never need a localized text do not wait for the bundle at all.
+   *
+   * @param executor the {@link Executor} to load the {@link ResourceBundle} with.
+   * @see CliBundleCache#preload(String, Locale, CliConsole, Executor)
+   */
+  public void preload(Executor executor) {
+
+    CliBundleCache.preload(this.name, this.locale, this.console, executor);
+  }
+
+  /**
+   * @return the {@link ResourceBundle#getBundle(String) base name} of the {@link ResourceBundle} including the
+   *         {@link Localizable#BUNDLE_PREFIX prefix}.
+   */
+  public String getName() {
+
+    return this.name;
+  }
+
+  /**
+   * @return {@code true} if the {@link ResourceBundle} has been found, {@code false} otherwise.
+   */
+  public boolean isAvailable() {
+
+    return (getTable() != null);
   }
 
   /**
@@ -53,8 +99,13 @@ public class CliBundle {
    */
   public String get(String key, String fallback) {
 
-    if ((this.bundle != null) && this.bundle.containsKey(key)) {
-      return this.bundle.getString(key);
+    Map<String, String> values = getTable();
+    String value = null;
+    if (values != null) {
+      value = values.get(key);
+    }
+    if (value != null) {
+      return value;
     } else {
       if (fallback == null) {
         // JDK Bug:
@@ -67,6 +118,20 @@ public class CliBundle {
     }
   }
 
+  private static class Loaded {
+
+    private final int version;
+
+    private final Map<String, String> table;
+
+    private Loaded(int version, Map<String, String> table) {
+
+      super();
+      this.version = version;
+      this.table = table;
+    }
+  }
+
   /**
    * @param command the {@link CliCommand} to get {@link ResourceBundle} for.
    * @param console the {@link CliConsole}.
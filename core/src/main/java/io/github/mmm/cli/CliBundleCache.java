@@ -0,0 +1,150 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.mmm.cli.io.CliConsole;
+
+/**
+ * Process-wide cache for the {@link ResourceBundle}s of {@link CliBundle}. For each
+ * {@link ResourceBundle#getBundle(String) base name} and {@link Locale} the bundle is only loaded once and converted
+ * to a compact precomputed key/value table. Bundles that could not be found are cached as well so a miss is neither
+ * repeated nor logged again. The cache is versioned: {@link #invalidate() invalidation} increments the
+ * {@link #getVersion() version} so existing {@link CliBundle}s reload their table on next access.
+ *
+ * @since 1.0.0
+ */
+public final class CliBundleCache {
+
+  /** Marker for a cached miss (no {@link ResourceBundle} found). Distinct from any empty table. */
+  private static final Map<String, String> MISSING = Collections.unmodifiableMap(new HashMap<>());
+
+  private static final Map<String, CompletableFuture<Map<String, String>>> CACHE = new ConcurrentHashMap<>();
+
+  private static final AtomicInteger VERSION = new AtomicInteger();
+
+  private CliBundleCache() {
+
+  }
+
+  /**
+   * @return the current version of this cache. Will change on every {@link #invalidate() invalidation}.
+   */
+  public static int getVersion() {
+
+    return VERSION.get();
+  }
+
+  /**
+   * @param name the {@link ResourceBundle#getBundle(String) base name} of the {@link ResourceBundle}.
+   * @param locale the {@link Locale}.
+   * @param console the {@link CliConsole} to log an error if the {@link ResourceBundle} could not be loaded. Will only
+   *        happen on the first lookup as misses are cached.
+   * @return the precomputed table with the values of the {@link ResourceBundle} (including its parents) by key or
+   *         {@code null} if no such {@link ResourceBundle} exists. If the bundle is currently
+   *         {@link #preload(String, Locale, CliConsole, Executor) preloaded}, this method waits until completed.
+   */
+  public static Map<String, String> get(String name, Locale locale, CliConsole console) {
+
+    Map<String, String> table = getFuture(name, locale, console, null).join();
+    if (table == MISSING) {
+      return null;
+    }
+    return table;
+  }
+
+  /**
+   * Starts to load the specified bundle asynchronously unless already loaded or loading. A subsequent
+   * {@link #get(String, Locale, CliConsole) get} only waits for the completion if the bundle is actually needed.
+   *
+   * @param name the {@link ResourceBundle#getBundle(String) base name} of the {@link ResourceBundle}.
+   * @param locale the {@link Locale}.
+   * @param console the {@link CliConsole} to log an error if the {@link ResourceBundle} could not be loaded.
+   * @param executor the {@link Executor} to load the {@link ResourceBundle} with.
+   */
+  public static void preload(String name, Locale locale, CliConsole console, Executor executor) {
+
+    getFuture(name, locale, console, executor);
+  }
+
+  private static CompletableFuture<Map<String, String>> getFuture(String name, Locale locale, CliConsole console,
+      Executor executor) {
+
+    String key = name + '#' + locale;
+    CompletableFuture<Map<String, String>> future = CACHE.get(key);
+    if (future == null) {
+      CompletableFuture<Map<String, String>> newFuture = new CompletableFuture<>();
+      future = CACHE.putIfAbsent(key, newFuture);
+      if (future == null) {
+        future = newFuture;
+        if (executor == null) {
+          try {
+            newFuture.complete(load(name, locale, console));
+          } catch (RuntimeException | Error e) {
+            newFuture.completeExceptionally(e);
+          }
+        } else {
+          newFuture.completeAsync(() -> load(name, locale, console), executor);
+        }
+      }
+    }
+    return future;
+  }
+
+  private static Map<String, String> load(String name, Locale locale, CliConsole console) {
+
+    ResourceBundle bundle;
+    try {
+      bundle = ResourceBundle.getBundle(name, locale);
+    } catch (Exception e) {
+      console.error().log(e.toString());
+      return MISSING;
+    }
+    Map<String, String> table = new HashMap<>();
+    Enumeration<String> keys = bundle.getKeys();
+    while (keys.hasMoreElements()) {
+      String key = keys.nextElement();
+      Object value = bundle.getObject(key);
+      if (value instanceof String) {
+        table.put(key, (String) value);
+      }
+    }
+    return Map.copyOf(table);
+  }
+
+  /**
+   * Invalidates the entire cache including the cache of {@link ResourceBundle} itself so all bundles are reloaded on
+   * next access.
+   */
+  public static void invalidate() {
+
+    CACHE.clear();
+    ResourceBundle.clearCache();
+    VERSION.incrementAndGet();
+  }
+
+  /**
+   * Invalidates the cached bundles with the given {@link ResourceBundle#getBundle(String) base name} for all
+   * {@link Locale}s.
+   *
+   * @param name the {@link ResourceBundle#getBundle(String) base name} of the {@link ResourceBundle} to invalidate.
+   */
+  public static void invalidate(String name) {
+
+    String prefix = name + '#';
+    CACHE.keySet().removeIf(key -> key.startsWith(prefix));
+    ResourceBundle.clearCache();
+    VERSION.incrementAndGet();
+  }
+
+}
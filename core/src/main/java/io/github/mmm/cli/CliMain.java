@@ -4,9 +4,15 @@ package io.github.mmm.cli;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -19,16 +25,18 @@ import io.github.mmm.cli.command.CliCommand;
 import io.github.mmm.cli.command.CliCommandAutoComplete;
 import io.github.mmm.cli.command.CliCommandHelp;
 import io.github.mmm.cli.command.CliCommandVersion;
+import io.github.mmm.cli.command.CliCommandWithResult;
 import io.github.mmm.cli.container.CliCommandContainerGroup;
 import io.github.mmm.cli.container.CliContainer;
-import io.github.mmm.cli.container.impl.AbstractCliCommandContainerGroup;
-import io.github.mmm.cli.container.impl.CliCommandContainerImpl;
+import io.github.mmm.cli.container.impl.CliBindingPlan;
+import io.github.mmm.cli.container.impl.CliCommandPool;
 import io.github.mmm.cli.container.impl.CliContainerImpl;
 import io.github.mmm.cli.exception.CliDuplicateOptionsException;
 import io.github.mmm.cli.exception.CliException;
 import io.github.mmm.cli.exception.CliInvalidUsageException;
 import io.github.mmm.cli.exception.CliNoArgumentsException;
 import io.github.mmm.cli.io.CliConsole;
+import io.github.mmm.cli.io.impl.CliConsoleChannel;
 import io.github.mmm.cli.io.impl.CliConsoleImpl;
 
 /**
@@ -40,11 +48,16 @@ import io.github.mmm.cli.io.impl.CliConsoleImpl;
  */
 public abstract class CliMain {
 
+  /** Folder of the resource with the {@link #getVersion() version} used as fallback if no manifest is available. */
+  public static final String VERSION_RESOURCE_FOLDER = "META-INF/mmm-cli/";
+
   /** @see #console() */
   protected final CliConsole console;
 
   private final CliContainerImpl container;
 
+  private final ThreadLocal<CliConsole> sessionConsole;
+
   /**
    * The constructor.
    */
@@ -67,16 +80,25 @@ public abstract class CliMain {
       this.console = console;
     }
     this.container = new CliContainerImpl(this.console);
+    this.sessionConsole = new ThreadLocal<>();
+    if ((isPreloadBundles() || isParallelDispatch()) && (this.console instanceof CliConsoleChannel)) {
+      // both log from the common pool via the console of the container
+      ((CliConsoleChannel) this.console).setThreadSafe(true);
+    }
     addCommands();
+    if (isPreloadBundles()) {
+      this.container.preloadBundles(ForkJoinPool.commonPool());
+    }
   }
 
   /**
-   * {@link CliAddCommand#add(Class) Adds} the {@link CliCommand}s for this program.
+   * {@link CliAddCommand#add(Class) Adds} the {@link CliCommand}s for this program. Consider to
+   * {@link CliAddCommand#addLazy(Class) add them lazily} for faster startup.
    */
   @SuppressWarnings("unchecked")
   protected void addCommands() {
 
-    group().add(CliCommandHelp.class, CliCommandVersion.class, CliCommandAutoComplete.class);
+    group().addLazy(CliCommandHelp.class, CliCommandVersion.class, CliCommandAutoComplete.class);
   }
 
   /**
@@ -88,11 +110,17 @@ public abstract class CliMain {
   }
 
   /**
-   * @return the {@link CliConsole}.
+   * @return the {@link CliConsole} of the current invocation. This is the {@link CliConsole} given to
+   *         {@link #run(CliConsole, String...)} while such invocation is running in the current thread and the
+   *         {@link CliConsole} given at construction otherwise.
    */
   public CliConsole console() {
 
-    return this.console;
+    CliConsole session = this.sessionConsole.get();
+    if (session == null) {
+      return this.console;
+    }
+    return session;
   }
 
   /**
@@ -108,7 +136,7 @@ public abstract class CliMain {
     } else {
       sb.append(argument);
     }
-    this.console.error().log(sb.toString());
+    console().error().log(sb.toString());
   }
 
   /**
@@ -118,14 +146,15 @@ public abstract class CliMain {
   protected int error(Throwable error) {
 
     int exitCode = -1;
+    CliConsole cliConsole = console();
     if (error instanceof CliException) {
-      this.console.error().log(error);
+      cliConsole.error().log(error);
       exitCode = 1;
     } else if (error instanceof IllegalArgumentException) {
-      this.console.error().log(error);
+      cliConsole.error().log(error);
       exitCode = 1;
     } else {
-      this.console.error().log("An unexpected error has occurred.", error);
+      cliConsole.error().log("An unexpected error has occurred.", error);
     }
     return exitCode;
   }
@@ -162,6 +191,77 @@ public abstract class CliMain {
     return true;
   }
 
+  /**
+   * By default the {@link CliCommand}s are matched against the given {@link CliArgs} one after the other. For programs
+   * with a large number of {@link CliCommand}s you may override this method and return {@code true} to match the
+   * candidates in parallel. The result is still deterministic as the first match in registration order wins.
+   *
+   * @return {@code true} to match {@link CliCommand}s in parallel, {@code false} otherwise (default).
+   */
+  protected boolean isParallelDispatch() {
+
+    return false;
+  }
+
+  /**
+   * By default a new instance of the matching {@link CliCommand} is created for each invocation. For REPL or daemon
+   * scenarios running many short commands you may override this method and return {@code true} to reuse instances
+   * from a {@link CliCommandPool} instead. Only do this if your {@link CliCommand}s do not keep a reference to
+   * themselves after {@link CliCommand#run(CliMain) run} has completed.
+   *
+   * @return {@code true} to pool {@link CliCommand} instances, {@code false} otherwise (default).
+   */
+  protected boolean isPoolCommands() {
+
+    return false;
+  }
+
+  /**
+   * Override this method and return {@code true} to load the {@link CliBundle}s of all {@link CliCommand}s
+   * concurrently in the {@link ForkJoinPool#commonPool() common pool} right after they have been
+   * {@link #addCommands() added}. In any case a {@link CliBundle} is only awaited when a localized text (e.g. for
+   * help) is actually needed so regular invocations do not block on bundle I/O.
+   *
+   * @return {@code true} to preload {@link CliBundle}s in parallel, {@code false} otherwise (default).
+   */
+  protected boolean isPreloadBundles() {
+
+    return false;
+  }
+
+  /**
+   * Override this method and return {@code true} to support argument files like {@code javac} does. Then each argument
+   * of the form {@code @<file>} given to {@link #run(String...)} is replaced with the arguments read from that file
+   * (see {@link CliArgs#ofArgFiles(io.github.mmm.cli.arg.CliOptionSymbols, long, String...)} for details).
+   *
+   * @return {@code true} to expand argument files, {@code false} otherwise (default).
+   * @see #getArgFileMappingThreshold()
+   */
+  protected boolean isExpandArgFiles() {
+
+    return false;
+  }
+
+  /**
+   * @return the minimum size in bytes of an argument file to map it into memory instead of reading it via a buffered
+   *         reader. Only relevant if {@link #isExpandArgFiles() argument files are expanded}.
+   */
+  protected long getArgFileMappingThreshold() {
+
+    return CliArgs.DEFAULT_MAPPING_THRESHOLD;
+  }
+
+  /**
+   * @return the representative invocations (the arguments of each invocation) for a {@link #train() training run}.
+   *         By default these cover help, version and auto-completion. Override to add typical invocations of your own
+   *         {@link CliCommand}s. As they are really executed, they must not have side-effects (e.g. use arguments that
+   *         fail validation or only print information).
+   */
+  protected List<String[]> getTrainingInvocations() {
+
+    return List.of(new String[] { "--help" }, new String[] { "--version" }, new String[] { "$", "-" });
+  }
+
   /**
    * @return the name of this program.
    */
@@ -171,7 +271,10 @@ public abstract class CliMain {
   }
 
   /**
-   * @return the version of this program.
+   * @return the version of this program. It is read from the manifest of the JAR file containing this class. In a
+   *         GraalVM native image where class files are no resources, it is read from the resource
+   *         {@link #VERSION_RESOURCE_FOLDER}{@code <program-class>.version} instead (see
+   *         {@link io.github.mmm.cli.nativeimage.CliNativeImageConfig}).
    */
   public String getVersion() {
 
@@ -198,6 +301,8 @@ public abstract class CliMain {
         }
       } catch (MalformedURLException e) {
       }
+    } else {
+      version = getVersionFromResource(mainClass);
     }
     if (version == null) {
       version = "undefined";
@@ -205,8 +310,23 @@ public abstract class CliMain {
     return version;
   }
 
+  private static String getVersionFromResource(Class<?> mainClass) {
+
+    String resource = VERSION_RESOURCE_FOLDER + mainClass.getName() + ".version";
+    try (InputStream in = mainClass.getClassLoader().getResourceAsStream(resource)) {
+      if (in != null) {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+      }
+    } catch (IOException e) {
+    }
+    return null;
+  }
+
   /**
-   * Has to be implemented to handle that given {@link CliArgs} and do the program logic.
+   * Has to be implemented to handle that given {@link CliArgs} and do the program logic. The values are bound to a
+   * {@link io.github.mmm.cli.container.impl.CliCommandContainerImpl#newCommand() new command instance} for each
+   * invocation while the command metadata is shared. Hence, multiple invocations may run concurrently on the same
+   * {@link CliMain} (see {@link #run(CliConsole, String...)}).
    *
    * @param args the {@link CliArgs}.
    * @return the {@link System#exit(int) exit code}.
@@ -221,17 +341,22 @@ public abstract class CliMain {
         throw new CliDuplicateOptionsException(duplicatedOptions);
       }
     }
-    for (AbstractCliCommandContainerGroup group : this.container.getGroups()) {
-      int commandCount = group.getCommandCount();
-      for (int i = 0; i < commandCount; i++) {
-        CliCommandContainerImpl commandContainer = group.getCommand(i);
-        boolean commandMatches = commandContainer.bindCommandArguments(args);
-        if (commandMatches) {
-          CliCommand command = commandContainer.getCommand();
-          command.validateOrThrow();
+    CliBindingPlan plan = this.container.match(args, isParallelDispatch(), console());
+    if (plan != null) {
+      if (isPoolCommands()) {
+        CliCommandPool pool = plan.getContainer().getPool();
+        CliCommand command = pool.acquire();
+        try {
+          plan.bind(command);
+          validate(command);
           return command.run(this);
+        } finally {
+          pool.release(command);
         }
       }
+      CliCommand command = plan.bindNewCommand();
+      validate(command);
+      return command.run(this);
     }
     if (args.isEmpty()) {
       throw new CliNoArgumentsException();
@@ -239,6 +364,15 @@ public abstract class CliMain {
     throw new CliInvalidUsageException(args);
   }
 
+  private static void validate(CliCommand command) {
+
+    command.validateOrThrow();
+    if (command instanceof CliCommandWithResult) {
+      // fail before the command runs rather than when it starts to emit its result
+      ((CliCommandWithResult) command).getResultFormat();
+    }
+  }
+
   /**
    * This method parses the given {@code args} as {@link CliArgs} and delegates to {@link #run(CliArgs)}. Additionally
    * it will catch and handle any kind of {@link Throwable errors}.
@@ -250,7 +384,12 @@ public abstract class CliMain {
 
     int exitCode;
     try {
-      CliArgs cliArgs = new CliArgs(args);
+      CliArgs cliArgs;
+      if (isExpandArgFiles()) {
+        cliArgs = CliArgs.ofArgFiles(this.container.getOptionSymbols(), getArgFileMappingThreshold(), args);
+      } else {
+        cliArgs = new CliArgs(this.container.getOptionSymbols(), args);
+      }
       exitCode = run(cliArgs);
     } catch (Throwable e) {
       exitCode = error(e);
@@ -258,16 +397,71 @@ public abstract class CliMain {
     return exitCode;
   }
 
+  /**
+   * Runs the given {@code args} as an independent session with its own {@link CliConsole}. Multiple sessions may run
+   * concurrently (e.g. in separate threads of an embedded or daemon setting) on the same {@link CliMain} as long as all
+   * {@link CliCommand}s have been added before.
+   *
+   * @param sessionConsole the {@link CliConsole} for this invocation. Will be returned by {@link #console()} in the
+   *        current thread until the invocation has completed.
+   * @param args are the command-line arguments.
+   * @return the {@link System#exit(int) exit code}.
+   * @see #run(String...)
+   */
+  public int run(CliConsole sessionConsole, String... args) {
+
+    Objects.requireNonNull(sessionConsole, "sessionConsole");
+    if (isParallelDispatch() && (sessionConsole instanceof CliConsoleChannel)) {
+      // the candidates log to the session console from the common pool
+      ((CliConsoleChannel) sessionConsole).setThreadSafe(true);
+    }
+    CliConsole previous = this.sessionConsole.get();
+    this.sessionConsole.set(sessionConsole);
+    try {
+      return run(args);
+    } finally {
+      if (previous == null) {
+        this.sessionConsole.remove();
+      } else {
+        this.sessionConsole.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Performs a training run executing all {@link #getTrainingInvocations() training invocations} with a
+   * {@link CliConsole} that discards all output. This loads and initializes the classes of a typical invocation so
+   * they can be recorded in a class-data sharing archive when running with {@code -XX:ArchiveClassesAtExit} (see
+   * {@link io.github.mmm.cli.cds.CliAppCds}).
+   *
+   * @return the number of training invocations that completed with a non-zero {@link System#exit(int) exit code}.
+   */
+  public int train() {
+
+    CliConsoleImpl silentConsole = new CliConsoleImpl();
+    PrintStream nowhere = new PrintStream(OutputStream.nullOutputStream());
+    silentConsole.setStdOut(nowhere);
+    silentConsole.setStdErr(nowhere);
+    int failures = 0;
+    for (String[] args : getTrainingInvocations()) {
+      if (run(silentConsole, args) != 0) {
+        failures++;
+      }
+    }
+    return failures;
+  }
+
   /**
    * This method delegates to {@link #run(String...)} and then calls {@link System#exit(int)} with the returned exit
-   * code. Typically you only need to call this method from your actual {@code main} method.
+   * code. Before, the {@link #console() console} is {@link CliConsole#flush() flushed} so buffered or asynchronous
+   * output is written completely. Typically you only need to call this method from your actual {@code main} method.
    *
    * @param args are the command-line arguments.
    */
   protected void runAndExit(String... args) {
 
     int exitCode = run(args);
-    this.console.flush();
+    console().flush();
     // CHECKSTYLE:OFF (main method)
     System.exit(exitCode); // NOSONAR
     // CHECKSTYLE:ON
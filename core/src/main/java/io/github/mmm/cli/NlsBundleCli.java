@@ -41,6 +41,24 @@ public final class NlsBundleCli extends NlsBundle {
     return create("errInvalidArguments", "Invalid argument(s): {argument}", NlsArguments.ofArgument(arguments));
   }
 
+  public NlsMessage errArgFile(String file) {
+
+    return create("errArgFile", "Failed to read arguments from file '{value}'.", NlsArguments.ofValue(file));
+  }
+
+  public NlsMessage errArgFileUnterminatedQuote(String location) {
+
+    return create("errArgFileUnterminatedQuote", "Unterminated quote in argument file at '{value}'.",
+        NlsArguments.ofValue(location));
+  }
+
+  public NlsMessage errInvalidResultFormat(String format) {
+
+    return create("errInvalidResultFormat",
+        "Invalid value '{value}' for option --format. Supported values: text, csv, json, binary.",
+        NlsArguments.ofValue(format));
+  }
+
   public NlsMessage errNoArguments() {
 
     return create("errNoArguments",
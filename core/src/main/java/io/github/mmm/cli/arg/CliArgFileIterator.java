@@ -0,0 +1,91 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.arg;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link Iterator} over command-line arguments that lazily expands argument files ({@code @<file>}). See
+ * {@link CliArgs#ofArgFiles(CliOptionSymbols, String...)} for details.
+ */
+final class CliArgFileIterator implements Iterator<String>, AutoCloseable {
+
+  private static final char ARG_FILE_PREFIX = '@';
+
+  private final String[] args;
+
+  private final long mappingThreshold;
+
+  private int index;
+
+  private CliArgTokenizer tokenizer;
+
+  private String pending;
+
+  /**
+   * The constructor.
+   *
+   * @param args the command-line arguments from {@code main} method.
+   * @param mappingThreshold the minimum file size in bytes to map an argument file into memory.
+   */
+  CliArgFileIterator(String[] args, long mappingThreshold) {
+
+    super();
+    this.args = args;
+    this.mappingThreshold = mappingThreshold;
+  }
+
+  @Override
+  public boolean hasNext() {
+
+    while (this.pending == null) {
+      if (this.tokenizer != null) {
+        if (this.tokenizer.hasNext()) {
+          return true;
+        }
+        this.tokenizer.close();
+        this.tokenizer = null;
+      }
+      if (this.index >= this.args.length) {
+        return false;
+      }
+      String arg = this.args[this.index++];
+      if ((arg.length() > 1) && (arg.charAt(0) == ARG_FILE_PREFIX)) {
+        if (arg.charAt(1) == ARG_FILE_PREFIX) {
+          this.pending = arg.substring(1);
+        } else {
+          this.tokenizer = CliArgTokenizer.of(arg.substring(1), this.mappingThreshold);
+        }
+      } else {
+        this.pending = arg;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String next() {
+
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    String arg = this.pending;
+    if (arg == null) {
+      arg = this.tokenizer.next();
+    } else {
+      this.pending = null;
+    }
+    return arg;
+  }
+
+  @Override
+  public void close() {
+
+    if (this.tokenizer != null) {
+      this.tokenizer.close();
+      this.tokenizer = null;
+    }
+  }
+
+}
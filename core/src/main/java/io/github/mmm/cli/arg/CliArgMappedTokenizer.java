@@ -0,0 +1,121 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.arg;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import io.github.mmm.cli.exception.CliArgFileException;
+
+/**
+ * {@link CliArgTokenizer} reading the UTF-8 encoded bytes of a file {@link FileChannel#map(MapMode, long, long) mapped}
+ * into memory. The file is tokenized in place so it never has to be read into a {@link String} as a whole. Only the
+ * tokens are decoded. Files larger than {@value #REGION_SIZE} bytes are mapped region by region.
+ */
+final class CliArgMappedTokenizer extends CliArgTokenizer {
+
+  /** The maximum number of bytes mapped at once. */
+  static final int REGION_SIZE = 1 << 30;
+
+  private final FileChannel channel;
+
+  private final long size;
+
+  private final int regionSize;
+
+  private long regionEnd;
+
+  private MappedByteBuffer buffer;
+
+  private byte[] token;
+
+  private int tokenLength;
+
+  /**
+   * The constructor.
+   *
+   * @param file the {@link Path} of the file to read.
+   * @param source the name of the source for error messages.
+   */
+  CliArgMappedTokenizer(Path file, String source) {
+
+    this(file, source, REGION_SIZE);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param file the {@link Path} of the file to read.
+   * @param source the name of the source for error messages.
+   * @param regionSize the maximum number of bytes to map at once.
+   */
+  CliArgMappedTokenizer(Path file, String source, int regionSize) {
+
+    super(source);
+    try {
+      this.channel = FileChannel.open(file, StandardOpenOption.READ);
+      this.size = this.channel.size();
+    } catch (IOException e) {
+      throw new CliArgFileException(source, e);
+    }
+    this.token = new byte[64];
+    this.regionSize = regionSize;
+  }
+
+  @Override
+  protected int readUnit() {
+
+    if ((this.buffer == null) || !this.buffer.hasRemaining()) {
+      if (this.regionEnd >= this.size) {
+        return -1;
+      }
+      long length = Math.min(this.regionSize, this.size - this.regionEnd);
+      try {
+        this.buffer = this.channel.map(MapMode.READ_ONLY, this.regionEnd, length);
+      } catch (IOException e) {
+        throw new CliArgFileException(this.source, e);
+      }
+      this.regionEnd += length;
+    }
+    return this.buffer.get() & 0xFF;
+  }
+
+  @Override
+  protected void startToken() {
+
+    this.tokenLength = 0;
+  }
+
+  @Override
+  protected void append(int unit) {
+
+    if (this.tokenLength == this.token.length) {
+      this.token = Arrays.copyOf(this.token, this.tokenLength * 2);
+    }
+    this.token[this.tokenLength++] = (byte) unit;
+  }
+
+  @Override
+  protected String getToken() {
+
+    return new String(this.token, 0, this.tokenLength, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void close() {
+
+    this.buffer = null;
+    try {
+      this.channel.close();
+    } catch (IOException e) {
+      throw new CliArgFileException(this.source, e);
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.arg;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import io.github.mmm.cli.exception.CliArgFileException;
+
+/**
+ * {@link CliArgTokenizer} reading characters from a {@link Reader}.
+ */
+final class CliArgReaderTokenizer extends CliArgTokenizer {
+
+  private final Reader reader;
+
+  private final boolean close;
+
+  private final StringBuilder buffer;
+
+  /**
+   * The constructor.
+   *
+   * @param reader the {@link Reader} to read from.
+   * @param source the name of the source for error messages.
+   * @param close - {@code true} to {@link Reader#close() close} the {@link Reader} on {@link #close()}, {@code false}
+   *        otherwise.
+   */
+  CliArgReaderTokenizer(Reader reader, String source, boolean close) {
+
+    super(source);
+    if (reader instanceof BufferedReader) {
+      this.reader = reader;
+    } else {
+      this.reader = new BufferedReader(reader);
+    }
+    this.close = close;
+    this.buffer = new StringBuilder();
+  }
+
+  @Override
+  protected int readUnit() {
+
+    try {
+      return this.reader.read();
+    } catch (IOException e) {
+      throw new CliArgFileException(this.source, e);
+    }
+  }
+
+  @Override
+  protected void startToken() {
+
+    this.buffer.setLength(0);
+  }
+
+  @Override
+  protected void append(int unit) {
+
+    this.buffer.append((char) unit);
+  }
+
+  @Override
+  protected String getToken() {
+
+    return this.buffer.toString();
+  }
+
+  @Override
+  public void close() {
+
+    if (this.close) {
+      try {
+        this.reader.close();
+      } catch (IOException e) {
+        throw new CliArgFileException(this.source, e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,230 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.arg;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import io.github.mmm.cli.exception.CliArgFileException;
+
+/**
+ * Abstract base class for an {@link Iterator} that lazily reads and tokenizes command-line arguments. See
+ * {@link CliArgs#ofArgFiles(CliOptionSymbols, String...)} for the syntax. The syntax only uses ASCII characters so
+ * implementations may operate on characters or on the bytes of UTF-8 encoded data.
+ *
+ * @see CliArgReaderTokenizer
+ * @see CliArgMappedTokenizer
+ */
+abstract class CliArgTokenizer implements Iterator<String>, AutoCloseable {
+
+  /** The file name to read from {@link System#in standard input}. */
+  static final String STDIN = "-";
+
+  private static final int NONE = -2;
+
+  /** The name of the source for error messages. */
+  protected final String source;
+
+  private String next;
+
+  private boolean done;
+
+  private int pushback;
+
+  private int line;
+
+  private int previous;
+
+  /**
+   * The constructor.
+   *
+   * @param source the name of the source for error messages.
+   */
+  protected CliArgTokenizer(String source) {
+
+    super();
+    this.source = source;
+    this.pushback = NONE;
+    this.line = 1;
+  }
+
+  /**
+   * @param file the path to the file to read from or {@link #STDIN} for {@link System#in standard input}.
+   * @param mappingThreshold the minimum file size in bytes to {@link CliArgMappedTokenizer map} the file into memory
+   *        instead of reading it via a buffered {@link java.io.Reader}.
+   * @return the new {@link CliArgTokenizer}.
+   */
+  static CliArgTokenizer of(String file, long mappingThreshold) {
+
+    if (STDIN.equals(file)) {
+      return new CliArgReaderTokenizer(new InputStreamReader(System.in, StandardCharsets.UTF_8), file, false);
+    }
+    try {
+      Path path = Path.of(file);
+      if (Files.size(path) >= mappingThreshold) {
+        return new CliArgMappedTokenizer(path, file);
+      }
+      return new CliArgReaderTokenizer(Files.newBufferedReader(path, StandardCharsets.UTF_8), file, true);
+    } catch (IOException e) {
+      throw new CliArgFileException(file, e);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+
+    if ((this.next == null) && !this.done) {
+      this.next = readToken();
+      if (this.next == null) {
+        this.done = true;
+      }
+    }
+    return (this.next != null);
+  }
+
+  @Override
+  public String next() {
+
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    String token = this.next;
+    this.next = null;
+    return token;
+  }
+
+  /**
+   * @return the next character (or byte) or {@code -1} if the end of the input has been reached.
+   */
+  protected abstract int readUnit();
+
+  /**
+   * Starts a new token.
+   */
+  protected abstract void startToken();
+
+  /**
+   * @param unit the character (or byte) to append to the current token.
+   */
+  protected abstract void append(int unit);
+
+  /**
+   * @return the current token as {@link String}.
+   */
+  protected abstract String getToken();
+
+  @Override
+  public abstract void close();
+
+  private int read() {
+
+    if (this.pushback != NONE) {
+      int c = this.pushback;
+      this.pushback = NONE;
+      return c;
+    }
+    int c = readUnit();
+    if ((c == '\r') || ((c == '\n') && (this.previous != '\r'))) {
+      this.line++;
+    }
+    this.previous = c;
+    return c;
+  }
+
+  private static boolean isWhitespace(int c) {
+
+    return (c == ' ') || (c == '\t') || (c == '\n') || (c == '\r') || (c == '\f') || (c == 0x0B);
+  }
+
+  private String readToken() {
+
+    int c = skipWhitespacesAndComments();
+    if (c < 0) {
+      return null;
+    }
+    startToken();
+    while ((c >= 0) && !isWhitespace(c)) {
+      if ((c == '"') || (c == '\'')) {
+        readQuoted(c);
+      } else {
+        append(c);
+      }
+      c = read();
+    }
+    return getToken();
+  }
+
+  private int skipWhitespacesAndComments() {
+
+    int c = read();
+    while (true) {
+      while ((c >= 0) && isWhitespace(c)) {
+        c = read();
+      }
+      if (c != '#') {
+        return c;
+      }
+      while ((c >= 0) && (c != '\n') && (c != '\r')) {
+        c = read();
+      }
+    }
+  }
+
+  private void readQuoted(int quote) {
+
+    int startLine = this.line;
+    int c = read();
+    while ((c >= 0) && (c != quote)) {
+      if (c == '\\') {
+        c = read();
+        switch (c) {
+          case 'n':
+            append('\n');
+            break;
+          case 't':
+            append('\t');
+            break;
+          case 'r':
+            append('\r');
+            break;
+          case 'f':
+            append('\f');
+            break;
+          case '\r':
+          case '\n':
+            skipLineContinuation(c);
+            break;
+          case -1:
+            throw new CliArgFileException(this.source, startLine);
+          default:
+            append(c);
+        }
+      } else {
+        append(c);
+      }
+      c = read();
+    }
+    if (c < 0) {
+      // like javac an unterminated quote is an error rather than silently ending the token
+      throw new CliArgFileException(this.source, startLine);
+    }
+  }
+
+  private void skipLineContinuation(int newline) {
+
+    int c = read();
+    if ((newline == '\r') && (c == '\n')) {
+      c = read();
+    }
+    while ((c == ' ') || (c == '\t')) {
+      c = read();
+    }
+    this.pushback = c;
+  }
+
+}
@@ -2,11 +2,18 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.cli.arg;
 
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
 
 import io.github.mmm.base.filter.CharFilter;
@@ -14,7 +21,9 @@ import io.github.mmm.cli.exception.CliDuplicateOptionAliasException;
 
 /**
  * A simple wrapper for the arguments of a {@code main} method from a command-line-interface (CLI). Allows to easily
- * iterate and parse these arguments.
+ * iterate and parse these arguments. The {@link CliArgument}s are stored in an array so they can be accessed by
+ * {@link #get(int) position} and {@link #getArguments(int, int) sub-ranges} without copying. Additionally the
+ * positions of the {@link CliOption}s are indexed (see {@link #getOptions()} and {@link #getLastOption()}).
  *
  * @since 1.0.0
  * @see #CliArgs(String...)
@@ -22,18 +31,29 @@ import io.github.mmm.cli.exception.CliDuplicateOptionAliasException;
  */
 public class CliArgs {
 
+  /**
+   * The default minimum size in bytes of an argument file to map it into memory.
+   *
+   * @see #ofArgFiles(CliOptionSymbols, long, String...)
+   */
+  public static final long DEFAULT_MAPPING_THRESHOLD = 1024 * 1024;
+
   private final Map<String, CliOption> optionMap;
 
   private final String[] originalArguments;
 
   private Set<String> duplicatedOptions;
 
-  private CliArgument first;
+  private boolean endOptions;
 
-  private CliArgument current;
+  private CliArgument[] arguments;
 
   private int size;
 
+  private int[] optionIndexes;
+
+  private int optionCount;
+
   /**
    * The constructor.
    *
@@ -41,49 +61,91 @@ public class CliArgs {
    */
   public CliArgs(String... args) {
 
+    this(CliOptionSymbols.EMPTY, args);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param symbols the {@link CliOptionSymbols} with the known options to reuse for assignments (e.g. "--key" for
+   *        "--key=value").
+   * @param args the command-line arguments from {@code main} method.
+   */
+  public CliArgs(CliOptionSymbols symbols, String... args) {
+
     super();
     this.optionMap = new HashMap<>();
     this.originalArguments = args;
-    boolean endOpts = false;
-    for (int argsIndex = 0; argsIndex < args.length; argsIndex++) {
-      String arg = args[argsIndex];
-      if (endOpts) {
-        add(new CliValue(arg, CliValueType.VALUE_END_OPTION));
-      } else if (arg.startsWith("-")) {
-        if (arg.equals(CliArgument.END_OPTIONS)) {
-          endOpts = true;
+    this.arguments = new CliArgument[args.length];
+    this.optionIndexes = new int[args.length];
+    for (String arg : args) {
+      parse(arg, symbols);
+    }
+    complete();
+  }
+
+  private CliArgs(CliOptionSymbols symbols, Iterator<String> args) {
+
+    super();
+    this.optionMap = new HashMap<>();
+    this.arguments = new CliArgument[16];
+    this.optionIndexes = new int[16];
+    String[] original = new String[16];
+    int originalSize = 0;
+    while (args.hasNext()) {
+      String arg = args.next();
+      if (originalSize == original.length) {
+        original = Arrays.copyOf(original, originalSize + (originalSize >> 1));
+      }
+      original[originalSize++] = arg;
+      parse(arg, symbols);
+    }
+    this.originalArguments = Arrays.copyOf(original, originalSize);
+    complete();
+  }
+
+  private void parse(String arg, CliOptionSymbols symbols) {
+
+    if (this.endOptions) {
+      add(new CliValue(arg, CliValueType.VALUE_END_OPTION));
+    } else if (arg.startsWith("-")) {
+      if (arg.equals(CliArgument.END_OPTIONS)) {
+        this.endOptions = true;
+      } else {
+        boolean assignment = false;
+        int equalsIndex = arg.indexOf('=');
+        CliValue value = null;
+        if (equalsIndex >= 2) {
+          assignment = true;
+          CliText optValue = new CliText(arg, equalsIndex + 1, arg.length());
+          value = new CliValue(optValue, CliValueType.OPTION_ASSIGNMENT);
+          arg = getOption(symbols, arg, equalsIndex);
+        }
+        if (arg.startsWith("--")) {
+          add(new CliLongOption(arg, assignment));
         } else {
-          boolean assignment = false;
-          int equalsIndex = arg.indexOf('=');
-          CliValue value = null;
-          if (equalsIndex >= 2) {
-            assignment = true;
-            String optValue = arg.substring(equalsIndex + 1);
-            value = new CliValue(optValue, CliValueType.OPTION_ASSIGNMENT);
-            arg = arg.substring(0, equalsIndex);
-          }
-          if (arg.startsWith("--")) {
-            add(new CliLongOption(arg, assignment));
+          int len = arg.length();
+          if ((len == 1) || !CharFilter.LATIN_LETTER.accept(arg.charAt(1))) {
+            addValue(arg);
+          } else if (len == 2) {
+            add(new CliShortOption(arg, assignment));
           } else {
-            int len = arg.length();
-            if ((len == 1) || !CharFilter.LATIN_LETTER.accept(arg.charAt(1))) {
-              addValue(arg);
-            } else if (len == 2) {
-              add(new CliShortOption(arg, assignment));
-            } else {
-              for (int i = 1; i < len; i++) {
-                add(new CliShortOption("-" + arg.charAt(i), assignment));
-              }
+            for (int i = 1; i < len; i++) {
+              add(new CliShortOption(CliShortOption.get(arg.charAt(i)), assignment));
             }
           }
-          if (value != null) {
-            add(value);
-          }
         }
-      } else {
-        addValue(arg);
+        if (value != null) {
+          add(value);
+        }
       }
+    } else {
+      addValue(arg);
     }
+  }
+
+  private void complete() {
+
     if (this.duplicatedOptions == null) {
       this.duplicatedOptions = Collections.emptySet();
     } else {
@@ -91,17 +153,114 @@ public class CliArgs {
     }
   }
 
+  /**
+   * @param args the {@link Iterator} with the command-line arguments. Will be consumed lazily so the arguments do not
+   *        have to be collected into an array first.
+   * @return the {@link CliArgs} for the given arguments.
+   */
+  public static CliArgs of(Iterator<String> args) {
+
+    return of(CliOptionSymbols.EMPTY, args);
+  }
+
+  /**
+   * @param symbols the {@link CliOptionSymbols} with the known options.
+   * @param args the {@link Iterator} with the command-line arguments. Will be consumed lazily so the arguments do not
+   *        have to be collected into an array first.
+   * @return the {@link CliArgs} for the given arguments.
+   * @see #CliArgs(CliOptionSymbols, String...)
+   */
+  public static CliArgs of(CliOptionSymbols symbols, Iterator<String> args) {
+
+    return new CliArgs(symbols, args);
+  }
+
+  /**
+   * @param reader the {@link Reader} to read the command-line arguments from. The arguments are separated by
+   *        whitespaces, may be quoted and a '#' at the beginning of an argument starts a comment (see
+   *        {@link #ofArgFiles(CliOptionSymbols, String...)} for details). The {@link Reader} is read lazily but not
+   *        closed.
+   * @return the {@link CliArgs} for the arguments read from the given {@link Reader}.
+   */
+  public static CliArgs of(Reader reader) {
+
+    return of(CliOptionSymbols.EMPTY, new CliArgReaderTokenizer(reader, "<reader>", false));
+  }
+
+  /**
+   * @param file the {@link Path} pointing to the file to read the command-line arguments from. May also be "-" to
+   *        read from {@link System#in standard input}.
+   * @return the {@link CliArgs} for the arguments read from the given {@code file}.
+   * @see #of(Reader)
+   */
+  public static CliArgs of(Path file) {
+
+    try (CliArgTokenizer tokenizer = CliArgTokenizer.of(file.toString(), DEFAULT_MAPPING_THRESHOLD)) {
+      return of(CliOptionSymbols.EMPTY, tokenizer);
+    }
+  }
+
+  /**
+   * Creates {@link CliArgs} with expansion of argument files similar to {@code javac}. Any argument of the form
+   * {@code @<file>} is replaced with the arguments read from the given {@code <file>} ({@code @-} reads from
+   * {@link System#in standard input}). Argument files are read lazily and the arguments are separated by whitespaces
+   * (including newlines). Use single or double quotes for arguments containing whitespaces. Within quotes the
+   * backslash is used as escape character ({@code \n}, {@code \t}, {@code \\}, {@code \"}, etc.) and a backslash
+   * at the end of a line continues the argument on the next line. A '#' at the beginning of an argument starts a
+   * comment until the end of the line. Arguments read from argument files are not expanded again. To pass an argument
+   * starting with '@' use {@code @@} as prefix.
+   *
+   * @param symbols the {@link CliOptionSymbols} with the known options.
+   * @param args the command-line arguments from {@code main} method.
+   * @return the {@link CliArgs} for the given arguments with argument files expanded.
+   */
+  public static CliArgs ofArgFiles(CliOptionSymbols symbols, String... args) {
+
+    return ofArgFiles(symbols, DEFAULT_MAPPING_THRESHOLD, args);
+  }
+
+  /**
+   * Like {@link #ofArgFiles(CliOptionSymbols, String...)} but with a custom threshold for memory mapping. Argument
+   * files with at least the given size are mapped into memory via {@link java.nio.channels.FileChannel} and tokenized
+   * in place while smaller files are read via a buffered {@link Reader}.
+   *
+   * @param symbols the {@link CliOptionSymbols} with the known options.
+   * @param mappingThreshold the minimum file size in bytes to map an argument file into memory. Use
+   *        {@link Long#MAX_VALUE} to never map and {@code 0} to always map.
+   * @param args the command-line arguments from {@code main} method.
+   * @return the {@link CliArgs} for the given arguments with argument files expanded.
+   */
+  public static CliArgs ofArgFiles(CliOptionSymbols symbols, long mappingThreshold, String... args) {
+
+    try (CliArgFileIterator iterator = new CliArgFileIterator(args, mappingThreshold)) {
+      return of(symbols, iterator);
+    }
+  }
+
+  private static String getOption(CliOptionSymbols symbols, String arg, int end) {
+
+    if (end == 2) {
+      return CliShortOption.get(arg.charAt(1));
+    }
+    String option = symbols.get(arg, end);
+    if (option == null) {
+      option = arg.substring(0, end);
+    }
+    return option;
+  }
+
   private void add(CliArgument arg) {
 
-    if (this.current == null) {
-      this.first = arg;
-      this.current = arg;
-    } else {
-      this.current.next = arg;
-      this.current = arg;
+    if (this.size == this.arguments.length) {
+      int capacity = this.size + (this.size >> 1) + 2;
+      this.arguments = Arrays.copyOf(this.arguments, capacity);
+      this.optionIndexes = Arrays.copyOf(this.optionIndexes, capacity);
     }
-    this.size++;
+    arg.args = this;
+    arg.index = this.size;
+    this.arguments[this.size++] = arg;
     if (arg.isOption()) {
+      this.optionIndexes[this.optionCount++] = arg.index;
       CliOption duplicate = this.optionMap.putIfAbsent(arg.get(), (CliOption) arg);
       if (duplicate != null) {
         if (this.duplicatedOptions == null) {
@@ -115,16 +274,17 @@ public class CliArgs {
   private void addValue(String value) {
 
     CliValueType type;
-    if (this.current == null) {
+    CliArgument current = getLast();
+    if (current == null) {
       type = CliValueType.VALUE_BEFORE_OPTION;
-    } else if (this.current.isOption()) {
-      if (((CliOption) this.current).isAssignment()) {
+    } else if (current.isOption()) {
+      if (((CliOption) current).isAssignment()) {
         type = CliValueType.OPTION_ASSIGNMENT;
       } else {
         type = CliValueType.OPTION_VALUE;
       }
     } else {
-      type = this.current.getValueType();
+      type = current.getValueType();
       if (type == CliValueType.OPTION_VALUE) {
         type = CliValueType.VALUE_CONTINUED;
       }
@@ -139,7 +299,59 @@ public class CliArgs {
    */
   public CliArgument getFirst() {
 
-    return this.first;
+    return getOrNull(0);
+  }
+
+  /**
+   * @return the last {@link CliArgument} or {@code null} if {@link #isEmpty() empty}.
+   */
+  public CliArgument getLast() {
+
+    return getOrNull(this.size - 1);
+  }
+
+  /**
+   * @param index the position of the requested {@link CliArgument}. Has to be in the range from {@code 0} to
+   *        <code>{@link #getSize()} - 1</code>.
+   * @return the {@link CliArgument} at the given position.
+   * @throws IndexOutOfBoundsException if the given {@code index} is out of range.
+   * @see CliArgument#getIndex()
+   */
+  public CliArgument get(int index) {
+
+    if ((index < 0) || (index >= this.size)) {
+      throw new IndexOutOfBoundsException(Integer.toString(index));
+    }
+    return this.arguments[index];
+  }
+
+  /**
+   * @param index the position of the requested {@link CliArgument}.
+   * @return the {@link CliArgument} at the given position or {@code null} if out of range.
+   */
+  CliArgument getOrNull(int index) {
+
+    if ((index < 0) || (index >= this.size)) {
+      return null;
+    }
+    return this.arguments[index];
+  }
+
+  /**
+   * @param index the position to start after.
+   * @return the first {@link CliOption} with a position greater than the given {@code index} or {@code null} if none
+   *         exists.
+   */
+  CliOption getNextOption(int index) {
+
+    int i = Arrays.binarySearch(this.optionIndexes, 0, this.optionCount, index + 1);
+    if (i < 0) {
+      i = -i - 1;
+    }
+    if (i < this.optionCount) {
+      return (CliOption) this.arguments[this.optionIndexes[i]];
+    }
+    return null;
   }
 
   /**
@@ -147,15 +359,40 @@ public class CliArgs {
    */
   public CliOption getLastOption() {
 
-    CliArgument arg = this.first;
-    CliOption option = null;
-    while (arg != null) {
-      if (arg.isOption()) {
-        option = (CliOption) arg;
-      }
-      arg = arg.next;
+    if (this.optionCount == 0) {
+      return null;
     }
-    return option;
+    return (CliOption) this.arguments[this.optionIndexes[this.optionCount - 1]];
+  }
+
+  /**
+   * @return the unmodifiable {@link List} view of all {@link CliArgument}s.
+   */
+  public List<CliArgument> getArguments() {
+
+    return new ArgumentList(this.arguments, 0, this.size);
+  }
+
+  /**
+   * @param start the position of the first {@link CliArgument} (inclusive).
+   * @param end the position of the last {@link CliArgument} (exclusive).
+   * @return the unmodifiable {@link List} view of the {@link CliArgument}s in the given range.
+   * @throws IndexOutOfBoundsException if the given range is invalid.
+   */
+  public List<CliArgument> getArguments(int start, int end) {
+
+    if ((start < 0) || (end > this.size) || (start > end)) {
+      throw new IndexOutOfBoundsException("[" + start + "," + end + ") of " + this.size);
+    }
+    return new ArgumentList(this.arguments, start, end - start);
+  }
+
+  /**
+   * @return the unmodifiable {@link List} view of all {@link CliOption}s in the order of their occurrence.
+   */
+  public List<CliOption> getOptions() {
+
+    return new OptionList();
   }
 
   /**
@@ -163,7 +400,7 @@ public class CliArgs {
    */
   public boolean isEmpty() {
 
-    return (this.first == null);
+    return (this.size == 0);
   }
 
   /**
@@ -260,7 +497,7 @@ public class CliArgs {
   }
 
   /**
-   * @return the original arguments given at {@link #CliArgs(String...) construction}.
+   * @return the original arguments given at {@link #CliArgs(CliOptionSymbols, String...) construction}.
    */
   public String[] getOriginalArguments() {
 
@@ -298,15 +535,72 @@ public class CliArgs {
   public String toString() {
 
     StringBuilder sb = new StringBuilder();
-    CliArgument arg = this.first;
-    while (arg != null) {
-      if (sb.length() > 0) {
+    for (int i = 0; i < this.size; i++) {
+      if (i > 0) {
         sb.append(' ');
       }
-      appendArg(sb, arg.get());
-      arg = arg.next;
+      appendArg(sb, this.arguments[i].get());
     }
     return sb.toString();
   }
 
+  private static class ArgumentList extends AbstractList<CliArgument> implements RandomAccess {
+
+    private final CliArgument[] array;
+
+    private final int offset;
+
+    private final int length;
+
+    private ArgumentList(CliArgument[] array, int offset, int length) {
+
+      super();
+      this.array = array;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public CliArgument get(int index) {
+
+      if ((index < 0) || (index >= this.length)) {
+        throw new IndexOutOfBoundsException(Integer.toString(index));
+      }
+      return this.array[this.offset + index];
+    }
+
+    @Override
+    public int size() {
+
+      return this.length;
+    }
+
+    @Override
+    public List<CliArgument> subList(int fromIndex, int toIndex) {
+
+      if ((fromIndex < 0) || (toIndex > this.length) || (fromIndex > toIndex)) {
+        throw new IndexOutOfBoundsException("[" + fromIndex + "," + toIndex + ") of " + this.length);
+      }
+      return new ArgumentList(this.array, this.offset + fromIndex, toIndex - fromIndex);
+    }
+  }
+
+  private class OptionList extends AbstractList<CliOption> implements RandomAccess {
+
+    @Override
+    public CliOption get(int index) {
+
+      if ((index < 0) || (index >= CliArgs.this.optionCount)) {
+        throw new IndexOutOfBoundsException(Integer.toString(index));
+      }
+      return (CliOption) CliArgs.this.arguments[CliArgs.this.optionIndexes[index]];
+    }
+
+    @Override
+    public int size() {
+
+      return CliArgs.this.optionCount;
+    }
+  }
+
 }
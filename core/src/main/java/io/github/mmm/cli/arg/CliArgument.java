@@ -2,8 +2,10 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.cli.arg;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * A single argument of a {@code main} method from a command-line-interface (CLI). A {@link CliArgument} is either a
@@ -23,9 +25,13 @@ public abstract class CliArgument {
    */
   public static final String END_OPTIONS = "--";
 
-  final String arg;
+  private final CharSequence text;
 
-  CliArgument next;
+  String arg;
+
+  CliArgs args;
+
+  int index;
 
   /**
    * The constructor.
@@ -34,19 +40,47 @@ public abstract class CliArgument {
    */
   protected CliArgument(String arg) {
 
+    this((CharSequence) arg);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param text the {@link #getText() argument text}.
+   */
+  protected CliArgument(CharSequence text) {
+
     super();
-    this.arg = arg;
+    this.text = text;
+    if (text instanceof String) {
+      this.arg = (String) text;
+    }
+    this.index = -1;
   }
 
   /**
    * @return the argument text (e.g. "-h" for {@link CliShortOption}, "--help" for {@link CliLongOption}, or
    *         "archive.zip" for a {@link CliValue}.
+   * @see #getText()
    */
   public String get() {
 
+    if (this.arg == null) {
+      this.arg = this.text.toString();
+    }
     return this.arg;
   }
 
+  /**
+   * @return the argument text as {@link CharSequence}. In case of a {@link CliValue} from an assignment (e.g. "value"
+   *         from "--key=value") this is a {@link CliText slice} of the original argument so no {@link String} has to
+   *         be created unless {@link #get()} is called.
+   */
+  public CharSequence getText() {
+
+    return this.text;
+  }
+
   /**
    * @return the name of a {@link CliOption} or {@code null} if not an {@link #isOption() option} (in case of a
    *         {@link CliValue}). For the {@link CliShortOption} "-h" this method will return "h", and for
@@ -92,12 +126,25 @@ public abstract class CliArgument {
     return getValueType() == CliValueType.VALUE_END_OPTION;
   }
 
+  /**
+   * @return the position of this {@link CliArgument} in its {@link CliArgs} (see {@link CliArgs#get(int)}) or
+   *         {@code -1} if not part of {@link CliArgs}.
+   */
+  public int getIndex() {
+
+    return this.index;
+  }
+
   /**
    * @return the next {@link CliArgument} or {@code null} if this is the last argument.
+   * @see CliArgs#get(int)
    */
   public CliArgument getNext() {
 
-    return this.next;
+    if (this.args == null) {
+      return null;
+    }
+    return this.args.getOrNull(this.index + 1);
   }
 
   /**
@@ -106,11 +153,10 @@ public abstract class CliArgument {
    */
   public CliOption getNextOption() {
 
-    CliArgument current = this.next;
-    while ((current != null) && !current.isOption()) {
-      current = current.next;
+    if (this.args == null) {
+      return null;
     }
-    return (CliOption) current;
+    return this.args.getNextOption(this.index);
   }
 
   /**
@@ -119,9 +165,9 @@ public abstract class CliArgument {
    */
   public CliValue getNextValue() {
 
-    CliArgument current = this.next;
+    CliArgument current = getNext();
     while ((current != null) && !current.isValue()) {
-      current = current.next;
+      current = current.getNext();
     }
     return (CliValue) current;
   }
@@ -138,9 +184,11 @@ public abstract class CliArgument {
   public String getValue() {
 
     if (isValue()) {
-      return this.arg;
-    } else if ((this.next != null) && (this.next.isValue())) {
-      return this.next.get();
+      return get();
+    }
+    CliArgument next = getNext();
+    if ((next != null) && (next.isValue())) {
+      return next.get();
     }
     return null;
   }
@@ -148,30 +196,62 @@ public abstract class CliArgument {
   /**
    * Like {@link #getValue()} but returns all the next values.
    *
-   * @return a {@link List} with the {@link #getValue() value} of this {@link CliArgument} followed by all
-   *         {@link #getNext() next} {@link CliValue}s available. If {@link #getValue()} return {@code null} this method
-   *         will return an {@link List#isEmpty() empty} {@link List}.
+   * @return an unmodifiable {@link List} view with the {@link #getValue() value} of this {@link CliArgument} followed
+   *         by all {@link #getNext() next} {@link CliValue}s available. If {@link #getValue()} return {@code null} this
+   *         method will return an {@link List#isEmpty() empty} {@link List}.
    */
   public List<String> getValues() {
 
-    List<String> values = new ArrayList<>();
+    int start = this.index;
+    if (!isValue()) {
+      start++;
+    }
+    int end = start;
     CliArgument argument;
     if (isValue()) {
       argument = this;
     } else {
-      argument = this.next;
+      argument = getNext();
     }
     while ((argument != null) && argument.isValue() && !argument.isEndOptions()) {
-      values.add(argument.get());
-      argument = argument.next;
+      end++;
+      argument = argument.getNext();
     }
-    return values;
+    if (end == start) {
+      return Collections.emptyList();
+    } else if (this.args == null) {
+      return Collections.singletonList(get());
+    }
+    return new ValueList(this.args.getArguments(start, end));
   }
 
   @Override
   public String toString() {
 
-    return this.arg;
+    return get();
+  }
+
+  private static class ValueList extends AbstractList<String> implements RandomAccess {
+
+    private final List<CliArgument> arguments;
+
+    private ValueList(List<CliArgument> arguments) {
+
+      super();
+      this.arguments = arguments;
+    }
+
+    @Override
+    public String get(int index) {
+
+      return this.arguments.get(index).get();
+    }
+
+    @Override
+    public int size() {
+
+      return this.arguments.size();
+    }
   }
 
 }
@@ -38,7 +38,7 @@ public class CliLongOption extends CliOption {
   @Override
   public String getOptionName() {
 
-    return this.arg.substring(2);
+    return get().substring(2);
   }
 
 }
@@ -0,0 +1,97 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.arg;
+
+import java.util.Collection;
+
+/**
+ * Immutable symbol table of the known {@link CliOption#get() option strings} (e.g. "--help" or "-h") of a CLI. When
+ * given to {@link CliArgs#CliArgs(CliOptionSymbols, String...)} the option part of an assignment (e.g. "--key" of
+ * "--key=value") is looked up directly in the original argument and the canonical {@link String} is reused instead of
+ * creating a new {@link String} for every invocation.<br>
+ * <b>ATTENTION:</b> Only the {@link String}s are shared. A {@link CliOption} object is still created per occurrence
+ * as each {@link CliArgument} is bound to its position in the {@link CliArgs} (see {@link CliArgument#getNext()}).
+ *
+ * @since 1.0.0
+ */
+public final class CliOptionSymbols {
+
+  /** The empty {@link CliOptionSymbols}. */
+  public static final CliOptionSymbols EMPTY = new CliOptionSymbols(new String[1], 0);
+
+  private final String[] table;
+
+  private final int size;
+
+  private CliOptionSymbols(String[] table, int size) {
+
+    super();
+    this.table = table;
+    this.size = size;
+  }
+
+  /**
+   * @return the number of symbols.
+   */
+  public int getSize() {
+
+    return this.size;
+  }
+
+  /**
+   * @param text the {@link String} containing the potential symbol.
+   * @param end the end index (exclusive) of the potential symbol starting at index {@code 0} of the given {@code text}.
+   * @return the canonical {@link String} equal to {@code text.substring(0, end)} or {@code null} if no such symbol
+   *         exists.
+   */
+  public String get(String text, int end) {
+
+    int hash = 0;
+    for (int i = 0; i < end; i++) {
+      hash = (31 * hash) + text.charAt(i);
+    }
+    int mask = this.table.length - 1;
+    int i = spread(hash) & mask;
+    String symbol = this.table[i];
+    while (symbol != null) {
+      if ((symbol.length() == end) && text.startsWith(symbol)) {
+        return symbol;
+      }
+      i = (i + 1) & mask;
+      symbol = this.table[i];
+    }
+    return null;
+  }
+
+  private static int spread(int hash) {
+
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * @param symbols the {@link Collection} of {@link CliOption#get() option strings}.
+   * @return the according {@link CliOptionSymbols}.
+   */
+  public static CliOptionSymbols of(Collection<String> symbols) {
+
+    int capacity = 2;
+    while (capacity < (symbols.size() * 2)) {
+      capacity = capacity * 2;
+    }
+    String[] table = new String[capacity];
+    int mask = capacity - 1;
+    int size = 0;
+    for (String symbol : symbols) {
+      int i = spread(symbol.hashCode()) & mask;
+      while ((table[i] != null) && !table[i].equals(symbol)) {
+        i = (i + 1) & mask;
+      }
+      if (table[i] == null) {
+        table[i] = symbol;
+        size++;
+      }
+    }
+    return new CliOptionSymbols(table, size);
+  }
+
+}
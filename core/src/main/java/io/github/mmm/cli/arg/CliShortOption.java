@@ -9,6 +9,17 @@ package io.github.mmm.cli.arg;
  */
 public class CliShortOption extends CliOption {
 
+  private static final String[] CANONICAL = new String['z' + 1];
+
+  static {
+    for (char c = 'A'; c <= 'Z'; c++) {
+      CANONICAL[c] = "-" + c;
+    }
+    for (char c = 'a'; c <= 'z'; c++) {
+      CANONICAL[c] = "-" + c;
+    }
+  }
+
   /**
    * The constructor.
    *
@@ -23,6 +34,22 @@ public class CliShortOption extends CliOption {
     }
   }
 
+  /**
+   * @param c the {@link #getOptionName() option name} character.
+   * @return the {@link #get() short option string} for the given character (e.g. "-h" for 'h'). Canonical instances
+   *         are returned for latin letters so no {@link String} is created when short options are expanded.
+   */
+  static String get(char c) {
+
+    if (c < CANONICAL.length) {
+      String option = CANONICAL[c];
+      if (option != null) {
+        return option;
+      }
+    }
+    return "-" + c;
+  }
+
   @Override
   public boolean isShortOption() {
 
@@ -38,7 +65,7 @@ public class CliShortOption extends CliOption {
   @Override
   public String getOptionName() {
 
-    return this.arg.substring(1);
+    return get().substring(1);
   }
 
 }
@@ -0,0 +1,120 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.arg;
+
+/**
+ * Immutable {@link CharSequence} for a slice of an {@link CliArgs#getOriginalArguments() original argument} (e.g.
+ * "value" of "--key=value"). Unlike {@link String#substring(int, int)} the characters are not copied. A {@link String}
+ * is only created on {@link #toString()} and then reused.
+ *
+ * @since 1.0.0
+ * @see CliArgument#getText()
+ */
+public final class CliText implements CharSequence {
+
+  private final String source;
+
+  private final int start;
+
+  private final int end;
+
+  private String string;
+
+  /**
+   * The constructor.
+   *
+   * @param source the original {@link String} to slice.
+   * @param start the start index (inclusive) in the {@code source}.
+   * @param end the end index (exclusive) in the {@code source}.
+   */
+  public CliText(String source, int start, int end) {
+
+    super();
+    if ((start < 0) || (end > source.length()) || (start > end)) {
+      throw new IndexOutOfBoundsException("[" + start + "," + end + ") of " + source.length());
+    }
+    this.source = source;
+    this.start = start;
+    this.end = end;
+    if ((start == 0) && (end == source.length())) {
+      this.string = source;
+    }
+  }
+
+  @Override
+  public int length() {
+
+    return this.end - this.start;
+  }
+
+  @Override
+  public char charAt(int index) {
+
+    if ((index < 0) || (index >= length())) {
+      throw new IndexOutOfBoundsException(Integer.toString(index));
+    }
+    return this.source.charAt(this.start + index);
+  }
+
+  @Override
+  public CliText subSequence(int subStart, int subEnd) {
+
+    if ((subStart < 0) || (subEnd > length()) || (subStart > subEnd)) {
+      throw new IndexOutOfBoundsException("[" + subStart + "," + subEnd + ") of " + length());
+    }
+    return new CliText(this.source, this.start + subStart, this.start + subEnd);
+  }
+
+  /**
+   * @param text the {@link CharSequence} to compare.
+   * @return {@code true} if this {@link CliText} has the same characters as the given {@link CharSequence},
+   *         {@code false} otherwise.
+   */
+  public boolean contentEquals(CharSequence text) {
+
+    int length = length();
+    if ((text == null) || (text.length() != length)) {
+      return false;
+    }
+    if (text instanceof String) {
+      return this.source.regionMatches(this.start, (String) text, 0, length);
+    }
+    for (int i = 0; i < length; i++) {
+      if (text.charAt(i) != this.source.charAt(this.start + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+
+    if (obj == this) {
+      return true;
+    } else if (obj instanceof CliText) {
+      return contentEquals((CliText) obj);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+
+    int hash = 0;
+    for (int i = this.start; i < this.end; i++) {
+      hash = (31 * hash) + this.source.charAt(i);
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+
+    if (this.string == null) {
+      this.string = this.source.substring(this.start, this.end);
+    }
+    return this.string;
+  }
+
+}
@@ -14,12 +14,12 @@ public class CliValue extends CliArgument {
   /**
    * The constructor.
    *
-   * @param arg the {@link #get() argument value}.
+   * @param text the {@link #getText() argument value}.
    * @param valueType the {@link #getValueType() value type}.
    */
-  CliValue(String arg, CliValueType valueType) {
+  CliValue(CharSequence text, CliValueType valueType) {
 
-    super(arg);
+    super(text);
     this.valueType = valueType;
   }
 
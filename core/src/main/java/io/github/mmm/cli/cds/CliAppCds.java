@@ -0,0 +1,291 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.cds;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.mmm.cli.CliMain;
+
+/**
+ * Generator for an application class-data sharing (AppCDS) archive of a {@link CliMain CLI program}. Most of the time
+ * of a short running CLI invocation is spent on startup and class loading. This tool launches a
+ * {@link CliMain#train() training run} of the program in a separate JVM with {@code -XX:ArchiveClassesAtExit} so the
+ * JVM dumps the loaded classes into an archive. Further a launcher script can be generated that starts the program
+ * with {@code -XX:SharedArchiveFile} so the JVM maps the classes from the archive instead of loading them. Neither
+ * requires any code change in the program. Run it as part of the build (e.g. via {@code exec-maven-plugin}):
+ *
+ * <pre>
+ * java -cp &lt;classpath&gt; io.github.mmm.cli.cds.CliAppCds com.example.MyProgram target/my.jsa target/my-program
+ * </pre>
+ *
+ * Please note that the classpath has to consist of JAR files (directories are not supported by AppCDS). Further the
+ * archive is only used by the same JDK and if the classpath at runtime matches the classpath of the training run.
+ * Otherwise the JVM silently ignores the archive ({@code -Xshare:auto}). Therefore the training run uses the
+ * {@link #getArchiveClasspath() real paths} of the classpath entries and the launcher references the archive and the
+ * classpath entries relative to its own location resolving them to the same real paths at runtime.
+ *
+ * @since 1.0.0
+ */
+public class CliAppCds {
+
+  /** Argument to perform the {@link CliMain#train() training run} in the current JVM. */
+  public static final String ARG_TRAIN = "--train";
+
+  private final String mainClass;
+
+  private final String classpath;
+
+  private final String java;
+
+  /**
+   * The constructor.
+   *
+   * @param mainClass the fully qualified name of the {@link CliMain} class (requires a public no-args constructor).
+   * @param classpath the classpath of the program.
+   */
+  public CliAppCds(String mainClass, String classpath) {
+
+    super();
+    this.mainClass = mainClass;
+    this.classpath = classpath;
+    this.java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+  }
+
+  /**
+   * @return the fully qualified name of the {@link CliMain} class.
+   */
+  public String getMainClass() {
+
+    return this.mainClass;
+  }
+
+  /**
+   * @return the classpath of the program.
+   */
+  public String getClasspath() {
+
+    return this.classpath;
+  }
+
+  /**
+   * @return the {@link #getClasspath() classpath} with the real paths of its entries (absolute, normalized and with
+   *         symbolic links resolved) as used for the training run and resolved by the
+   *         {@link #getLauncher(Path, Path) launcher}.
+   */
+  public String getArchiveClasspath() {
+
+    StringBuilder sb = new StringBuilder();
+    for (Path entry : getClasspathEntries()) {
+      if (sb.length() > 0) {
+        sb.append(File.pathSeparatorChar);
+      }
+      sb.append(entry);
+    }
+    return sb.toString();
+  }
+
+  private List<Path> getClasspathEntries() {
+
+    List<Path> entries = new ArrayList<>();
+    for (String entry : this.classpath.split(File.pathSeparator)) {
+      if (!entry.isEmpty()) {
+        entries.add(toRealPath(Path.of(entry)));
+      }
+    }
+    return entries;
+  }
+
+  private static Path toRealPath(Path path) {
+
+    try {
+      return path.toRealPath();
+    } catch (IOException e) {
+      // not existing (yet) - the JVM will not find it either
+      return path.toAbsolutePath().normalize();
+    }
+  }
+
+  /**
+   * @param archive the {@link Path} where to write the AppCDS archive. An existing archive is replaced.
+   * @return the {@link Path} of the created archive.
+   * @throws IOException if the training run failed or the archive was not created.
+   */
+  public Path createArchive(Path archive) throws IOException {
+
+    Path archivePath = archive.toAbsolutePath();
+    Path parent = archivePath.getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Files.deleteIfExists(archivePath);
+    List<String> command = new ArrayList<>();
+    command.add(this.java);
+    command.add("-XX:ArchiveClassesAtExit=" + archivePath);
+    command.add("-cp");
+    command.add(getArchiveClasspath());
+    command.add(CliAppCds.class.getName());
+    command.add(ARG_TRAIN);
+    command.add(this.mainClass);
+    Process process = new ProcessBuilder(command).inheritIO().start();
+    int exitCode;
+    try {
+      exitCode = process.waitFor();
+    } catch (InterruptedException e) {
+      process.destroy();
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while creating AppCDS archive " + archivePath, e);
+    }
+    if ((exitCode != 0) || !Files.isRegularFile(archivePath)) {
+      throw new IOException("Failed to create AppCDS archive " + archivePath + " (exit code " + exitCode + ")");
+    }
+    return archivePath;
+  }
+
+  /**
+   * @param launcher the {@link Path} of the launcher script.
+   * @param archive the {@link Path} of the AppCDS archive.
+   * @return the POSIX shell script to launch the program with the given AppCDS archive. The archive and the
+   *         classpath entries are referenced relative to the location of the script and resolved to the
+   *         {@link #getArchiveClasspath() real paths} used for the training run. Hence, the script works from any
+   *         working directory. If the script, the archive and the classpath are moved together, the JVM only uses the
+   *         archive if it supports a relocated application classpath. Otherwise the archive has to be created again.
+   */
+  public String getLauncher(Path launcher, Path archive) {
+
+    Path folder = toRealPath(launcher.toAbsolutePath().getParent());
+    Path archivePath = toRealPath(archive);
+    List<Path> entries = getClasspathEntries();
+    Path base = getCommonParent(folder, archivePath);
+    for (Path entry : entries) {
+      base = getCommonParent(base, entry);
+    }
+    StringBuilder sb = new StringBuilder();
+    sb.append("#!/bin/sh\n");
+    sb.append("# Launcher of ").append(this.mainClass).append(" using an AppCDS archive (generated by ")
+        .append(CliAppCds.class.getSimpleName()).append(" - do not edit)\n");
+    if (base.getParent() == null) {
+      // nothing in common but the root - use absolute paths as the launcher could not be moved anyway
+      base = null;
+    } else {
+      sb.append("BASE=$(cd \"$(dirname \"$0\")");
+      if (!folder.equals(base)) {
+        sb.append('/');
+        appendEscaped(sb, folder.relativize(base));
+      }
+      sb.append("\" && pwd -P)\n");
+    }
+    sb.append("JAVA=\"${JAVA_HOME:+$JAVA_HOME/bin/}java\"\n");
+    sb.append("exec \"$JAVA\" -XX:SharedArchiveFile=\"");
+    appendBaseRelative(sb, base, archivePath);
+    sb.append("\" -Xshare:auto -cp \"");
+    for (int i = 0; i < entries.size(); i++) {
+      if (i > 0) {
+        sb.append(':');
+      }
+      appendBaseRelative(sb, base, entries.get(i));
+    }
+    sb.append("\" ").append(this.mainClass).append(" \"$@\"\n");
+    return sb.toString();
+  }
+
+  private static Path getCommonParent(Path path1, Path path2) {
+
+    Path parent = path1;
+    while (!path2.startsWith(parent)) {
+      parent = parent.getParent();
+      if (parent == null) {
+        throw new IllegalArgumentException("No common parent of " + path1 + " and " + path2);
+      }
+    }
+    return parent;
+  }
+
+  private static void appendBaseRelative(StringBuilder sb, Path base, Path path) {
+
+    if (base == null) {
+      sb.append('/');
+      appendEscaped(sb, path.getRoot().relativize(path));
+    } else {
+      sb.append("$BASE");
+      if (!path.equals(base)) {
+        sb.append('/');
+        appendEscaped(sb, base.relativize(path));
+      }
+    }
+  }
+
+  /**
+   * @param launcher the {@link Path} where to write the {@link #getLauncher(Path, Path) launcher script}.
+   * @param archive the {@link Path} of the AppCDS archive.
+   * @return the {@link Path} of the launcher script.
+   * @throws IOException on I/O error.
+   */
+  public Path writeLauncher(Path launcher, Path archive) throws IOException {
+
+    Path parent = launcher.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Files.writeString(launcher, getLauncher(launcher, archive), StandardCharsets.UTF_8);
+    launcher.toFile().setExecutable(true);
+    return launcher;
+  }
+
+  private static void appendEscaped(StringBuilder sb, Path relativePath) {
+
+    // escaped for double quotes of a POSIX shell script
+    String separator = "";
+    for (Path segment : relativePath) {
+      sb.append(separator);
+      String value = segment.toString();
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        if ((c == '"') || (c == '$') || (c == '`') || (c == '\\')) {
+          sb.append('\\');
+        }
+        sb.append(c);
+      }
+      separator = "/";
+    }
+  }
+
+  private static CliMain newMain(String mainClass) throws ReflectiveOperationException {
+
+    Class<?> type = Class.forName(mainClass);
+    return (CliMain) type.getDeclaredConstructor().newInstance();
+  }
+
+  /**
+   * @param args either {@link #ARG_TRAIN} followed by the fully qualified name of the {@link CliMain} class to perform
+   *        the {@link CliMain#train() training run} in the current JVM, or the fully qualified name of the
+   *        {@link CliMain} class, the path of the archive to {@link #createArchive(Path) create} and optionally the
+   *        path of the {@link #writeLauncher(Path, Path) launcher script} to write. The classpath is taken from the
+   *        current JVM.
+   * @throws Exception on error.
+   */
+  public static void main(String[] args) throws Exception {
+
+    if ((args.length == 2) && ARG_TRAIN.equals(args[0])) {
+      newMain(args[1]).train();
+      return;
+    }
+    if ((args.length < 2) || (args.length > 3)) {
+      throw new IllegalArgumentException("Usage: " + CliAppCds.class.getName()
+          + " <main-class> <archive> [<launcher>] | " + ARG_TRAIN + " <main-class>");
+    }
+    CliAppCds appCds = new CliAppCds(args[0], System.getProperty("java.class.path"));
+    Path archive = appCds.createArchive(Path.of(args[1]));
+    System.out.println("Created AppCDS archive for " + args[0] + " at " + archive);
+    if (args.length == 3) {
+      Path launcher = appCds.writeLauncher(Path.of(args[2]), archive);
+      System.out.println("Generated launcher " + launcher);
+    }
+  }
+
+}
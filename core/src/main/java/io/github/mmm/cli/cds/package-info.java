@@ -0,0 +1,7 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+/**
+ * Contains the support to start a {@link io.github.mmm.cli.CliMain CLI program} faster using an application
+ * class-data sharing (AppCDS) archive.
+ */
+package io.github.mmm.cli.cds;
@@ -48,8 +48,7 @@ public interface CliCommandAutoComplete extends CliCommand {
       int commandCount = group.getCommandCount();
       for (int i = 0; i < commandCount; i++) {
         CliCommandContainerImpl commandContainer = group.getCommand(i);
-        CliCommand command = commandContainer.getCommand();
-        if (command == this) {
+        if (commandContainer.getCommand(this) != null) {
           continue;
         }
         commandContainer.autoComplete(args, suggestions);
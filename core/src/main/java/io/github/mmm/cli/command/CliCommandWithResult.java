@@ -0,0 +1,52 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.command;
+
+import io.github.mmm.bean.PropertyAlias;
+import io.github.mmm.cli.CliMain;
+import io.github.mmm.cli.exception.CliInvalidResultFormatException;
+import io.github.mmm.cli.io.CliResult;
+import io.github.mmm.cli.io.CliResultFormat;
+import io.github.mmm.property.string.StringProperty;
+
+/**
+ * Extends {@link CliCommand} for commands producing (potentially large amounts of) result rows. It adds the option
+ * "--format" so the user can choose the {@link CliResultFormat} (e.g. "--format csv") while the command emits its
+ * rows only once via {@link #result(CliMain, String...)}. An undefined format is rejected by {@link CliMain} before
+ * the command is {@link #run(CliMain) run}. As for any other property the help text has to be provided in the
+ * resource bundle of the command.
+ *
+ * @since 1.0.0
+ */
+public interface CliCommandWithResult extends CliCommand {
+
+  /** @return the {@link CliResultFormat#of(String) name} of the {@link CliResultFormat}. */
+  @PropertyAlias({ "--format" })
+  StringProperty Format();
+
+  /**
+   * @return the {@link CliResultFormat} selected via {@link #Format()}. Defaults to {@link CliResultFormat#TEXT}.
+   * @throws CliInvalidResultFormatException if the selected format is undefined.
+   */
+  default CliResultFormat getResultFormat() {
+
+    String format = Format().get();
+    try {
+      return CliResultFormat.of(format);
+    } catch (IllegalArgumentException e) {
+      throw new CliInvalidResultFormatException(format, e);
+    }
+  }
+
+  /**
+   * @param main the {@link CliMain} program.
+   * @param columns the names of the columns.
+   * @return the {@link CliResult} in the {@link #getResultFormat() selected format}. Has to be
+   *         {@link CliResult#close() closed} after the last row.
+   */
+  default CliResult result(CliMain main, String... columns) {
+
+    return main.console().result(getResultFormat(), columns);
+  }
+
+}
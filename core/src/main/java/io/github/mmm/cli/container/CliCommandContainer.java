@@ -13,7 +13,8 @@ import io.github.mmm.cli.container.impl.CliPropertyContainerImpl;
 public interface CliCommandContainer extends AbstractCliPropertiesContainer {
 
   /**
-   * @return the owning {@link CliCommand}.
+   * @return the owning {@link CliCommand}. It is the prototype to read the metadata from and is shared by all
+   *         invocations. Values are bound to a new instance per invocation.
    */
   CliCommand getCommand();
 
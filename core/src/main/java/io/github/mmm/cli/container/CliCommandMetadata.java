@@ -0,0 +1,311 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import io.github.mmm.base.exception.DuplicateObjectException;
+import io.github.mmm.bean.Mandatory;
+import io.github.mmm.bean.PropertyAlias;
+import io.github.mmm.cli.command.CliCommand;
+import io.github.mmm.property.WritableProperty;
+import io.github.mmm.property.booleans.BooleanProperty;
+import io.github.mmm.property.container.WritableContainerProperty;
+
+/**
+ * Precomputed metadata of a {@link CliCommand} with the {@link CliPropertyMetadata} of all its properties. An
+ * implementation is generated at build time by the {@code mmm-cli-processor} annotation processor for every
+ * {@link CliCommand} interface with the name of the interface (nested names separated by underscore) followed by
+ * {@link #SUFFIX} and listed in the {@link #INDEX index}. The generated metadata has already been
+ * {@link #validate(String, List) validated} at build time so at runtime it only has to be {@link #get(Class) loaded}
+ * instead of being computed via reflection.
+ *
+ * @since 1.0.0
+ */
+public class CliCommandMetadata {
+
+  /** Suffix for the name of a generated {@link CliCommandMetadata} class. */
+  public static final String SUFFIX = "_CliMetadata";
+
+  /**
+   * Path of the resource listing the qualified names of the generated {@link CliCommandMetadata} classes (one per
+   * line). It is written by the annotation processor together with the generated classes.
+   */
+  public static final String INDEX = "META-INF/mmm-cli/metadata.txt";
+
+  private static final Map<ClassLoader, Set<String>> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final Class<? extends CliCommand> commandInterface;
+
+  private final List<CliPropertyMetadata> properties;
+
+  /**
+   * The constructor.
+   *
+   * @param commandInterface the {@link #getCommandInterface() command interface}.
+   * @param properties the {@link #getProperties() properties}.
+   */
+  public CliCommandMetadata(Class<? extends CliCommand> commandInterface, CliPropertyMetadata... properties) {
+
+    super();
+    Objects.requireNonNull(commandInterface, "commandInterface");
+    this.commandInterface = commandInterface;
+    this.properties = List.of(properties);
+  }
+
+  /**
+   * @return the {@link Class} reflecting the {@link CliCommand} interface.
+   */
+  public Class<? extends CliCommand> getCommandInterface() {
+
+    return this.commandInterface;
+  }
+
+  /**
+   * @return the {@link List} of {@link CliPropertyMetadata} in the order of the properties of the
+   *         {@link #getCommandInterface() command}.
+   */
+  public List<CliPropertyMetadata> getProperties() {
+
+    return this.properties;
+  }
+
+  @Override
+  public String toString() {
+
+    return this.commandInterface.getSimpleName() + this.properties;
+  }
+
+  /**
+   * @param commandInterface the {@link Class} reflecting the {@link CliCommand} interface.
+   * @return the name of the generated {@link CliCommandMetadata} class for the given {@link CliCommand} interface.
+   */
+  public static String getMetadataClassName(Class<? extends CliCommand> commandInterface) {
+
+    String packageName = commandInterface.getPackageName();
+    String name = commandInterface.getName();
+    if (packageName.isEmpty()) {
+      return name.replace('$', '_') + SUFFIX;
+    }
+    return packageName + "." + name.substring(packageName.length() + 1).replace('$', '_') + SUFFIX;
+  }
+
+  /**
+   * @param commandInterface the {@link Class} reflecting the {@link CliCommand} interface.
+   * @return the generated {@link CliCommandMetadata} for the given {@link CliCommand} interface or {@code null} if
+   *         none has been generated at build time. Only classes listed in the {@link #INDEX index} are loaded so no
+   *         class lookup is done for commands without generated metadata.
+   * @throws IllegalStateException if the metadata is listed in the {@link #INDEX index} but can not be loaded (e.g.
+   *         because it is outdated).
+   */
+  public static CliCommandMetadata get(Class<? extends CliCommand> commandInterface) {
+
+    ClassLoader classLoader = commandInterface.getClassLoader();
+    if (classLoader == null) {
+      return null;
+    }
+    String metadataClassName = getMetadataClassName(commandInterface);
+    if (!getIndex(classLoader).contains(metadataClassName)) {
+      return null;
+    }
+    try {
+      Class<?> metadataClass = Class.forName(metadataClassName, true, classLoader);
+      CliCommandMetadata metadata = (CliCommandMetadata) metadataClass.getDeclaredConstructor().newInstance();
+      if (metadata.commandInterface != commandInterface) {
+        throw new IllegalStateException("Metadata " + metadataClassName + " does not belong to "
+            + commandInterface.getName() + " - please rebuild.");
+      }
+      return metadata;
+    } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+      throw new IllegalStateException("Failed to load metadata " + metadataClassName + " - please rebuild.", e);
+    }
+  }
+
+  /**
+   * @param classLoader the {@link ClassLoader} to read the {@link #INDEX index} from.
+   * @return the {@link Set} with the names of the generated {@link CliCommandMetadata} classes listed in all
+   *         {@link #INDEX index} resources visible to the given {@link ClassLoader}. Read only once per
+   *         {@link ClassLoader}.
+   */
+  public static Set<String> getIndex(ClassLoader classLoader) {
+
+    Set<String> index = INDEXES.get(classLoader);
+    if (index == null) {
+      index = readIndex(classLoader);
+      INDEXES.put(classLoader, index);
+    }
+    return index;
+  }
+
+  private static Set<String> readIndex(ClassLoader classLoader) {
+
+    Set<String> index = new HashSet<>();
+    try {
+      Enumeration<URL> urls = classLoader.getResources(INDEX);
+      while (urls.hasMoreElements()) {
+        URL url = urls.nextElement();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+          String line = reader.readLine();
+          while (line != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+              index.add(line);
+            }
+            line = reader.readLine();
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read " + INDEX, e);
+    }
+    if (index.isEmpty()) {
+      return Collections.emptySet();
+    }
+    return Collections.unmodifiableSet(index);
+  }
+
+  /**
+   * @param commandInterface the {@link Class} reflecting the {@link CliCommand} interface.
+   * @return the {@link #get(Class) generated} {@link CliCommandMetadata} for the given {@link CliCommand} interface or
+   *         if not available the {@link CliCommandMetadata} computed and {@link #validate(String, List) validated} from
+   *         the annotations and return types of its property methods. In neither case an instance of the
+   *         {@link CliCommand} is created.
+   */
+  public static CliCommandMetadata of(Class<? extends CliCommand> commandInterface) {
+
+    CliCommandMetadata metadata = get(commandInterface);
+    if (metadata == null) {
+      Map<String, PropertyMethod> methodMap = new LinkedHashMap<>();
+      collectProperties(commandInterface, methodMap);
+      String commandName = commandInterface.getSimpleName();
+      List<CliPropertyMetadata> properties = new ArrayList<>(methodMap.size());
+      for (PropertyMethod method : methodMap.values()) {
+        properties.add(CliPropertyMetadata.of(method.name, commandName + "." + method.name, method.aliases,
+            method.mandatory, BooleanProperty.class.isAssignableFrom(method.type),
+            WritableContainerProperty.class.isAssignableFrom(method.type)));
+      }
+      validate(commandName, properties);
+      metadata = new CliCommandMetadata(commandInterface,
+          properties.toArray(new CliPropertyMetadata[properties.size()]));
+    }
+    return metadata;
+  }
+
+  private static void collectProperties(Class<?> type, Map<String, PropertyMethod> methodMap) {
+
+    for (Class<?> superInterface : type.getInterfaces()) {
+      if ((superInterface != CliCommand.class) && CliCommand.class.isAssignableFrom(superInterface)) {
+        collectProperties(superInterface, methodMap);
+      }
+    }
+    for (Method method : type.getDeclaredMethods()) {
+      int modifiers = method.getModifiers();
+      if ((method.getParameterCount() == 0) && !method.isDefault() && !Modifier.isStatic(modifiers)
+          && !method.isSynthetic() && WritableProperty.class.isAssignableFrom(method.getReturnType())) {
+        String name = method.getName();
+        methodMap.put(name, new PropertyMethod(method, methodMap.get(name)));
+      }
+    }
+  }
+
+  /**
+   * Validates the given properties of a {@link CliCommand}. It verifies that aliases are unique and that the
+   * {@link CliPropertyMetadata#getIndex() indexes} of the values start with {@code 0} and continue without gap,
+   * that no mandatory value follows an optional one and that no value follows a {@link CliPropertyMetadata#isVararg()
+   * vararg}.
+   *
+   * @param commandName the {@link Class#getSimpleName() simple name} of the {@link CliCommand} for error messages.
+   * @param properties the {@link CliPropertyMetadata} of all properties of the {@link CliCommand}.
+   * @throws IllegalStateException if the properties are invalid.
+   * @throws DuplicateObjectException if an alias is used for multiple properties.
+   */
+  public static void validate(String commandName, List<CliPropertyMetadata> properties) {
+
+    String prefix = commandName + ".";
+    Map<String, CliPropertyMetadata> aliasMap = new HashMap<>();
+    for (CliPropertyMetadata property : properties) {
+      for (String alias : property.getAliases()) {
+        CliPropertyMetadata duplicate = aliasMap.putIfAbsent(alias, property);
+        if (duplicate != null) {
+          throw new DuplicateObjectException(prefix + property.getPropertyName(), alias,
+              prefix + duplicate.getPropertyName());
+        }
+      }
+    }
+    List<CliPropertyMetadata> sorted = new ArrayList<>(properties);
+    Collections.sort(sorted);
+    int i = 0;
+    boolean mandatory = true;
+    CliPropertyMetadata vararg = null;
+    for (CliPropertyMetadata property : sorted) {
+      if (property.isOption()) {
+        continue;
+      }
+      String propertyName = property.getPropertyName();
+      if (vararg != null) {
+        throw new IllegalStateException("Invalid value " + prefix + propertyName + "() with index "
+            + property.getIndex() + " - no further value is allowed after vararg " + vararg.getPropertyName() + "().");
+      }
+      if (property.getIndex() != i) {
+        throw new IllegalStateException("Invalid value " + prefix + propertyName + "() with index "
+            + property.getIndex() + " but expected index " + i + " - please fix @PropertyAlias annotation.");
+      }
+      if (mandatory) {
+        mandatory = property.isMandatory();
+      } else if (property.isMandatory()) {
+        throw new IllegalStateException("Invalid value " + prefix + propertyName + "() with index "
+            + property.getIndex() + " can not be mandatory if previous value is optional.");
+      }
+      if (property.isVararg()) {
+        vararg = property;
+      }
+      i++;
+    }
+  }
+
+  private static class PropertyMethod {
+
+    private final String name;
+
+    private final Class<?> type;
+
+    private final List<String> aliases;
+
+    private final boolean mandatory;
+
+    private PropertyMethod(Method method, PropertyMethod inherited) {
+
+      super();
+      this.name = method.getName();
+      this.type = method.getReturnType();
+      PropertyAlias alias = method.getAnnotation(PropertyAlias.class);
+      if (alias != null) {
+        this.aliases = List.of(alias.value());
+      } else if (inherited != null) {
+        this.aliases = inherited.aliases;
+      } else {
+        this.aliases = Collections.emptyList();
+      }
+      this.mandatory = method.isAnnotationPresent(Mandatory.class) || ((inherited != null) && inherited.mandatory);
+    }
+  }
+
+}
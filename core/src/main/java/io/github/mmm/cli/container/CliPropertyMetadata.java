@@ -0,0 +1,322 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container;
+
+import java.util.Collections;
+import java.util.List;
+
+import io.github.mmm.base.text.CaseSyntax;
+import io.github.mmm.cli.command.CliCommand;
+
+/**
+ * Immutable metadata of a {@link io.github.mmm.property.Property} from a {@link CliCommand} that does not depend on
+ * the {@link java.util.Locale} (unlike the {@link CliPropertyContainer#getHelp() help}). It is either
+ * {@link #of(String, String, List, boolean, boolean, boolean) computed} at runtime or precomputed at build time as
+ * part of a generated {@link CliCommandMetadata}.
+ *
+ * @since 1.0.0
+ */
+public final class CliPropertyMetadata implements Comparable<CliPropertyMetadata> {
+
+  private final String propertyName;
+
+  private final List<String> aliases;
+
+  private final String syntax;
+
+  private final String usage;
+
+  private final int index;
+
+  private final boolean mandatory;
+
+  private final boolean option;
+
+  private final boolean value;
+
+  private final boolean flag;
+
+  private final boolean vararg;
+
+  private final boolean wildcard;
+
+  /**
+   * The constructor.
+   *
+   * @param propertyName the {@link #getPropertyName() property name}.
+   * @param aliases the {@link #getAliases() aliases}.
+   * @param syntax the {@link #getSyntax() syntax}.
+   * @param usage the {@link #getUsage() usage}.
+   * @param index the {@link #getIndex() index}.
+   * @param mandatory the {@link #isMandatory() mandatory flag}.
+   * @param option the {@link #isOption() option flag}.
+   * @param flag the {@link #isFlag() flag attribute}.
+   * @param value the {@link #isValue() value flag}.
+   * @param vararg the {@link #isVararg() vararg flag}.
+   * @param wildcard the {@link #isWildcard() wildcard flag}.
+   */
+  public CliPropertyMetadata(String propertyName, List<String> aliases, String syntax, String usage, int index,
+      boolean mandatory, boolean option, boolean flag, boolean value, boolean vararg, boolean wildcard) {
+
+    super();
+    this.propertyName = propertyName;
+    this.aliases = Collections.unmodifiableList(aliases);
+    this.syntax = syntax;
+    this.usage = usage;
+    this.index = index;
+    this.mandatory = mandatory;
+    this.option = option;
+    this.flag = flag;
+    this.value = value;
+    this.vararg = vararg;
+    this.wildcard = wildcard;
+  }
+
+  /**
+   * @return the {@link io.github.mmm.property.Property#getName() property name}.
+   */
+  public String getPropertyName() {
+
+    return this.propertyName;
+  }
+
+  /**
+   * @return the {@link List} of aliases (option name).
+   * @see io.github.mmm.bean.PropertyAlias
+   */
+  public List<String> getAliases() {
+
+    return this.aliases;
+  }
+
+  /**
+   * @return the plain syntax for help (e.g. "--locale|-l").
+   */
+  public String getSyntax() {
+
+    return this.syntax;
+  }
+
+  /**
+   * @return the usage (e.g. "[--locale|-l &lt;locale&gt;]").
+   */
+  public String getUsage() {
+
+    return this.usage;
+  }
+
+  /**
+   * @return the index to define the order of values or value options. Will be {@code -1} for no index.
+   */
+  public int getIndex() {
+
+    return this.index;
+  }
+
+  /**
+   * @return {@code true} if mandatory, {@code false} otherwise.
+   */
+  public boolean isMandatory() {
+
+    return this.mandatory;
+  }
+
+  /**
+   * @return {@code true} if option (e.g. "-o" or "--option"), {@code false} otherwise.
+   */
+  public boolean isOption() {
+
+    return this.option;
+  }
+
+  /**
+   * @return {@code true} if a user specified value (neither an {@link #isOption() option} nor a static command
+   *         keyword), {@code false} otherwise.
+   */
+  public boolean isValue() {
+
+    return this.value;
+  }
+
+  /**
+   * @return {@code true} in case of a flag (boolean property), {@code false} otherwise.
+   */
+  public boolean isFlag() {
+
+    return this.flag;
+  }
+
+  /**
+   * @return {@code true} if this is a vararg property (multivalue), {@code false} otherwise.
+   */
+  public boolean isVararg() {
+
+    return this.vararg;
+  }
+
+  /**
+   * @return {@code true} if {@link CliCommand#ALIAS_WILDCARD wildcard}, {@code false} otherwise.
+   */
+  public boolean isWildcard() {
+
+    return this.wildcard;
+  }
+
+  /**
+   * @return {@code true} in case of a command keyword that is a static {@link #isMandatory() mandatory} argument that
+   *         is not an {@link #isOption() option}
+   */
+  public boolean isKeyword() {
+
+    return !this.option && this.mandatory && !this.value && this.flag;
+  }
+
+  @Override
+  public int compareTo(CliPropertyMetadata o) {
+
+    if (o == null) {
+      return -1;
+    }
+    // 1. mandatory keywords ordered by index
+    // 2. mandatory options ordered by syntax
+    // 3. additional options ordered by syntax
+    // 4. values ordered by index
+    int result = 0;
+    int cmpMandatory = this.mandatory ? -1 : 1;
+    if (this.mandatory != o.mandatory) {
+      result = cmpMandatory;
+    }
+    if (this.index != o.index) {
+      if ((this.index == -1) || (o.index == -1)) {
+        if (isKeyword()) {
+          return -1;
+        } else if (o.isKeyword()) {
+          return 1;
+        } else if (this.value && o.option) {
+          return 1;
+        } else if (this.option && o.value) {
+          return -1;
+        } else if (result == 0) {
+          return 1;
+        } else {
+          return cmpMandatory;
+        }
+      } else {
+        return (this.index > o.index) ? 1 : -1;
+      }
+    }
+    if (result == 0) {
+      result = this.syntax.compareTo(o.syntax);
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+
+    if (this.index >= 0) {
+      return this.usage + " #" + this.index;
+    }
+    return this.usage;
+  }
+
+  /**
+   * @param alias the alias to check.
+   * @return {@code true} if the given {@code alias} is an {@link #getIndex() index}, {@code false} otherwise.
+   */
+  public static boolean isIndex(String alias) {
+
+    return (alias.length() == 1) && isDigit(alias.charAt(0));
+  }
+
+  private static boolean isDigit(char c) {
+
+    return (c >= '0') && (c <= '9');
+  }
+
+  /**
+   * Computes the {@link CliPropertyMetadata} from the plain facts of a property.
+   *
+   * @param propertyName the {@link #getPropertyName() property name}.
+   * @param qualifiedName the qualified name of the property (e.g. "MyCommand.MyProperty") used for error messages.
+   * @param aliases the {@link #getAliases() aliases}.
+   * @param mandatory the {@link #isMandatory() mandatory flag}.
+   * @param flag the {@link #isFlag() flag attribute} ({@code true} for a boolean property).
+   * @param container {@code true} for a container (collection) property, {@code false} otherwise.
+   * @return the computed {@link CliPropertyMetadata}.
+   */
+  public static CliPropertyMetadata of(String propertyName, String qualifiedName, List<String> aliases,
+      boolean mandatory, boolean flag, boolean container) {
+
+    String defaultName = null;
+    StringBuilder sb = new StringBuilder();
+    char separator = 0;
+    int i = -1;
+    boolean isOption = false;
+    boolean isWildcard = false;
+    boolean isValue = true;
+    for (String alias : aliases) {
+      if (isIndex(alias)) {
+        i = Integer.parseInt(alias);
+        continue;
+      } else {
+        if (CliCommand.ALIAS_WILDCARD.equals(alias)) {
+          isWildcard = true;
+        } else {
+          isValue = false;
+          if (alias.startsWith("-")) {
+            isOption = true;
+          }
+        }
+      }
+      if ((defaultName == null) || !defaultName.startsWith("--")) {
+        defaultName = alias;
+      }
+      if (separator == 0) {
+        separator = '|';
+      } else {
+        sb.append(separator);
+      }
+      sb.append(alias);
+    }
+    if (sb.length() == 0) {
+      sb.append(CaseSyntax.UNCAPITALIZED.convert(propertyName));
+    }
+    if (isOption && isWildcard) {
+      throw new IllegalStateException(
+          "Invalid property " + qualifiedName + " - option may not be a wildcard (use * as alias).");
+    }
+    String syntax = sb.toString();
+    sb.setLength(0);
+    if (!mandatory) {
+      sb.append('[');
+    }
+    if (isValue) {
+      sb.append('<');
+    }
+    sb.append(syntax);
+    if (isValue) {
+      sb.append('>');
+    }
+    if (isOption && !flag) {
+      sb.append(" <");
+      String valueName;
+      if ((defaultName == null) || !defaultName.startsWith("--")) {
+        valueName = "value";
+      } else {
+        valueName = defaultName.substring(2);
+      }
+      sb.append(valueName);
+      sb.append('>');
+      if (container) {
+        sb.append("...");
+      }
+    }
+    if (!mandatory) {
+      sb.append(']');
+    }
+    return new CliPropertyMetadata(propertyName, aliases, syntax, sb.toString(), i, mandatory, isOption, flag, isValue,
+        container, isWildcard);
+  }
+
+}
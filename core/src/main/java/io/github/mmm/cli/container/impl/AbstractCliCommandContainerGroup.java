@@ -25,6 +25,14 @@ public abstract class AbstractCliCommandContainerGroup implements CliCommandCont
     this.console = console;
   }
 
+  /**
+   * @param i the index of the requested {@link CliCommandDescriptor}. Has to be in the range from {@code 0} to
+   *        <code>{@link #getCommandCount()}-1</code>.
+   * @return the {@link CliCommandDescriptor} at the given index. Unlike {@link #getCommand(int)} this will not create
+   *         the {@link CliCommandDescriptor#getContainer() container} of a lazily registered command.
+   */
+  public abstract CliCommandDescriptor getDescriptor(int i);
+
   @Override
   public abstract CliCommandContainerImpl getCommand(int i);
 
@@ -0,0 +1,165 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import io.github.mmm.cli.arg.CliArgs;
+import io.github.mmm.cli.arg.CliArgument;
+import io.github.mmm.cli.command.CliCommand;
+import io.github.mmm.property.WritableProperty;
+import io.github.mmm.property.container.collection.WritableCollectionProperty;
+
+/**
+ * Immutable result of {@link CliCommandContainerImpl#match(CliArgs) matching} {@link CliArgs} against a
+ * {@link CliCommandContainerImpl command}. It contains the already parsed values for the according properties but has
+ * not modified any property so far. Only when the plan is {@link #bind() bound} the values are actually written to the
+ * properties of the {@link CliCommand}.
+ *
+ * @since 1.0.0
+ */
+public final class CliBindingPlan {
+
+  private final CliCommandContainerImpl container;
+
+  private final Binding[] bindings;
+
+  /**
+   * The constructor.
+   *
+   * @param container the {@link #getContainer() container}.
+   * @param bindings the {@link List} of {@link Binding}s.
+   */
+  CliBindingPlan(CliCommandContainerImpl container, List<Binding> bindings) {
+
+    super();
+    this.container = container;
+    this.bindings = bindings.toArray(new Binding[bindings.size()]);
+  }
+
+  /**
+   * @return the {@link CliCommandContainerImpl} of the matching {@link CliCommand}.
+   */
+  public CliCommandContainerImpl getContainer() {
+
+    return this.container;
+  }
+
+  /**
+   * @return the number of values to bind.
+   */
+  public int getBindingCount() {
+
+    return this.bindings.length;
+  }
+
+  /**
+   * @param i the index of the binding in the range from {@code 0} to <code>{@link #getBindingCount()} - 1</code>.
+   * @return the {@link CliPropertyContainerImpl} of the property the value at the given index is bound to.
+   */
+  public CliPropertyContainerImpl getBindingProperty(int i) {
+
+    return this.bindings[i].property;
+  }
+
+  /**
+   * Writes the planned values to the properties of the {@link CliCommandContainerImpl#getCommand() command}.<br>
+   * <b>ATTENTION:</b> This modifies the command shared by all invocations. Use {@link #bindNewCommand()} for
+   * concurrent invocations.
+   */
+  public void bind() {
+
+    bind(this.container.getCommand());
+  }
+
+  /**
+   * Writes the planned values to a {@link CliCommandContainerImpl#newCommand() new command instance} that is owned by
+   * the caller. This is thread-safe as long as the plan is not shared with another thread.
+   *
+   * @return the new {@link CliCommand} with the planned values bound.
+   */
+  public CliCommand bindNewCommand() {
+
+    CliCommand command = this.container.newCommand();
+    bind(command);
+    return command;
+  }
+
+  /**
+   * @param command the {@link CliCommand} to write the planned values to. Has to be of the same type as the
+   *        {@link CliCommandContainerImpl#getCommand() command} of the {@link #getContainer() container}.
+   */
+  public void bind(CliCommand command) {
+
+    for (Binding binding : this.bindings) {
+      binding.bind(command);
+    }
+  }
+
+  @Override
+  public String toString() {
+
+    StringBuilder sb = new StringBuilder(this.container.toString());
+    sb.append('(');
+    for (int i = 0; i < this.bindings.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(this.bindings[i]);
+    }
+    sb.append(')');
+    return sb.toString();
+  }
+
+  /**
+   * A single binding of a parsed value to a property.
+   */
+  static final class Binding {
+
+    private final CliArgument argument;
+
+    private final CliPropertyContainerImpl property;
+
+    private final Object value;
+
+    private final boolean element;
+
+    /**
+     * The constructor.
+     *
+     * @param argument the {@link CliArgument} the value was parsed from.
+     * @param property the {@link CliPropertyContainerImpl} of the property to bind.
+     * @param value the parsed value.
+     * @param element - {@code true} if the value is an element to add to a collection property, {@code false}
+     *        otherwise (value to set).
+     */
+    Binding(CliArgument argument, CliPropertyContainerImpl property, Object value, boolean element) {
+
+      super();
+      this.argument = argument;
+      this.property = property;
+      this.value = value;
+      this.element = element;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void bind(CliCommand command) {
+
+      WritableProperty<?> writableProperty = command.getRequiredProperty(this.property.getPropertyName());
+      if (this.element) {
+        Collection collection = ((WritableCollectionProperty<?, ?>) writableProperty).getOrCreate();
+        collection.add(this.value);
+      } else {
+        ((WritableProperty) writableProperty).set(this.value);
+      }
+    }
+
+    @Override
+    public String toString() {
+
+      return this.property.getPropertyName() + "=" + this.value + "@" + this.argument;
+    }
+  }
+
+}
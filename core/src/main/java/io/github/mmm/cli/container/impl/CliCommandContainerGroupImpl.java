@@ -21,7 +21,7 @@ public class CliCommandContainerGroupImpl extends AbstractCliCommandContainerGro
 
   private final String name;
 
-  private final List<CliCommandContainerImpl> commands;
+  private final List<CliCommandDescriptor> commands;
 
   /**
    * The constructor.
@@ -49,16 +49,23 @@ public class CliCommandContainerGroupImpl extends AbstractCliCommandContainerGro
   }
 
   @Override
-  public CliCommandContainerImpl getCommand(int i) {
+  public CliCommandDescriptor getDescriptor(int i) {
 
     return this.commands.get(i);
   }
 
+  @Override
+  public CliCommandContainerImpl getCommand(int i) {
+
+    return this.commands.get(i).getContainer();
+  }
+
   @Override
   public CliCommandContainerImpl getCommand(CliCommand command) {
 
-    for (CliCommandContainerImpl commandContainer : this.commands) {
-      if (commandContainer.getCommand() == command) {
+    for (CliCommandDescriptor descriptor : this.commands) {
+      CliCommandContainerImpl commandContainer = descriptor.getCommand(command);
+      if (commandContainer != null) {
         return commandContainer;
       }
     }
@@ -69,8 +76,8 @@ public class CliCommandContainerGroupImpl extends AbstractCliCommandContainerGro
   public List<CliPropertyContainerImpl> getProperties() {
 
     Map<String, CliPropertyContainerImpl> propertiesMap = new HashMap<>();
-    for (CliCommandContainerImpl commandContainer : this.commands) {
-      for (CliPropertyContainerImpl property : commandContainer.getProperties()) {
+    for (CliCommandDescriptor descriptor : this.commands) {
+      for (CliPropertyContainerImpl property : descriptor.getProperties()) {
         propertiesMap.putIfAbsent(property.getSyntax(), property);
       }
     }
@@ -84,7 +91,7 @@ public class CliCommandContainerGroupImpl extends AbstractCliCommandContainerGro
    */
   public void addCommand(CliCommandContainerImpl commandContainer) {
 
-    this.commands.add(commandContainer);
+    this.commands.add(commandContainer.getDescriptor());
   }
 
   @Override
@@ -96,4 +103,12 @@ public class CliCommandContainerGroupImpl extends AbstractCliCommandContainerGro
     return this;
   }
 
+  @Override
+  public CliAddCommand addLazy(Class<? extends CliCommand> commandInterface) {
+
+    Objects.requireNonNull(commandInterface, "commandInterface");
+    this.commands.add(new CliCommandDescriptor(commandInterface, this.console));
+    return this;
+  }
+
 }
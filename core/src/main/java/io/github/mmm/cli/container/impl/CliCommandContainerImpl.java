@@ -3,7 +3,7 @@
 package io.github.mmm.cli.container.impl;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -11,9 +11,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import io.github.mmm.base.exception.DuplicateObjectException;
+import io.github.mmm.bean.BeanFactory;
 import io.github.mmm.cli.CliBundle;
 import io.github.mmm.cli.arg.CliArgs;
 import io.github.mmm.cli.arg.CliArgument;
@@ -22,17 +22,23 @@ import io.github.mmm.cli.arg.CliValue;
 import io.github.mmm.cli.arg.CliValueType;
 import io.github.mmm.cli.command.CliCommand;
 import io.github.mmm.cli.container.CliCommandContainer;
+import io.github.mmm.cli.container.CliCommandMetadata;
+import io.github.mmm.cli.container.CliPropertyMetadata;
+import io.github.mmm.cli.container.impl.CliBindingPlan.Binding;
 import io.github.mmm.cli.io.CliConsole;
+import io.github.mmm.cli.io.CliLogLevel;
 import io.github.mmm.property.WritableProperty;
 import io.github.mmm.property.booleans.BooleanProperty;
-import io.github.mmm.property.container.WritableContainerProperty;
 import io.github.mmm.property.container.collection.WritableCollectionProperty;
 import io.github.mmm.property.enumeration.EnumProperty;
 import io.github.mmm.property.number.NumberProperty;
 import io.github.mmm.property.object.WritableSimpleProperty;
 
 /**
- * Implementation of {@link CliCommandContainer}.
+ * Implementation of {@link CliCommandContainer}. The metadata of the {@link #getCommand() command} (its
+ * {@link #getProperties() properties}) is immutable once registered and can be shared by concurrent invocations. The
+ * {@link #getCommand() registered command} is only used as prototype to read this metadata. Each invocation shall
+ * {@link CliBindingPlan#bind(CliCommand) bind} its values to a {@link #newCommand() new command instance}.
  *
  * @since 1.0.0
  */
@@ -40,14 +46,29 @@ public class CliCommandContainerImpl extends AbstractCliCommandContainerGroup im
 
   private final CliCommand command;
 
+  private final Class<? extends CliCommand> commandInterface;
+
   private final List<CliPropertyContainerImpl> properties;
 
-  private final Map<String, CliPropertyContainerImpl> propertyMap;
+  /** The {@link CliPropertyContainerImpl properties} in order of {@link #add(CliPropertyContainerImpl) addition}. */
+  private final List<CliPropertyContainerImpl> slots;
+
+  private final Map<String, Integer> slotMap;
+
+  /** Bit-mask of the slots of the {@link CliPropertyContainerImpl#isMandatory() mandatory} properties. */
+  private long mandatoryMask;
+
+  /** Slots of {@link CliPropertyContainerImpl#isMandatory() mandatory} properties exceeding {@link #mandatoryMask}. */
+  private BitSet mandatoryOverflow;
 
   private final CliBundle bundle;
 
   private boolean sorted;
 
+  private volatile CliCommandPool pool;
+
+  private volatile CliCommandDescriptor descriptor;
+
   /**
    * The constructor.
    *
@@ -58,8 +79,10 @@ public class CliCommandContainerImpl extends AbstractCliCommandContainerGroup im
 
     super(console);
     this.command = command;
+    this.commandInterface = getCommandInterface(command);
     this.properties = new ArrayList<>();
-    this.propertyMap = new HashMap<>();
+    this.slots = new ArrayList<>();
+    this.slotMap = new HashMap<>();
     this.bundle = CliBundle.of(command, console);
   }
 
@@ -69,10 +92,60 @@ public class CliCommandContainerImpl extends AbstractCliCommandContainerGroup im
     return this.command;
   }
 
+  /**
+   * @return the {@link Class} reflecting the interface of the {@link #getCommand() command}.
+   */
+  public Class<? extends CliCommand> getCommandInterface() {
+
+    return this.commandInterface;
+  }
+
+  /**
+   * @return a new instance of the {@link #getCommand() command} with no value bound so far. Each invocation shall use
+   *         its own instance so the shared {@link #getCommand() command} is never modified and concurrent invocations
+   *         do not interfere.
+   */
+  public CliCommand newCommand() {
+
+    return BeanFactory.get().create(this.commandInterface);
+  }
+
+  /**
+   * @return the {@link CliCommandPool} with recyclable instances of the {@link #getCommand() command}. Will be created
+   *         on first access with the {@link CliCommandPool#DEFAULT_CAPACITY default capacity}.
+   */
+  public CliCommandPool getPool() {
+
+    CliCommandPool commandPool = this.pool;
+    if (commandPool == null) {
+      synchronized (this) {
+        commandPool = this.pool;
+        if (commandPool == null) {
+          commandPool = new CliCommandPool(this, CliCommandPool.DEFAULT_CAPACITY);
+          this.pool = commandPool;
+        }
+      }
+    }
+    return commandPool;
+  }
+
   @Override
   public CliPropertyContainerImpl getProperty(String alias) {
 
-    return this.propertyMap.get(alias);
+    int slot = getSlot(alias);
+    if (slot < 0) {
+      return null;
+    }
+    return this.slots.get(slot);
+  }
+
+  private int getSlot(String alias) {
+
+    Integer slot = this.slotMap.get(alias);
+    if (slot == null) {
+      return -1;
+    }
+    return slot.intValue();
   }
 
   @Override
@@ -97,6 +170,39 @@ public class CliCommandContainerImpl extends AbstractCliCommandContainerGroup im
     return 1;
   }
 
+  @Override
+  public CliCommandDescriptor getDescriptor(int i) {
+
+    if (i == 0) {
+      return getDescriptor();
+    }
+    throw new IndexOutOfBoundsException(i);
+  }
+
+  /**
+   * @return the {@link CliCommandDescriptor} of this container. If this container was created eagerly, the descriptor
+   *         is created on first access from the {@link #getProperties() properties} added so far.
+   */
+  public CliCommandDescriptor getDescriptor() {
+
+    CliCommandDescriptor commandDescriptor = this.descriptor;
+    if (commandDescriptor == null) {
+      synchronized (this) {
+        commandDescriptor = this.descriptor;
+        if (commandDescriptor == null) {
+          CliPropertyMetadata[] metadata = new CliPropertyMetadata[this.slots.size()];
+          for (int i = 0; i < metadata.length; i++) {
+            metadata[i] = this.slots.get(i).getMetadata();
+          }
+          commandDescriptor = new CliCommandDescriptor(this,
+              new CliCommandMetadata(this.commandInterface, metadata));
+          this.descriptor = commandDescriptor;
+        }
+      }
+    }
+    return commandDescriptor;
+  }
+
   @Override
   public CliCommandContainerImpl getCommand(int i) {
 
@@ -109,32 +215,60 @@ public class CliCommandContainerImpl extends AbstractCliCommandContainerGroup im
   @Override
   public CliCommandContainerImpl getCommand(CliCommand cliCommand) {
 
-    if (this.command == cliCommand) {
+    if ((this.command == cliCommand)
+        || ((cliCommand != null) && (getCommandInterface(cliCommand) == this.commandInterface))) {
       return this;
     }
     return null;
   }
 
+  @SuppressWarnings("unchecked")
+  static Class<? extends CliCommand> getCommandInterface(CliCommand cliCommand) {
+
+    Class<?> type = cliCommand.getClass();
+    while (type != null) {
+      for (Class<?> commandInterface : type.getInterfaces()) {
+        if (CliCommand.class.isAssignableFrom(commandInterface)) {
+          return (Class<? extends CliCommand>) commandInterface;
+        }
+      }
+      type = type.getSuperclass();
+    }
+    return CliCommand.class;
+  }
+
   /**
    * @param propertyInfo the {@link CliPropertyContainerImpl} to add.
    */
   public void add(CliPropertyContainerImpl propertyInfo) {
 
+    int slot = this.slots.size();
     for (String alias : propertyInfo.getAliases()) {
-      put(alias, propertyInfo);
+      put(alias, slot, propertyInfo);
+    }
+    this.slots.add(propertyInfo);
+    if (propertyInfo.isMandatory()) {
+      if (slot < Long.SIZE) {
+        this.mandatoryMask |= (1L << slot);
+      } else {
+        if (this.mandatoryOverflow == null) {
+          this.mandatoryOverflow = new BitSet();
+        }
+        this.mandatoryOverflow.set(slot);
+      }
     }
     this.properties.add(propertyInfo);
     assert (!this.sorted);
     this.sorted = false;
   }
 
-  private void put(String key, CliPropertyContainerImpl propertyInfo) {
+  private void put(String key, int slot, CliPropertyContainerImpl propertyInfo) {
 
-    CliPropertyContainerImpl duplicate = this.propertyMap.putIfAbsent(key, propertyInfo);
+    Integer duplicate = this.slotMap.putIfAbsent(key, Integer.valueOf(slot));
     if (duplicate != null) {
       String prefix = this.command.getType().getSimpleName() + ".";
       throw new DuplicateObjectException(prefix + propertyInfo.getPropertyName(), key,
-          prefix + duplicate.getPropertyName());
+          prefix + this.slots.get(duplicate.intValue()).getPropertyName());
     }
   }
 
@@ -263,61 +397,122 @@ public class CliCommandContainerImpl extends AbstractCliCommandContainerGroup im
    * @param args the {@link CliArgs} to bind.
    * @return {@code true} if the given {@link CliArgs} match this {@link #getCommand() command}, {@code false}
    *         otherwise.
+   * @see #match(CliArgs)
+   * @see CliBindingPlan#bind()
    */
   public boolean bindCommandArguments(CliArgs args) {
 
+    CliBindingPlan plan = match(args);
+    if (plan == null) {
+      return false;
+    }
+    plan.bind();
+    return true;
+  }
+
+  /**
+   * Matches the given {@link CliArgs} against this {@link #getCommand() command} without any side-effect. Hence, no
+   * property of the {@link #getCommand() command} is modified by this method.
+   *
+   * @param args the {@link CliArgs} to match.
+   * @return the {@link CliBindingPlan} with the parsed values to {@link CliBindingPlan#bind() bind} if the given
+   *         {@link CliArgs} match this {@link #getCommand() command}, {@code null} otherwise.
+   */
+  public CliBindingPlan match(CliArgs args) {
+
+    return match(args, this.console);
+  }
+
+  /**
+   * Matches the given {@link CliArgs} against this {@link #getCommand() command} without any side-effect. Hence, no
+   * property of the {@link #getCommand() command} is modified by this method.
+   *
+   * @param args the {@link CliArgs} to match.
+   * @param sessionConsole the {@link CliConsole} of the current invocation (see
+   *        {@link io.github.mmm.cli.CliMain#console()}) used to log why the {@link CliArgs} do not match.
+   * @return the {@link CliBindingPlan} with the parsed values to {@link CliBindingPlan#bind() bind} if the given
+   *         {@link CliArgs} match this {@link #getCommand() command}, {@code null} otherwise.
+   */
+  public CliBindingPlan match(CliArgs args, CliConsole sessionConsole) {
+
     CliArgument argument = args.getFirst();
-    Set<String> mandatoryProperties = this.properties.stream().filter(p -> p.isMandatory())
-        .map(p -> p.getPropertyName()).collect(Collectors.toSet());
+    long missingMandatory = this.mandatoryMask;
+    BitSet missingMandatoryOverflow = null;
+    if (this.mandatoryOverflow != null) {
+      missingMandatoryOverflow = (BitSet) this.mandatoryOverflow.clone();
+    }
     ValueIndex valueIndex = new ValueIndex();
+    List<Binding> bindings = new ArrayList<>();
     while (argument != null) {
-      CliPropertyContainerImpl propertyInfo = findPropertyInfo(argument, valueIndex);
-      if (propertyInfo == null) {
-        String value = argument.get();
-        if (argument.isOption()) {
-          this.console.debug().logFormat("Undefined option %s for command %s", value,
-              this.command.getType().getSimpleName());
-        } else {
-          this.console.debug().logFormat("Too many values - value %s at position %s is undefined for command %s", value,
-              valueIndex.get(), this.command.getType().getSimpleName());
+      int slot = findSlot(argument, valueIndex);
+      if (slot < 0) {
+        if (sessionConsole.isEnabled(CliLogLevel.DEBUG)) {
+          String value = argument.get();
+          if (argument.isOption()) {
+            sessionConsole.debug().logFormat("Undefined option %s for command %s", value,
+                this.command.getType().getSimpleName());
+          } else {
+            sessionConsole.debug().logFormat("Too many values - value %s at position %s is undefined for command %s",
+                value, valueIndex.get(), this.command.getType().getSimpleName());
+          }
         }
-        return false;
+        return null;
+      }
+      CliPropertyContainerImpl propertyInfo = this.slots.get(slot);
+      WritableProperty<?> property = this.command.getRequiredProperty(propertyInfo.getPropertyName());
+      argument = planValue(property, argument, propertyInfo, bindings);
+      if (slot < Long.SIZE) {
+        missingMandatory &= ~(1L << slot);
+      } else if (missingMandatoryOverflow != null) {
+        missingMandatoryOverflow.clear(slot);
       }
-      String propertyName = propertyInfo.getPropertyName();
-      WritableProperty<?> property = this.command.getRequiredProperty(propertyName);
-      argument = setValue(property, argument, propertyInfo);
-      mandatoryProperties.remove(propertyName);
     }
-    return mandatoryProperties.isEmpty();
+    if ((missingMandatory != 0) || ((missingMandatoryOverflow != null) && !missingMandatoryOverflow.isEmpty())) {
+      return null;
+    }
+    return new CliBindingPlan(this, bindings);
   }
 
   private CliPropertyContainerImpl findPropertyInfo(CliArgument argument, ValueIndex valueIndex) {
 
-    CliPropertyContainerImpl propertyInfo = null;
+    int slot = findSlot(argument, valueIndex);
+    if (slot < 0) {
+      return null;
+    }
+    return this.slots.get(slot);
+  }
+
+  private int findSlot(CliArgument argument, ValueIndex valueIndex) {
+
+    int slot = -1;
     boolean option = argument.isOption();
     if (option) {
-      propertyInfo = getProperty(argument.get());
+      slot = getSlot(argument.get());
     }
-    if (propertyInfo == null) {
-      propertyInfo = getProperty(valueIndex.get());
-      if ((propertyInfo != null) && !propertyInfo.isWildcard()) {
-        if (option) {
-          propertyInfo = null;
-        } else {
-          List<String> aliases = propertyInfo.getAliases();
-          if ((aliases.size() > 1) && !aliases.contains(argument.get())) {
-            propertyInfo = null;
+    if (slot < 0) {
+      slot = getSlot(valueIndex.get());
+      if (slot >= 0) {
+        CliPropertyContainerImpl propertyInfo = this.slots.get(slot);
+        if (!propertyInfo.isWildcard()) {
+          if (option) {
+            return -1;
+          } else {
+            List<String> aliases = propertyInfo.getAliases();
+            if ((aliases.size() > 1) && !isAlias(propertyInfo, argument.getText())) {
+              return -1;
+            }
           }
         }
-      }
-      if (propertyInfo != null && !propertyInfo.isVararg()) {
-        valueIndex.next();
+        if (!propertyInfo.isVararg()) {
+          valueIndex.next();
+        }
       }
     }
-    return propertyInfo;
+    return slot;
   }
 
-  private CliArgument setValue(WritableProperty<?> property, CliArgument arg, CliPropertyContainerImpl propertyInfo) {
+  private CliArgument planValue(WritableProperty<?> property, CliArgument arg, CliPropertyContainerImpl propertyInfo,
+      List<Binding> bindings) {
 
     if (arg == null) {
       return null;
@@ -328,7 +523,7 @@ public class CliCommandContainerImpl extends AbstractCliCommandContainerGroup im
       if ((next != null) && next.isValue()) {
         value = (CliValue) next;
       } else if (property instanceof BooleanProperty) {
-        ((BooleanProperty) property).set(Boolean.TRUE);
+        bindings.add(new Binding(arg, propertyInfo, Boolean.TRUE, false));
         value = null;
       } else {
         throw new IllegalArgumentException("Option '" + arg.get() + "' has to be followed by a value of type "
@@ -338,50 +533,50 @@ public class CliCommandContainerImpl extends AbstractCliCommandContainerGroup im
       value = (CliValue) arg;
     }
     if (value != null) {
-      next = setValue(value, property, propertyInfo);
+      next = planValue(value, property, propertyInfo, bindings);
     }
     return next;
   }
 
-  private CliArgument setValue(CliValue value, WritableProperty<?> property, CliPropertyContainerImpl propertyInfo) {
+  private CliArgument planValue(CliValue value, WritableProperty<?> property, CliPropertyContainerImpl propertyInfo,
+      List<Binding> bindings) {
 
     if (property instanceof WritableSimpleProperty) {
-      String valueAsString = value.get();
       if (property instanceof BooleanProperty) {
         BooleanProperty booleanProperty = (BooleanProperty) property;
         CliArgument next = value;
         Boolean b = Boolean.TRUE;
-        if ((propertyInfo.getIndex() != -1) && propertyInfo.getAliases().contains(valueAsString)) {
+        if ((propertyInfo.getIndex() != -1) && isAlias(propertyInfo, value.getText())) {
           next = value.getNext();
         } else if ((value.getValueType() == CliValueType.OPTION_ASSIGNMENT)) {
-          b = booleanProperty.parse(valueAsString);
+          b = booleanProperty.parse(value.get());
           next = value.getNext();
         }
-        booleanProperty.set(b);
+        bindings.add(new Binding(value, propertyInfo, b, false));
         return next;
       }
-      ((WritableSimpleProperty<?>) property).setAsString(valueAsString);
+      Object parsedValue = ((WritableSimpleProperty<?>) property).parse(value.get());
+      bindings.add(new Binding(value, propertyInfo, parsedValue, false));
     } else if (property instanceof WritableCollectionProperty) {
       WritableCollectionProperty<?, ?> collectionProperty = (WritableCollectionProperty<?, ?>) property;
-      Collection<?> collection = collectionProperty.getOrCreate();
       WritableProperty<?> valueProperty = collectionProperty.getValueProperty();
       if (valueProperty instanceof WritableSimpleProperty) {
         WritableSimpleProperty<?> valueSimpleProperty = (WritableSimpleProperty<?>) valueProperty;
         CliValueType type = value.getValueType();
         String valueAsString = value.get();
         if (type == CliValueType.OPTION_ASSIGNMENT) {
-          addValueToCollection(collection, valueAsString, property, valueSimpleProperty);
+          planElement(value, valueAsString, property, propertyInfo, valueSimpleProperty, bindings);
         } else {
           if (propertyInfo.getIndex() == -1) {
             for (String item : valueAsString.split(",")) {
-              addValueToCollection(collection, item, property, valueSimpleProperty);
+              planElement(value, item, property, propertyInfo, valueSimpleProperty, bindings);
             }
           } else {
             boolean wildcard = propertyInfo.getAliases().contains(CliCommand.ALIAS_WILDCARD);
             CliArgument arg = value;
             while (arg != null) {
               if (wildcard || arg.isValue()) {
-                addValueToCollection(collection, arg.get(), property, valueSimpleProperty);
+                planElement(arg, arg.get(), property, propertyInfo, valueSimpleProperty, bindings);
               } else {
                 // TODO no further values are allowed from here...
                 break;
@@ -400,13 +595,22 @@ public class CliCommandContainerImpl extends AbstractCliCommandContainerGroup im
     return value.getNext();
   }
 
-  @SuppressWarnings({ "rawtypes", "unchecked" })
-  private void addValueToCollection(Collection collection, String valueAsString, WritableProperty<?> property,
-      WritableSimpleProperty<?> valueProperty) {
+  private static boolean isAlias(CliPropertyContainerImpl propertyInfo, CharSequence text) {
+
+    for (String alias : propertyInfo.getAliases()) {
+      if (alias.contentEquals(text)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void planElement(CliArgument arg, String valueAsString, WritableProperty<?> property,
+      CliPropertyContainerImpl propertyInfo, WritableSimpleProperty<?> valueProperty, List<Binding> bindings) {
 
     try {
       Object element = valueProperty.parse(valueAsString);
-      collection.add(element);
+      bindings.add(new Binding(arg, propertyInfo, element, true));
     } catch (UnsupportedOperationException e) {
       invalidProperty(property, valueProperty);
     } catch (Exception e) {
@@ -433,45 +637,47 @@ public class CliCommandContainerImpl extends AbstractCliCommandContainerGroup im
    * @param command the {@link CliCommand}.
    * @param console the {@link CliConsole} for logging.
    * @return the new {@link CliCommandContainerImpl} instance corresponding to the given {@link #getCommand() command}.
+   *         If {@link CliCommandMetadata} has been generated at build time for the command, it is used as is.
+   *         Otherwise the metadata is computed from the properties of the command and validated.
    */
   public static CliCommandContainerImpl of(CliCommand command, CliConsole console) {
 
     CliCommandContainerImpl commandContainer = new CliCommandContainerImpl(command, console);
+    CliCommandMetadata metadata = CliCommandMetadata.get(commandContainer.commandInterface);
+    if (metadata != null) {
+      commandContainer.addAll(metadata);
+      return commandContainer;
+    }
+    List<CliPropertyMetadata> properties = new ArrayList<>();
     for (WritableProperty<?> property : command.getProperties()) {
       CliPropertyContainerImpl propertyInfo = new CliPropertyContainerImpl(property, command, commandContainer.bundle);
       commandContainer.add(propertyInfo);
+      properties.add(propertyInfo.getMetadata());
     }
-    int i = 0;
-    boolean mandatory = true;
-    WritableContainerProperty<?, ?> vararg = null;
-    for (CliPropertyContainerImpl propertyContainer : commandContainer.getProperties()) {
-      if (propertyContainer.isOption()) {
-        continue;
-      }
-      String propertyName = propertyContainer.getPropertyName();
-      if (vararg != null) {
-        throw new IllegalStateException("Invalid value " + command.getType().getSimpleName() + "." + propertyName
-            + "() with index " + propertyContainer.getIndex() + " - no further value is allowed after vararg "
-            + vararg.getName() + "().");
-      }
-      if (propertyContainer.getIndex() != i) {
-        throw new IllegalStateException("Invalid value " + command.getType().getSimpleName() + "." + propertyName
-            + "() with index " + propertyContainer.getIndex() + " but expected index " + i
-            + " - please fix @PropertyAlias annotation.");
-      }
-      if (mandatory) {
-        mandatory = propertyContainer.isMandatory();
-      } else if (propertyContainer.isMandatory()) {
-        throw new IllegalStateException("Invalid value " + command.getType().getSimpleName() + "." + propertyName
-            + "() with index " + propertyContainer.getIndex() + " can not be mandatory if previous value is optional.");
-      }
-      WritableProperty<?> property = command.getRequiredProperty(propertyName);
-      if (property instanceof WritableContainerProperty) {
-        vararg = (WritableContainerProperty<?, ?>) property;
-      }
-      i++;
-    }
+    CliCommandMetadata.validate(command.getType().getSimpleName(), properties);
+    return commandContainer;
+  }
+
+  /**
+   * @param command the {@link CliCommand} created for the given {@link CliCommandDescriptor}.
+   * @param console the {@link CliConsole} for logging.
+   * @param descriptor the {@link CliCommandDescriptor} with the already validated
+   *        {@link CliCommandDescriptor#getMetadata() metadata}.
+   * @return the new {@link CliCommandContainerImpl} instance for the given {@link CliCommandDescriptor}.
+   */
+  static CliCommandContainerImpl of(CliCommand command, CliConsole console, CliCommandDescriptor descriptor) {
+
+    CliCommandContainerImpl commandContainer = new CliCommandContainerImpl(command, console);
+    commandContainer.descriptor = descriptor;
+    commandContainer.addAll(descriptor.getMetadata());
     return commandContainer;
   }
 
+  private void addAll(CliCommandMetadata metadata) {
+
+    for (CliPropertyMetadata property : metadata.getProperties()) {
+      add(new CliPropertyContainerImpl(property, this.bundle));
+    }
+  }
+
 }
@@ -0,0 +1,154 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container.impl;
+
+import java.util.List;
+
+import io.github.mmm.bean.BeanFactory;
+import io.github.mmm.cli.command.CliCommand;
+import io.github.mmm.cli.container.CliCommandMetadata;
+import io.github.mmm.cli.io.CliConsole;
+
+/**
+ * Lightweight descriptor of a registered {@link CliCommand}. It only holds the {@link #getCommandInterface() command
+ * interface} and its {@link #getMetadata() metadata} what is sufficient for the {@link CliDispatchIndex} to determine
+ * the candidates for given arguments. The {@link #getContainer() container} with the command bean, its
+ * {@link io.github.mmm.cli.CliBundle bundle} and {@link CliPropertyContainerImpl properties} is only created on first
+ * access (when the command is a dispatch candidate or for help and auto-completion).
+ *
+ * @since 1.0.0
+ */
+public final class CliCommandDescriptor extends AbstractCliCommandContainerGroup {
+
+  private final Class<? extends CliCommand> commandInterface;
+
+  private final CliCommandMetadata metadata;
+
+  private volatile CliCommandContainerImpl container;
+
+  /**
+   * The constructor for lazy registration.
+   *
+   * @param commandInterface the {@link Class} reflecting the {@link CliCommand} interface.
+   * @param console the {@link CliConsole}.
+   * @see CliCommandMetadata#of(Class)
+   */
+  public CliCommandDescriptor(Class<? extends CliCommand> commandInterface, CliConsole console) {
+
+    super(console);
+    this.commandInterface = commandInterface;
+    this.metadata = CliCommandMetadata.of(commandInterface);
+  }
+
+  /**
+   * The constructor for an already created {@link CliCommandContainerImpl}.
+   *
+   * @param container the {@link CliCommandContainerImpl}.
+   * @param metadata the {@link CliCommandMetadata}.
+   */
+  CliCommandDescriptor(CliCommandContainerImpl container, CliCommandMetadata metadata) {
+
+    super(container.console);
+    this.commandInterface = container.getCommandInterface();
+    this.metadata = metadata;
+    this.container = container;
+  }
+
+  /**
+   * @return the {@link Class} reflecting the {@link CliCommand} interface.
+   */
+  public Class<? extends CliCommand> getCommandInterface() {
+
+    return this.commandInterface;
+  }
+
+  /**
+   * @return the {@link CliCommandMetadata}.
+   */
+  public CliCommandMetadata getMetadata() {
+
+    return this.metadata;
+  }
+
+  /**
+   * @return {@code true} if the {@link #getContainer() container} has already been created, {@code false} otherwise.
+   */
+  public boolean isMaterialized() {
+
+    return (this.container != null);
+  }
+
+  /**
+   * @return the {@link CliCommandContainerImpl} for the {@link CliCommand}. Will be created on first access.
+   */
+  public CliCommandContainerImpl getContainer() {
+
+    CliCommandContainerImpl commandContainer = this.container;
+    if (commandContainer == null) {
+      synchronized (this) {
+        commandContainer = this.container;
+        if (commandContainer == null) {
+          CliCommand command = BeanFactory.get().create(this.commandInterface);
+          commandContainer = CliCommandContainerImpl.of(command, this.console, this);
+          this.container = commandContainer;
+        }
+      }
+    }
+    return commandContainer;
+  }
+
+  @Override
+  public String getName() {
+
+    return this.commandInterface.getName();
+  }
+
+  @Override
+  public int getCommandCount() {
+
+    return 1;
+  }
+
+  @Override
+  public CliCommandDescriptor getDescriptor(int i) {
+
+    if (i == 0) {
+      return this;
+    }
+    throw new IndexOutOfBoundsException(i);
+  }
+
+  @Override
+  public CliCommandContainerImpl getCommand(int i) {
+
+    if (i == 0) {
+      return getContainer();
+    }
+    throw new IndexOutOfBoundsException(i);
+  }
+
+  @Override
+  public CliCommandContainerImpl getCommand(CliCommand command) {
+
+    CliCommandContainerImpl commandContainer = this.container;
+    if (commandContainer != null) {
+      return commandContainer.getCommand(command);
+    } else if ((command != null) && (CliCommandContainerImpl.getCommandInterface(command) == this.commandInterface)) {
+      return getContainer();
+    }
+    return null;
+  }
+
+  @Override
+  public List<CliPropertyContainerImpl> getProperties() {
+
+    return getContainer().getProperties();
+  }
+
+  @Override
+  public String toString() {
+
+    return this.commandInterface.getSimpleName();
+  }
+
+}
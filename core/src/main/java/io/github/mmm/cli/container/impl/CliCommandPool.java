@@ -0,0 +1,132 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container.impl;
+
+import java.util.Collection;
+import java.util.Objects;
+
+import io.github.mmm.cli.command.CliCommand;
+import io.github.mmm.property.WritableProperty;
+import io.github.mmm.property.container.collection.WritableCollectionProperty;
+
+/**
+ * Pool of recyclable instances of a single {@link CliCommandContainerImpl#getCommand() command}. Instead of
+ * {@link CliCommandContainerImpl#newCommand() creating} a new bean for every invocation, an instance is
+ * {@link #acquire() acquired} from this pool and {@link #release(CliCommand) released} back when the invocation has
+ * completed. On release all properties are {@link #reset(CliCommand) reset} so the next invocation sees the same state
+ * as for a new instance. This avoids bean creation and garbage for REPL or daemon scenarios running many short
+ * commands.<br>
+ * <b>ATTENTION:</b> A released instance must not be used anymore (e.g. by a background task started by
+ * {@link CliCommand#run(io.github.mmm.cli.CliMain)}).
+ *
+ * @since 1.0.0
+ */
+public final class CliCommandPool {
+
+  /** The default {@link #getCapacity() capacity}. */
+  public static final int DEFAULT_CAPACITY = 16;
+
+  private final CliCommandContainerImpl container;
+
+  private final CliCommand[] instances;
+
+  /** {@link CliCommandContainerImpl#newCommand() New instance} that is never handed out to read initial values. */
+  private final CliCommand initial;
+
+  private int size;
+
+  /**
+   * The constructor.
+   *
+   * @param container the {@link CliCommandContainerImpl} of the pooled {@link CliCommand}s.
+   * @param capacity the {@link #getCapacity() capacity}.
+   */
+  public CliCommandPool(CliCommandContainerImpl container, int capacity) {
+
+    super();
+    Objects.requireNonNull(container, "container");
+    if (capacity < 0) {
+      throw new IllegalArgumentException(Integer.toString(capacity));
+    }
+    this.container = container;
+    this.instances = new CliCommand[capacity];
+    this.initial = container.newCommand();
+  }
+
+  /**
+   * @return the maximum number of idle instances kept in this pool. Instances {@link #release(CliCommand) released}
+   *         while the pool is full are discarded.
+   */
+  public int getCapacity() {
+
+    return this.instances.length;
+  }
+
+  /**
+   * @return the number of idle instances currently available in this pool.
+   */
+  public synchronized int getSize() {
+
+    return this.size;
+  }
+
+  /**
+   * @return an idle instance from this pool or a {@link CliCommandContainerImpl#newCommand() new instance} if the pool
+   *         is empty. In both cases no value is bound.
+   */
+  public CliCommand acquire() {
+
+    synchronized (this) {
+      if (this.size > 0) {
+        this.size--;
+        CliCommand command = this.instances[this.size];
+        this.instances[this.size] = null;
+        return command;
+      }
+    }
+    return this.container.newCommand();
+  }
+
+  /**
+   * @param command the {@link CliCommand} previously {@link #acquire() acquired} from this pool. Will be
+   *        {@link #reset(CliCommand) reset} and kept for reuse unless the pool is full.
+   */
+  public void release(CliCommand command) {
+
+    reset(command);
+    synchronized (this) {
+      if (this.size < this.instances.length) {
+        this.instances[this.size++] = command;
+      }
+    }
+  }
+
+  /**
+   * Resets all properties of the given {@link CliCommand} to the initial values of a
+   * {@link CliCommandContainerImpl#newCommand() new instance}. The collections of collection properties with an initial
+   * collection are cleared in place and refilled so they are reused rather than allocated again with each reuse. A
+   * collection property that was initially {@code null} is set to {@code null} again so a command can still detect that
+   * the option was not given.
+   *
+   * @param command the {@link CliCommand} to reset.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public void reset(CliCommand command) {
+
+    for (WritableProperty<?> property : command.getProperties()) {
+      Object value = property.get();
+      Object initialValue = this.initial.getRequiredProperty(property.getName()).get();
+      if (Objects.equals(value, initialValue)) {
+        continue;
+      }
+      if ((initialValue != null) && (value instanceof Collection) && (property instanceof WritableCollectionProperty)) {
+        Collection collection = (Collection) value;
+        collection.clear();
+        collection.addAll((Collection) initialValue);
+      } else {
+        ((WritableProperty) property).set(initialValue);
+      }
+    }
+  }
+
+}
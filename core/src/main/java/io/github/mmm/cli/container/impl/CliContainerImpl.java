@@ -1,13 +1,22 @@
 package io.github.mmm.cli.container.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import io.github.mmm.base.exception.DuplicateObjectException;
 import io.github.mmm.cli.CliAddCommand;
+import io.github.mmm.cli.CliBundle;
 import io.github.mmm.cli.CliMain;
+import io.github.mmm.cli.arg.CliArgs;
+import io.github.mmm.cli.arg.CliOptionSymbols;
 import io.github.mmm.cli.command.CliCommand;
 import io.github.mmm.cli.container.CliContainer;
 import io.github.mmm.cli.io.CliConsole;
@@ -23,6 +32,8 @@ public class CliContainerImpl implements CliContainer, CliAddCommand {
 
   private final Map<String, AbstractCliCommandContainerGroup> groups;
 
+  private volatile CliDispatchIndex dispatchIndex;
+
   /**
    * The constructor.
    *
@@ -81,6 +92,142 @@ public class CliContainerImpl implements CliContainer, CliAddCommand {
     return this.groups.values();
   }
 
+  /**
+   * @return the {@link CliDispatchIndex} for all {@link CliCommandContainerImpl commands} of this container. Will be
+   *         (re)built on demand if commands have been added in the meantime. Commands have to be registered before
+   *         concurrent invocations start, afterwards this method is thread-safe.
+   */
+  public CliDispatchIndex getDispatchIndex() {
+
+    int commandCount = 0;
+    for (AbstractCliCommandContainerGroup group : this.groups.values()) {
+      commandCount += group.getCommandCount();
+    }
+    CliDispatchIndex index = this.dispatchIndex;
+    if ((index == null) || (index.getCommandCount() != commandCount)) {
+      synchronized (this) {
+        index = this.dispatchIndex;
+        if ((index == null) || (index.getCommandCount() != commandCount)) {
+          index = new CliDispatchIndex(this.groups.values());
+          this.dispatchIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Starts to {@link CliBundle#preload(Executor) preload} the {@link CliBundle}s of all registered
+   * {@link CliCommandDescriptor commands} concurrently. This does not {@link CliCommandDescriptor#getContainer()
+   * materialize} lazily registered commands.
+   *
+   * @param executor the {@link Executor} to load the {@link CliBundle}s with (e.g. {@link ForkJoinPool#commonPool()}).
+   */
+  public void preloadBundles(Executor executor) {
+
+    for (AbstractCliCommandContainerGroup group : this.groups.values()) {
+      int commandCount = group.getCommandCount();
+      for (int i = 0; i < commandCount; i++) {
+        CliCommandDescriptor descriptor = group.getDescriptor(i);
+        CliBundle bundle;
+        if (descriptor.isMaterialized()) {
+          bundle = descriptor.getContainer().getBundle();
+        } else {
+          bundle = CliBundle.of(descriptor.getCommandInterface(), this.console);
+        }
+        bundle.preload(executor);
+      }
+    }
+  }
+
+  /**
+   * @return the {@link CliOptionSymbols} with the options of all {@link CliCommandContainerImpl commands} of this
+   *         container.
+   * @see CliArgs#CliArgs(CliOptionSymbols, String...)
+   */
+  public CliOptionSymbols getOptionSymbols() {
+
+    return getDispatchIndex().getOptionSymbols();
+  }
+
+  /**
+   * Determines the first {@link CliCommandContainerImpl command} in registration order that matches the given
+   * {@link CliArgs}. Only the {@link CliDispatchIndex#getCandidates(CliArgs) candidates} are
+   * {@link CliCommandContainerImpl#match(CliArgs) matched} and no property is modified.
+   *
+   * @param args the {@link CliArgs} to match.
+   * @param parallel - {@code true} to match the candidates in parallel, {@code false} otherwise (sequential). In
+   *        parallel mode the result is still the first match in registration order but remaining candidates are
+   *        cancelled as soon as that match has been determined.
+   * @return the {@link CliBindingPlan} of the first matching {@link CliCommandContainerImpl command} or {@code null}
+   *         if no command matches.
+   */
+  public CliBindingPlan match(CliArgs args, boolean parallel) {
+
+    return match(args, parallel, this.console);
+  }
+
+  /**
+   * Determines the first {@link CliCommandContainerImpl command} in registration order that matches the given
+   * {@link CliArgs}. Only the {@link CliDispatchIndex#getCandidates(CliArgs) candidates} are
+   * {@link CliCommandContainerImpl#match(CliArgs, CliConsole) matched} and no property is modified.
+   *
+   * @param args the {@link CliArgs} to match.
+   * @param parallel - {@code true} to match the candidates in parallel, {@code false} otherwise (sequential).
+   * @param sessionConsole the {@link CliConsole} of the current invocation (see
+   *        {@link io.github.mmm.cli.CliMain#console()}) used to log why candidates do not match.
+   * @return the {@link CliBindingPlan} of the first matching {@link CliCommandContainerImpl command} or {@code null}
+   *         if no command matches.
+   * @see #match(CliArgs, boolean)
+   */
+  public CliBindingPlan match(CliArgs args, boolean parallel, CliConsole sessionConsole) {
+
+    List<CliCommandContainerImpl> candidates = getDispatchIndex().getCandidates(args);
+    int size = candidates.size();
+    if (!parallel || (size < 2)) {
+      for (CliCommandContainerImpl commandContainer : candidates) {
+        CliBindingPlan plan = commandContainer.match(args, sessionConsole);
+        if (plan != null) {
+          return plan;
+        }
+      }
+      return null;
+    }
+    List<CompletableFuture<CliBindingPlan>> futures = new ArrayList<>(size);
+    for (CliCommandContainerImpl commandContainer : candidates) {
+      futures.add(CompletableFuture.supplyAsync(() -> commandContainer.match(args, sessionConsole),
+          ForkJoinPool.commonPool()));
+    }
+    try {
+      for (CompletableFuture<CliBindingPlan> future : futures) {
+        CliBindingPlan plan = join(future);
+        if (plan != null) {
+          return plan;
+        }
+      }
+      return null;
+    } finally {
+      for (CompletableFuture<CliBindingPlan> future : futures) {
+        future.cancel(false);
+      }
+    }
+  }
+
+  private static CliBindingPlan join(CompletableFuture<CliBindingPlan> future) {
+
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
   @Override
   public CliCommandContainerImpl getCommand(CliCommand command) {
 
@@ -102,4 +249,12 @@ public class CliContainerImpl implements CliContainer, CliAddCommand {
     return this;
   }
 
+  @Override
+  public CliAddCommand addLazy(Class<? extends CliCommand> commandInterface) {
+
+    Objects.requireNonNull(commandInterface, "commandInterface");
+    addGroup(new CliCommandDescriptor(commandInterface, this.console));
+    return this;
+  }
+
 }
@@ -0,0 +1,204 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container.impl;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.mmm.cli.arg.CliArgs;
+import io.github.mmm.cli.arg.CliArgument;
+import io.github.mmm.cli.arg.CliOption;
+import io.github.mmm.cli.arg.CliOptionSymbols;
+import io.github.mmm.cli.container.CliPropertyMetadata;
+
+/**
+ * Index to dispatch {@link CliArgs} to the {@link CliCommandContainerImpl commands} that can potentially match them.
+ * Instead of trial-binding every registered command, this index is built once from the keyword aliases and the
+ * mandatory options of each command. For given {@link CliArgs} it determines the candidates in a single pass over the
+ * arguments. The candidates are returned in registration order so the first matching candidate is the same command
+ * that would have been found by trying all commands in order. The index is built from the
+ * {@link CliCommandDescriptor#getMetadata() metadata} only so {@link CliCommandDescriptor#getContainer() containers}
+ * of lazily registered commands are only created for the candidates.
+ *
+ * @since 1.0.0
+ */
+public class CliDispatchIndex {
+
+  private final Entry[] entries;
+
+  private final Map<String, List<Entry>> anchorMap;
+
+  private final BitSet unanchored;
+
+  private final CliOptionSymbols optionSymbols;
+
+  /**
+   * The constructor.
+   *
+   * @param groups the {@link AbstractCliCommandContainerGroup groups} with the {@link CliCommandContainerImpl commands}
+   *        to index in registration order.
+   */
+  public CliDispatchIndex(Collection<? extends AbstractCliCommandContainerGroup> groups) {
+
+    super();
+    List<Entry> entryList = new ArrayList<>();
+    for (AbstractCliCommandContainerGroup group : groups) {
+      int commandCount = group.getCommandCount();
+      for (int i = 0; i < commandCount; i++) {
+        entryList.add(new Entry(group.getDescriptor(i), entryList.size()));
+      }
+    }
+    this.entries = entryList.toArray(new Entry[entryList.size()]);
+    this.anchorMap = new HashMap<>();
+    this.unanchored = new BitSet(this.entries.length);
+    Set<String> options = new HashSet<>();
+    for (Entry entry : this.entries) {
+      for (CliPropertyMetadata property : entry.command.getMetadata().getProperties()) {
+        if (property.isOption()) {
+          for (String alias : property.getAliases()) {
+            if (alias.startsWith("-")) {
+              options.add(alias);
+            }
+          }
+        }
+      }
+      List<String> anchor = entry.getAnchor();
+      if (anchor == null) {
+        this.unanchored.set(entry.ordinal);
+      } else {
+        for (String token : anchor) {
+          this.anchorMap.computeIfAbsent(token, t -> new ArrayList<>()).add(entry);
+        }
+      }
+    }
+    this.optionSymbols = CliOptionSymbols.of(options);
+  }
+
+  /**
+   * @return the total number of indexed {@link CliCommandContainerImpl commands}.
+   */
+  public int getCommandCount() {
+
+    return this.entries.length;
+  }
+
+  /**
+   * @return the {@link CliOptionSymbols} with the options of all indexed {@link CliCommandContainerImpl commands}.
+   */
+  public CliOptionSymbols getOptionSymbols() {
+
+    return this.optionSymbols;
+  }
+
+  /**
+   * @param args the {@link CliArgs} to dispatch.
+   * @return the {@link List} of {@link CliCommandContainerImpl commands} in registration order that can potentially
+   *         {@link CliCommandContainerImpl#bindCommandArguments(CliArgs) match} the given {@link CliArgs}. All other
+   *         commands are guaranteed not to match.
+   */
+  public List<CliCommandContainerImpl> getCandidates(CliArgs args) {
+
+    BitSet candidates = (BitSet) this.unanchored.clone();
+    int size = args.getSize();
+    for (int i = 0; i < size; i++) {
+      CliArgument argument = args.get(i);
+      if ((i > 0) && isAssignment(args.get(i - 1))) {
+        // the value split from "--key=value" is never a keyword or option and shall not be turned into a String
+        // (subsequent values also have the type OPTION_ASSIGNMENT but may be keywords)
+        continue;
+      }
+      List<Entry> anchored = this.anchorMap.get(argument.get());
+      if (anchored != null) {
+        for (Entry entry : anchored) {
+          candidates.set(entry.ordinal);
+        }
+      }
+    }
+    if (candidates.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<CliCommandContainerImpl> result = new ArrayList<>(candidates.cardinality());
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      Entry entry = this.entries[i];
+      if (entry.accepts(args)) {
+        result.add(entry.command.getContainer());
+      }
+    }
+    return result;
+  }
+
+  private static boolean isAssignment(CliArgument argument) {
+
+    return argument.isOption() && ((CliOption) argument).isAssignment();
+  }
+
+  private static class Entry {
+
+    private final CliCommandDescriptor command;
+
+    private final int ordinal;
+
+    private final List<String> keywords;
+
+    private final List<List<String>> mandatoryOptions;
+
+    private Entry(CliCommandDescriptor command, int ordinal) {
+
+      super();
+      this.command = command;
+      this.ordinal = ordinal;
+      List<String> keywordAliases = null;
+      List<List<String>> options = new ArrayList<>();
+      for (CliPropertyMetadata property : command.getMetadata().getProperties()) {
+        if (property.isWildcard()) {
+          continue;
+        }
+        if (property.isKeyword() && (property.getIndex() == 0)) {
+          keywordAliases = property.getAliases();
+        } else if (property.isOption() && property.isMandatory() && (property.getIndex() == -1)) {
+          options.add(property.getAliases());
+        }
+      }
+      this.keywords = keywordAliases;
+      this.mandatoryOptions = options;
+    }
+
+    /**
+     * @return the tokens where at least one has to be present in the arguments for this command to match or
+     *         {@code null} if this command has no such requirement.
+     */
+    private List<String> getAnchor() {
+
+      if (this.keywords != null) {
+        return this.keywords;
+      } else if (!this.mandatoryOptions.isEmpty()) {
+        return this.mandatoryOptions.get(0);
+      }
+      return null;
+    }
+
+    private boolean accepts(CliArgs args) {
+
+      for (List<String> options : this.mandatoryOptions) {
+        if (args.getOption(false, options) == null) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public String toString() {
+
+      return this.command.toString();
+    }
+  }
+
+}
@@ -6,15 +6,14 @@ import java.util.Collections;
 import java.util.List;
 import java.util.ResourceBundle;
 
-import io.github.mmm.base.text.CaseSyntax;
 import io.github.mmm.cli.CliBundle;
 import io.github.mmm.cli.arg.CliValue;
 import io.github.mmm.cli.command.CliCommand;
 import io.github.mmm.cli.container.CliPropertyContainer;
+import io.github.mmm.cli.container.CliPropertyMetadata;
 import io.github.mmm.property.ReadableProperty;
 import io.github.mmm.property.WritableProperty;
 import io.github.mmm.property.booleans.BooleanProperty;
-import io.github.mmm.property.container.ReadableContainerProperty;
 import io.github.mmm.property.container.WritableContainerProperty;
 
 /**
@@ -24,29 +23,11 @@ import io.github.mmm.property.container.WritableContainerProperty;
  */
 public final class CliPropertyContainerImpl implements CliPropertyContainer, Comparable<CliPropertyContainerImpl> {
 
-  private final String propertyName;
+  private final CliPropertyMetadata metadata;
 
-  private final String syntax;
+  private final CliBundle bundle;
 
-  private final String usage;
-
-  private final String help;
-
-  private final List<String> aliases;
-
-  private final int index;
-
-  private final boolean mandatory;
-
-  private final boolean option;
-
-  private final boolean value;
-
-  private final boolean flag;
-
-  private final boolean vararg;
-
-  private final boolean wildcard;
+  private String help;
 
   /**
    * The constructor.
@@ -81,19 +62,8 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   public CliPropertyContainerImpl(String propertyName, String syntax, String usage, String help, boolean mandatory,
       boolean option, boolean flag, boolean value, int index) {
 
-    super();
-    this.propertyName = propertyName;
-    this.syntax = syntax;
-    this.usage = usage;
-    this.help = help;
-    this.index = index;
-    this.mandatory = mandatory;
-    this.option = option;
-    this.value = value;
-    this.flag = flag;
-    this.aliases = Collections.emptyList();
-    this.vararg = false;
-    this.wildcard = false;
+    this(new CliPropertyMetadata(propertyName, Collections.emptyList(), syntax, usage, index, mandatory, option, flag,
+        value, false, false), help);
   }
 
   /**
@@ -105,100 +75,44 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
    */
   public CliPropertyContainerImpl(WritableProperty<?> property, CliCommand command, CliBundle bundle) {
 
+    this(CliPropertyMetadata.of(property.getName(), property.getQualifiedName(),
+        command.getAliases().getAliases(property.getName()), property.isMandatory(),
+        (property instanceof BooleanProperty), (property instanceof WritableContainerProperty)), bundle);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param metadata the {@link CliPropertyMetadata} computed at runtime or precomputed at build time.
+   * @param bundle the {@link CliBundle} to get the {@link #getHelp() help} from. It is only read when the
+   *        {@link #getHelp() help} is needed.
+   */
+  public CliPropertyContainerImpl(CliPropertyMetadata metadata, CliBundle bundle) {
+
     super();
-    this.propertyName = property.getName();
-    this.flag = (property instanceof BooleanProperty);
-    this.aliases = command.getAliases().getAliases(this.propertyName);
-    String defaultName = null;
-    StringBuilder sb = new StringBuilder();
-    char separator = 0;
-    int i = -1;
-    boolean isOption = false;
-    boolean isVararg = (property instanceof WritableContainerProperty);
-    boolean isWildcard = false;
-    boolean isValue = true;
-    for (String alias : this.aliases) {
-      if (isIndex(alias)) {
-        i = Integer.parseInt(alias);
-        continue;
-      } else {
-        if (CliCommand.ALIAS_WILDCARD.equals(alias)) {
-          isWildcard = true;
-        } else {
-          isValue = false;
-          if (alias.startsWith("-")) {
-            isOption = true;
-          }
-        }
-      }
-      if ((defaultName == null) || !defaultName.startsWith("--")) {
-        defaultName = alias;
-      }
-      if (separator == 0) {
-        separator = '|';
-      } else {
-        sb.append(separator);
-      }
-      sb.append(alias);
-    }
-    if (sb.length() == 0) {
-      sb.append(CaseSyntax.UNCAPITALIZED.convert(this.propertyName));
-    }
-    this.index = i;
-    if (isOption && isWildcard) {
-      throw new IllegalStateException(
-          "Invalid property " + property.getQualifiedName() + " - option may not be a wildcard (use * as alias).");
-    }
-    this.option = isOption;
-    this.value = isValue;
-    this.vararg = isVararg;
-    this.wildcard = isWildcard;
-    this.syntax = sb.toString();
-    sb.setLength(0);
-    this.mandatory = property.isMandatory();
-    if (!this.mandatory) {
-      sb.append('[');
-    }
-    if (this.value) {
-      sb.append('<');
-    }
-    sb.append(this.syntax);
-    if (this.value) {
-      sb.append('>');
-    }
-    if (this.option && !this.flag) {
-      sb.append(" <");
-      String valueName;
-      if ((defaultName == null) || !defaultName.startsWith("--")) {
-        valueName = "value";
-      } else {
-        valueName = defaultName.substring(2);
-      }
-      sb.append(valueName);
-      sb.append('>');
-      if (property instanceof ReadableContainerProperty) {
-        sb.append("...");
-      }
-    }
-    if (!this.mandatory) {
-      sb.append(']');
-    }
-    this.usage = sb.toString();
-    String fallback = null;
-    if (this.flag && this.mandatory) {
-      fallback = "";
-    }
-    this.help = bundle.get(this.propertyName, fallback);
+    this.metadata = metadata;
+    this.bundle = bundle;
+  }
+
+  private CliPropertyContainerImpl(CliPropertyMetadata metadata, String help) {
+
+    super();
+    this.metadata = metadata;
+    this.bundle = null;
+    this.help = help;
   }
 
   static boolean isIndex(String alias) {
 
-    return (alias.length() == 1) && isDigit(alias.charAt(0));
+    return CliPropertyMetadata.isIndex(alias);
   }
 
-  static boolean isDigit(char c) {
+  /**
+   * @return the {@link CliPropertyMetadata}.
+   */
+  public CliPropertyMetadata getMetadata() {
 
-    return (c >= '0') && (c <= '9');
+    return this.metadata;
   }
 
   /**
@@ -207,7 +121,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public String getPropertyName() {
 
-    return this.propertyName;
+    return this.metadata.getPropertyName();
   }
 
   /**
@@ -216,7 +130,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public String getSyntax() {
 
-    return this.syntax;
+    return this.metadata.getSyntax();
   }
 
   /**
@@ -225,7 +139,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public String getUsage() {
 
-    return this.usage;
+    return this.metadata.getUsage();
   }
 
   /**
@@ -234,6 +148,13 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public String getHelp() {
 
+    if ((this.help == null) && (this.bundle != null)) {
+      String fallback = null;
+      if (this.metadata.isFlag() && this.metadata.isMandatory()) {
+        fallback = "";
+      }
+      this.help = this.bundle.get(this.metadata.getPropertyName(), fallback);
+    }
     return this.help;
   }
 
@@ -243,7 +164,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public List<String> getAliases() {
 
-    return this.aliases;
+    return this.metadata.getAliases();
   }
 
   /**
@@ -252,7 +173,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public int getIndex() {
 
-    return this.index;
+    return this.metadata.getIndex();
   }
 
   /**
@@ -261,7 +182,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public boolean hasIndex() {
 
-    return (this.index != -1);
+    return (this.metadata.getIndex() != -1);
   }
 
   /**
@@ -270,7 +191,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public boolean isMandatory() {
 
-    return this.mandatory;
+    return this.metadata.isMandatory();
   }
 
   /**
@@ -279,7 +200,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public boolean isOption() {
 
-    return this.option;
+    return this.metadata.isOption();
   }
 
   /**
@@ -289,7 +210,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public boolean isValue() {
 
-    return this.value;
+    return this.metadata.isValue();
   }
 
   /**
@@ -298,7 +219,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public boolean isFlag() {
 
-    return this.flag;
+    return this.metadata.isFlag();
   }
 
   /**
@@ -307,7 +228,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public boolean isWildcard() {
 
-    return this.wildcard;
+    return this.metadata.isWildcard();
   }
 
   /**
@@ -316,7 +237,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public boolean isVararg() {
 
-    return this.vararg;
+    return this.metadata.isVararg();
   }
 
   /**
@@ -326,7 +247,7 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
   @Override
   public boolean isKeyword() {
 
-    return !this.option && this.mandatory && !this.value && this.flag;
+    return this.metadata.isKeyword();
   }
 
   @Override
@@ -335,49 +256,13 @@ public final class CliPropertyContainerImpl implements CliPropertyContainer, Com
     if (o == null) {
       return -1;
     }
-    // 1. mandatory keywords ordered by index
-    // 2. mandatory options ordered by syntax
-    // 3. additional options ordered by syntax
-    // 4. values ordered by index
-    int result = 0;
-    int cmpMandatory = this.mandatory ? -1 : 1;
-    if (this.mandatory != o.mandatory) {
-      result = cmpMandatory;
-    }
-    if (this.index != o.index) {
-      if ((this.index == -1) || (o.index == -1)) {
-        if (isKeyword()) {
-          return -1;
-        } else if (o.isKeyword()) {
-          return 1;
-        } else if (this.value && o.option) {
-          return 1;
-        } else if (this.option && o.value) {
-          return -1;
-        } else if (result == 0) {
-          return 1;
-        } else {
-          return cmpMandatory;
-        }
-      } else {
-        return (this.index > o.index) ? 1 : -1;
-      }
-    }
-    if (result == 0)
-
-    {
-      result = this.syntax.compareTo(o.syntax);
-    }
-    return result;
+    return this.metadata.compareTo(o.metadata);
   }
 
   @Override
   public String toString() {
 
-    if (this.index >= 0) {
-      return this.usage + " #" + this.index;
-    }
-    return this.usage;
+    return this.metadata.toString();
   }
 
 }
@@ -0,0 +1,300 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.daemon;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.github.mmm.cli.CliMain;
+
+/**
+ * Daemon to serve many invocations of a {@link CliMain CLI program} from a single warm JVM. It listens on a Unix domain
+ * socket for connections from a {@link CliDaemonClient}. For every connection it receives the command-line arguments,
+ * environment and working directory of the client process as a {@link CliDaemonRequest}, runs it with the
+ * {@link CliDaemonRequest#getConsole() console of the request} and sends the output and exit code back to the client.
+ * This way the JVM startup, class-loading and JIT warm-up is only paid once instead of for every invocation. The
+ * {@link CliMain} is either
+ * <ul>
+ * <li>shared by all requests that then run concurrently as
+ * {@link CliMain#run(io.github.mmm.cli.io.CliConsole, String...) sessions} on the same command metadata (see
+ * {@link #CliDaemon(Path, CliMain)}) or</li>
+ * <li>created for each request via a factory (see {@link #CliDaemon(Path, Function)}).</li>
+ * </ul>
+ * Access to the daemon is controlled by the file permissions of the socket file.
+ *
+ * <pre>
+ * try (CliDaemon daemon = new CliDaemon(socket, new MyProgram())) {
+ *   daemon.run();
+ * }
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public class CliDaemon implements AutoCloseable {
+
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+  private final Path socket;
+
+  private final Function<CliDaemonRequest, ? extends CliMain> factory;
+
+  private final CliMain main;
+
+  private final ExecutorService executor;
+
+  private ServerSocketChannel server;
+
+  /**
+   * The constructor.
+   *
+   * @param socket the {@link #getSocket() socket}.
+   * @param factory the {@link Function} to create the {@link CliMain} for each {@link CliDaemonRequest}.
+   */
+  public CliDaemon(Path socket, Function<CliDaemonRequest, ? extends CliMain> factory) {
+
+    this(socket, factory, Executors.newCachedThreadPool(CliDaemon::newThread));
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param socket the {@link #getSocket() socket}.
+   * @param factory the {@link Function} to create the {@link CliMain} for each {@link CliDaemonRequest}.
+   * @param executor the {@link ExecutorService} to serve the connections. Will be shut down on {@link #close()}.
+   */
+  public CliDaemon(Path socket, Function<CliDaemonRequest, ? extends CliMain> factory, ExecutorService executor) {
+
+    this(socket, Objects.requireNonNull(factory, "factory"), null, executor);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param socket the {@link #getSocket() socket}.
+   * @param main the {@link CliMain} shared by all {@link CliDaemonRequest requests}.
+   */
+  public CliDaemon(Path socket, CliMain main) {
+
+    this(socket, main, Executors.newCachedThreadPool(CliDaemon::newThread));
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param socket the {@link #getSocket() socket}.
+   * @param main the {@link CliMain} shared by all {@link CliDaemonRequest requests}.
+   * @param executor the {@link ExecutorService} to serve the connections. Will be shut down on {@link #close()}.
+   */
+  public CliDaemon(Path socket, CliMain main, ExecutorService executor) {
+
+    this(socket, null, Objects.requireNonNull(main, "main"), executor);
+  }
+
+  private CliDaemon(Path socket, Function<CliDaemonRequest, ? extends CliMain> factory, CliMain main,
+      ExecutorService executor) {
+
+    super();
+    Objects.requireNonNull(socket, "socket");
+    Objects.requireNonNull(executor, "executor");
+    this.socket = socket;
+    this.factory = factory;
+    this.main = main;
+    this.executor = executor;
+  }
+
+  private static Thread newThread(Runnable runnable) {
+
+    Thread thread = new Thread(runnable, "cli-daemon-" + THREAD_COUNT.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  /**
+   * @return the {@link Path} of the Unix domain socket file.
+   */
+  public Path getSocket() {
+
+    return this.socket;
+  }
+
+  /**
+   * Binds the {@link #getSocket() socket} so {@link CliDaemonClient clients} can connect. A stale socket file (e.g.
+   * from a daemon that has been killed) is replaced. Has no effect if already bound.
+   *
+   * @throws IOException on I/O error.
+   */
+  public synchronized void bind() throws IOException {
+
+    if (this.server == null) {
+      Files.deleteIfExists(this.socket);
+      ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+      try {
+        channel.bind(UnixDomainSocketAddress.of(this.socket));
+      } catch (IOException | RuntimeException e) {
+        channel.close();
+        throw e;
+      }
+      this.server = channel;
+    }
+  }
+
+  /**
+   * {@link #bind() Binds} the {@link #getSocket() socket} and accepts connections until this daemon is
+   * {@link #close() closed}. Blocks the calling thread.
+   *
+   * @throws IOException on I/O error.
+   */
+  public void run() throws IOException {
+
+    bind();
+    ServerSocketChannel channel = this.server;
+    while (channel.isOpen()) {
+      SocketChannel connection;
+      try {
+        connection = channel.accept();
+      } catch (ClosedChannelException e) {
+        break;
+      }
+      this.executor.execute(() -> serve(connection));
+    }
+  }
+
+  /**
+   * {@link #bind() Binds} the {@link #getSocket() socket} and {@link #run() accepts connections} in a background
+   * thread.
+   *
+   * @throws IOException on I/O error.
+   */
+  public void start() throws IOException {
+
+    bind();
+    Thread acceptor = newThread(() -> {
+      try {
+        run();
+      } catch (IOException e) {
+        throw new IllegalStateException("Daemon failed on " + this.socket, e);
+      }
+    });
+    acceptor.start();
+  }
+
+  /**
+   * Serves a single connection from a {@link CliDaemonClient}.
+   *
+   * @param connection the {@link SocketChannel} connected to the client.
+   */
+  protected void serve(SocketChannel connection) {
+
+    try (CliDaemonChannel channel = new CliDaemonChannel(connection)) {
+      List<String> args = new ArrayList<>();
+      Map<String, String> environment = new HashMap<>();
+      Path workingDirectory = null;
+      int type = channel.read();
+      while (type != CliDaemonChannel.START) {
+        if (type < 0) {
+          return;
+        } else if (type == CliDaemonChannel.ARG) {
+          args.add(channel.getPayloadAsString());
+        } else if (type == CliDaemonChannel.ENV) {
+          String variable = channel.getPayloadAsString();
+          int equalsIndex = variable.indexOf('=');
+          if (equalsIndex > 0) {
+            environment.put(variable.substring(0, equalsIndex), variable.substring(equalsIndex + 1));
+          }
+        } else if (type == CliDaemonChannel.CWD) {
+          workingDirectory = Path.of(channel.getPayloadAsString());
+        }
+        type = channel.read();
+      }
+      if (workingDirectory == null) {
+        workingDirectory = Path.of("").toAbsolutePath();
+      }
+      PipedInputStream stdIn = new PipedInputStream(8192);
+      PipedOutputStream stdInPipe = new PipedOutputStream(stdIn);
+      newThread(() -> pumpStdIn(channel, stdInPipe)).start();
+      PrintStream stdOut = new PrintStream(new BufferedOutputStream(channel.openStream(CliDaemonChannel.STDOUT)),
+          false, StandardCharsets.UTF_8);
+      PrintStream stdErr = new PrintStream(new BufferedOutputStream(channel.openStream(CliDaemonChannel.STDERR)),
+          false, StandardCharsets.UTF_8);
+      CliDaemonRequest request = new CliDaemonRequest(args.toArray(new String[args.size()]), environment,
+          workingDirectory, stdIn, stdOut, stdErr);
+      int exitCode = run(request);
+      stdOut.flush();
+      stdErr.flush();
+      stdIn.close();
+      channel.write(CliDaemonChannel.EXIT, exitCode);
+    } catch (IOException e) {
+      // client disconnected - nobody left to report to
+    }
+  }
+
+  /**
+   * @param request the {@link CliDaemonRequest} to run.
+   * @return the {@link System#exit(int) exit code}.
+   */
+  protected int run(CliDaemonRequest request) {
+
+    try {
+      int exitCode;
+      if (this.main == null) {
+        CliMain requestMain = this.factory.apply(request);
+        exitCode = requestMain.run(request.getArgs());
+      } else {
+        exitCode = this.main.run(request.getConsole(), request.getArgs());
+      }
+      request.getConsole().flush();
+      return exitCode;
+    } catch (RuntimeException e) {
+      e.printStackTrace(request.getStdErr());
+      return -1;
+    }
+  }
+
+  private static void pumpStdIn(CliDaemonChannel channel, PipedOutputStream stdInPipe) {
+
+    try (PipedOutputStream pipe = stdInPipe) {
+      while ((channel.read() == CliDaemonChannel.STDIN) && (channel.getLength() > 0)) {
+        pipe.write(channel.getPayload(), 0, channel.getLength());
+        pipe.flush();
+      }
+    } catch (IOException e) {
+      // end of input, client disconnected or request completed without reading all input
+    }
+  }
+
+  /**
+   * Stops accepting new connections, shuts down the {@link ExecutorService} and deletes the {@link #getSocket() socket}
+   * file. Requests currently served are completed.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+
+    this.executor.shutdown();
+    if (this.server != null) {
+      this.server.close();
+      this.server = null;
+      Files.deleteIfExists(this.socket);
+    }
+  }
+
+}
@@ -0,0 +1,219 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Wrapper for the {@link SocketChannel} between {@link CliDaemon} and {@link CliDaemonClient} that reads and writes
+ * frames. A frame consists of a single byte for the type, four bytes for the length of the payload followed by the
+ * payload itself. Writing is synchronized so frames of different streams (e.g. standard out and standard error) may
+ * be written from different threads.
+ */
+final class CliDaemonChannel implements AutoCloseable {
+
+  /** Frame with a command-line argument (client to daemon). */
+  static final int ARG = 1;
+
+  /** Frame with an environment variable as {@code name=value} (client to daemon). */
+  static final int ENV = 2;
+
+  /** Frame with the current working directory (client to daemon). */
+  static final int CWD = 3;
+
+  /** Frame to start the invocation after all {@link #ARG}, {@link #ENV} and {@link #CWD} frames (client to daemon). */
+  static final int START = 4;
+
+  /** Frame with data from standard input. An empty payload indicates the end of input (client to daemon). */
+  static final int STDIN = 5;
+
+  /** Frame with data for standard output (daemon to client). */
+  static final int STDOUT = 6;
+
+  /** Frame with data for standard error (daemon to client). */
+  static final int STDERR = 7;
+
+  /** Frame with the exit code as payload ending the invocation (daemon to client). */
+  static final int EXIT = 8;
+
+  private static final int HEADER_SIZE = 5;
+
+  private final SocketChannel channel;
+
+  private final DataInputStream in;
+
+  private final ByteBuffer header;
+
+  private int type;
+
+  private byte[] payload;
+
+  private int length;
+
+  /**
+   * The constructor.
+   *
+   * @param channel the connected {@link SocketChannel}.
+   */
+  CliDaemonChannel(SocketChannel channel) {
+
+    super();
+    this.channel = channel;
+    this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+    this.header = ByteBuffer.allocate(HEADER_SIZE);
+    this.payload = new byte[256];
+  }
+
+  /**
+   * Reads the next frame. Not thread-safe, only a single thread shall read.
+   *
+   * @return the type of the frame read or {@code -1} if the channel has been closed.
+   * @throws IOException on I/O error.
+   */
+  int read() throws IOException {
+
+    int frameType = this.in.read();
+    if (frameType < 0) {
+      this.type = -1;
+      this.length = 0;
+      return -1;
+    }
+    int frameLength;
+    try {
+      frameLength = this.in.readInt();
+    } catch (EOFException e) {
+      throw new IOException("Truncated frame", e);
+    }
+    if (frameLength < 0) {
+      throw new IOException("Invalid frame length " + frameLength);
+    }
+    if (frameLength > this.payload.length) {
+      this.payload = new byte[frameLength];
+    }
+    this.in.readFully(this.payload, 0, frameLength);
+    this.type = frameType;
+    this.length = frameLength;
+    return frameType;
+  }
+
+  /**
+   * @return the type of the frame last {@link #read() read}.
+   */
+  int getType() {
+
+    return this.type;
+  }
+
+  /**
+   * @return the buffer with the payload of the frame last {@link #read() read}. Only the first
+   *         {@link #getLength() length} bytes are valid.
+   */
+  byte[] getPayload() {
+
+    return this.payload;
+  }
+
+  /**
+   * @return the length of the payload of the frame last {@link #read() read}.
+   */
+  int getLength() {
+
+    return this.length;
+  }
+
+  /**
+   * @return the payload of the frame last {@link #read() read} as UTF-8 {@link String}.
+   */
+  String getPayloadAsString() {
+
+    return new String(this.payload, 0, this.length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return the payload of the frame last {@link #read() read} as {@code int}.
+   */
+  int getPayloadAsInt() {
+
+    return ByteBuffer.wrap(this.payload, 0, this.length).getInt();
+  }
+
+  /**
+   * @param frameType the type of the frame.
+   * @param data the buffer with the payload.
+   * @param offset the index of the first byte in {@code data} to write.
+   * @param size the number of bytes from {@code data} to write.
+   * @throws IOException on I/O error.
+   */
+  synchronized void write(int frameType, byte[] data, int offset, int size) throws IOException {
+
+    this.header.clear();
+    this.header.put((byte) frameType);
+    this.header.putInt(size);
+    this.header.flip();
+    ByteBuffer body = ByteBuffer.wrap(data, offset, size);
+    while (this.header.hasRemaining() || body.hasRemaining()) {
+      this.channel.write(new ByteBuffer[] { this.header, body });
+    }
+  }
+
+  /**
+   * @param frameType the type of the frame.
+   * @param value the payload to write as UTF-8.
+   * @throws IOException on I/O error.
+   */
+  void write(int frameType, String value) throws IOException {
+
+    byte[] data = value.getBytes(StandardCharsets.UTF_8);
+    write(frameType, data, 0, data.length);
+  }
+
+  /**
+   * @param frameType the type of the frame.
+   * @param value the payload to write as {@code int}.
+   * @throws IOException on I/O error.
+   */
+  void write(int frameType, int value) throws IOException {
+
+    byte[] data = ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+    write(frameType, data, 0, data.length);
+  }
+
+  /**
+   * @param frameType the type of the frames to write.
+   * @return an {@link OutputStream} that writes all data as frames of the given type.
+   */
+  OutputStream openStream(int frameType) {
+
+    return new OutputStream() {
+
+      @Override
+      public void write(int b) throws IOException {
+
+        write(new byte[] { (byte) b }, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+
+        if (len > 0) {
+          CliDaemonChannel.this.write(frameType, b, off, len);
+        }
+      }
+    };
+  }
+
+  @Override
+  public void close() throws IOException {
+
+    this.channel.close();
+  }
+
+}
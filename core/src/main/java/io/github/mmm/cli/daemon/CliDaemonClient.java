@@ -0,0 +1,145 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.daemon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Thin client for a {@link CliDaemon}. It forwards the command-line arguments, environment, working directory and
+ * standard input of the current process to the daemon and writes the output received from the daemon to its own
+ * standard output and standard error until the daemon sends the exit code. Since it does not load any CLI program
+ * it starts fast and can be used as {@link #main(String[]) main} program in a launcher script:
+ *
+ * <pre>
+ * java -cp mmm-cli.jar io.github.mmm.cli.daemon.CliDaemonClient /run/user/1000/my-program.sock "$@"
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public class CliDaemonClient {
+
+  private static final int STDIN_BUFFER_SIZE = 8192;
+
+  private final Path socket;
+
+  /**
+   * The constructor.
+   *
+   * @param socket the {@link Path} of the Unix domain socket file of the {@link CliDaemon}.
+   */
+  public CliDaemonClient(Path socket) {
+
+    super();
+    this.socket = socket;
+  }
+
+  /**
+   * Runs the given arguments in the {@link CliDaemon} with the environment, working directory and standard streams of
+   * the current process.
+   *
+   * @param args the command-line arguments.
+   * @return the {@link System#exit(int) exit code}.
+   * @throws IOException on I/O error, e.g. if no {@link CliDaemon} is listening on the socket.
+   */
+  public int run(String... args) throws IOException {
+
+    return run(args, System.getenv(), Path.of("").toAbsolutePath(), System.in, System.out, System.err);
+  }
+
+  /**
+   * Runs the given arguments in the {@link CliDaemon}.
+   *
+   * @param args the command-line arguments.
+   * @param environment the environment variables.
+   * @param workingDirectory the current working directory.
+   * @param stdIn the {@link InputStream} to forward as standard input.
+   * @param stdOut the {@link OutputStream} to write the standard output to.
+   * @param stdErr the {@link OutputStream} to write the standard error to.
+   * @return the {@link System#exit(int) exit code}.
+   * @throws IOException on I/O error, e.g. if no {@link CliDaemon} is listening on the socket.
+   */
+  public int run(String[] args, Map<String, String> environment, Path workingDirectory, InputStream stdIn,
+      OutputStream stdOut, OutputStream stdErr) throws IOException {
+
+    SocketChannel connection = SocketChannel.open(StandardProtocolFamily.UNIX);
+    try (CliDaemonChannel channel = new CliDaemonChannel(connection)) {
+      connection.connect(UnixDomainSocketAddress.of(this.socket));
+      for (String arg : args) {
+        channel.write(CliDaemonChannel.ARG, arg);
+      }
+      for (Entry<String, String> entry : environment.entrySet()) {
+        channel.write(CliDaemonChannel.ENV, entry.getKey() + "=" + entry.getValue());
+      }
+      channel.write(CliDaemonChannel.CWD, workingDirectory.toString());
+      channel.write(CliDaemonChannel.START, "");
+      Thread pump = new Thread(() -> pumpStdIn(stdIn, channel), "cli-daemon-client-stdin");
+      pump.setDaemon(true);
+      pump.start();
+      while (true) {
+        int type = channel.read();
+        if (type == CliDaemonChannel.STDOUT) {
+          stdOut.write(channel.getPayload(), 0, channel.getLength());
+          stdOut.flush();
+        } else if (type == CliDaemonChannel.STDERR) {
+          stdErr.write(channel.getPayload(), 0, channel.getLength());
+          stdErr.flush();
+        } else if (type == CliDaemonChannel.EXIT) {
+          return channel.getPayloadAsInt();
+        } else if (type < 0) {
+          throw new IOException("Daemon closed connection on " + this.socket + " without exit code.");
+        }
+      }
+    } finally {
+      connection.close();
+    }
+  }
+
+  private static void pumpStdIn(InputStream stdIn, CliDaemonChannel channel) {
+
+    byte[] buffer = new byte[STDIN_BUFFER_SIZE];
+    try {
+      int length = stdIn.read(buffer);
+      while (length >= 0) {
+        if (length > 0) {
+          channel.write(CliDaemonChannel.STDIN, buffer, 0, length);
+        }
+        length = stdIn.read(buffer);
+      }
+      channel.write(CliDaemonChannel.STDIN, buffer, 0, 0);
+    } catch (IOException e) {
+      // request completed and connection closed
+    }
+  }
+
+  /**
+   * @param args the {@link Path} of the Unix domain socket file followed by the command-line arguments to forward.
+   */
+  public static void main(String[] args) {
+
+    int exitCode;
+    if (args.length == 0) {
+      System.err.println("Usage: " + CliDaemonClient.class.getName() + " <socket> [<arg>...]");
+      exitCode = 1;
+    } else {
+      try {
+        exitCode = new CliDaemonClient(Path.of(args[0])).run(Arrays.copyOfRange(args, 1, args.length));
+      } catch (IOException e) {
+        System.err.println("Failed to connect to daemon on " + args[0] + ": " + e.getMessage());
+        exitCode = 1;
+      }
+    }
+    // CHECKSTYLE:OFF (main method)
+    System.exit(exitCode); // NOSONAR
+    // CHECKSTYLE:ON
+  }
+
+}
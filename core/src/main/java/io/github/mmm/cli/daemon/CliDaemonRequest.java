@@ -0,0 +1,128 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.daemon;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import io.github.mmm.cli.CliMain;
+import io.github.mmm.cli.io.CliConsole;
+import io.github.mmm.cli.io.impl.CliConsoleImpl;
+
+/**
+ * A single invocation of a {@link CliMain CLI program} received by a {@link CliDaemon} from a
+ * {@link CliDaemonClient}. It carries the command-line arguments, environment and working directory of the client
+ * process together with a {@link #getConsole() console} that is connected to the standard streams of the client.<br>
+ * <b>ATTENTION:</b> The daemon process has a single working directory and environment shared by all requests. Commands
+ * that shall run in daemon mode therefore have to resolve relative paths against {@link #getWorkingDirectory()} and
+ * read variables from {@link #getEnvironment()} instead of {@link System#getenv()}.
+ *
+ * @since 1.0.0
+ */
+public final class CliDaemonRequest {
+
+  private final String[] args;
+
+  private final Map<String, String> environment;
+
+  private final Path workingDirectory;
+
+  private final InputStream stdIn;
+
+  private final PrintStream stdOut;
+
+  private final PrintStream stdErr;
+
+  private final CliConsoleImpl console;
+
+  /**
+   * The constructor.
+   *
+   * @param args the {@link #getArgs() arguments}.
+   * @param environment the {@link #getEnvironment() environment}.
+   * @param workingDirectory the {@link #getWorkingDirectory() working directory}.
+   * @param stdIn the {@link #getStdIn() standard input}.
+   * @param stdOut the {@link #getStdOut() standard output}.
+   * @param stdErr the {@link #getStdErr() standard error}.
+   */
+  CliDaemonRequest(String[] args, Map<String, String> environment, Path workingDirectory, InputStream stdIn,
+      PrintStream stdOut, PrintStream stdErr) {
+
+    super();
+    this.args = args;
+    this.environment = Collections.unmodifiableMap(environment);
+    this.workingDirectory = workingDirectory;
+    this.stdIn = stdIn;
+    this.stdOut = stdOut;
+    this.stdErr = stdErr;
+    this.console = new CliConsoleImpl();
+    this.console.setStdOut(stdOut);
+    this.console.setStdErr(stdErr);
+    this.console.setIn(new BufferedReader(new InputStreamReader(stdIn, StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * @return a copy of the command-line arguments given to the {@link CliDaemonClient client}.
+   */
+  public String[] getArgs() {
+
+    return this.args.clone();
+  }
+
+  /**
+   * @return the unmodifiable {@link Map} with the environment variables of the {@link CliDaemonClient client} process.
+   */
+  public Map<String, String> getEnvironment() {
+
+    return this.environment;
+  }
+
+  /**
+   * @return the current working directory of the {@link CliDaemonClient client} process.
+   */
+  public Path getWorkingDirectory() {
+
+    return this.workingDirectory;
+  }
+
+  /**
+   * @return the {@link InputStream} reading the standard input of the {@link CliDaemonClient client} process.
+   */
+  public InputStream getStdIn() {
+
+    return this.stdIn;
+  }
+
+  /**
+   * @return the {@link PrintStream} writing to the standard output of the {@link CliDaemonClient client} process.
+   */
+  public PrintStream getStdOut() {
+
+    return this.stdOut;
+  }
+
+  /**
+   * @return the {@link PrintStream} writing to the standard error of the {@link CliDaemonClient client} process.
+   */
+  public PrintStream getStdErr() {
+
+    return this.stdErr;
+  }
+
+  /**
+   * @return the {@link CliConsole} connected to the standard streams of the {@link CliDaemonClient client} process.
+   *         Has to be given to the {@link CliMain#CliMain(CliConsole) constructor} of the {@link CliMain} handling
+   *         this request.
+   */
+  public CliConsole getConsole() {
+
+    return this.console;
+  }
+
+}
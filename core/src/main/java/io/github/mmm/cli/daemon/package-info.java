@@ -0,0 +1,8 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+/**
+ * Contains the {@link io.github.mmm.cli.daemon.CliDaemon daemon} to serve many invocations of a
+ * {@link io.github.mmm.cli.CliMain CLI program} from one warm JVM and the according
+ * {@link io.github.mmm.cli.daemon.CliDaemonClient client}.
+ */
+package io.github.mmm.cli.daemon;
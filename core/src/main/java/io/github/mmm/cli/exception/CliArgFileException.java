@@ -0,0 +1,64 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.exception;
+
+import io.github.mmm.cli.NlsBundleCli;
+
+/**
+ * {@link CliException} thrown if the command-line arguments could not be read from an argument file.
+ *
+ * @since 1.0.0
+ * @see io.github.mmm.cli.arg.CliArgs#ofArgFiles(io.github.mmm.cli.arg.CliOptionSymbols, String...)
+ */
+public class CliArgFileException extends CliException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String file;
+
+  private final int line;
+
+  /**
+   * The constructor.
+   *
+   * @param file the {@link #getFile() file}.
+   * @param cause the {@link #getCause() cause}.
+   */
+  public CliArgFileException(String file, Throwable cause) {
+
+    super(NlsBundleCli.INSTANCE.errArgFile(file), cause);
+    this.file = file;
+    this.line = 0;
+  }
+
+  /**
+   * The constructor for an argument file with a quote that is not terminated until the end of the file.
+   *
+   * @param file the {@link #getFile() file}.
+   * @param line the {@link #getLine() line} where the unterminated quote starts.
+   */
+  public CliArgFileException(String file, int line) {
+
+    super(NlsBundleCli.INSTANCE.errArgFileUnterminatedQuote(file + ":" + line));
+    this.file = file;
+    this.line = line;
+  }
+
+  /**
+   * @return the path of the argument file that could not be read.
+   */
+  public String getFile() {
+
+    return this.file;
+  }
+
+  /**
+   * @return the line number (starting with {@code 1}) where the syntax error was detected or {@code 0} if the file
+   *         could not be read.
+   */
+  public int getLine() {
+
+    return this.line;
+  }
+
+}
@@ -0,0 +1,40 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.exception;
+
+import io.github.mmm.cli.NlsBundleCli;
+import io.github.mmm.cli.io.CliResultFormat;
+
+/**
+ * {@link CliException} thrown if the value of the option "--format" of a
+ * {@link io.github.mmm.cli.command.CliCommandWithResult} is not the name of a {@link CliResultFormat}.
+ *
+ * @since 1.0.0
+ */
+public class CliInvalidResultFormatException extends CliException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String format;
+
+  /**
+   * The constructor.
+   *
+   * @param format the invalid {@link #getFormat() format}.
+   * @param cause the {@link #getCause() cause}.
+   */
+  public CliInvalidResultFormatException(String format, Throwable cause) {
+
+    super(NlsBundleCli.INSTANCE.errInvalidResultFormat(format), cause);
+    this.format = format;
+  }
+
+  /**
+   * @return the invalid value of the option "--format".
+   */
+  public String getFormat() {
+
+    return this.format;
+  }
+
+}
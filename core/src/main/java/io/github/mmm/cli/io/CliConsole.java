@@ -6,6 +6,9 @@ import java.io.Flushable;
 import java.io.PrintStream;
 import java.util.Locale;
 
+import io.github.mmm.cli.io.impl.AbstractCliResult;
+import io.github.mmm.cli.io.impl.CliOutChannel;
+
 /**
  * Interface to give access to {@link CliOut output} and {@link CliIn}.
  */
@@ -21,6 +24,20 @@ public interface CliConsole extends Flushable {
    */
   Locale getLocale();
 
+  /**
+   * Checks if output for the given {@link CliLogLevel} is enabled. Use this to guard logging that is costly to
+   * prepare (e.g. in a hot loop) so it costs nothing if the {@link CliLogLevel} is suppressed.
+   *
+   * @param level the {@link CliLogLevel} to check. May be {@code null} for {@link #out() standard out}.
+   * @return {@code true} if output for the given {@link CliLogLevel} is enabled, {@code false} if
+   *         {@link CliOut#isSuppressed() suppressed}.
+   * @see CliLogLevel#includes(CliLogLevel)
+   */
+  default boolean isEnabled(CliLogLevel level) {
+
+    return (level == null) || getLogLevel().includes(level);
+  }
+
   /**
    * @return the {@link CliOut} for {@link #getStdOut() standard out}.
    */
@@ -67,6 +84,22 @@ public interface CliConsole extends Flushable {
     return out(CliLogLevel.ERROR);
   }
 
+  /**
+   * Starts a typed result stream for commands producing large amounts of results. Unlike {@link #out()} the values are
+   * encoded directly into bytes according to the given {@link CliResultFormat}. Output {@link #out() logged} before is
+   * {@link #flush() flushed} first.
+   *
+   * @param format the {@link CliResultFormat}.
+   * @param columns the names of the columns.
+   * @return the {@link CliResult} writing to {@link #getStdOut() standard out}. Has to be {@link CliResult#close()
+   *         closed} after the last row.
+   */
+  default CliResult result(CliResultFormat format, String... columns) {
+
+    flush();
+    return AbstractCliResult.of(format, new CliOutChannel(getStdOut()), columns);
+  }
+
   /**
    * @return the {@link CliIn} to read input values.
    */
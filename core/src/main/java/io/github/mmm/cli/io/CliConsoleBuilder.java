@@ -0,0 +1,161 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io;
+
+import java.util.Objects;
+
+import io.github.mmm.cli.io.impl.CliConsoleAsync;
+import io.github.mmm.cli.io.impl.CliConsoleChannel;
+import io.github.mmm.cli.io.impl.CliConsoleImpl;
+import io.github.mmm.cli.io.impl.CliOutBuffer;
+import io.github.mmm.cli.io.impl.CliOutQueue;
+
+/**
+ * Builder to configure and {@link #build() create} a {@link CliConsole}. Pass the result to the constructor of your
+ * {@link io.github.mmm.cli.CliMain}:
+ *
+ * <pre>
+ * public MyProgram() {
+ *
+ *   super(new CliConsoleBuilder().flushPolicy(CliFlushPolicy.SIZE).async(4096, CliOverflowPolicy.DROP_DEBUG).build());
+ * }
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public final class CliConsoleBuilder {
+
+  private CliFlushPolicy flushPolicy;
+
+  private int bufferSize;
+
+  private CliLogFormat logFormat;
+
+  private int asyncCapacity;
+
+  private CliOverflowPolicy overflowPolicy;
+
+  private boolean channel;
+
+  private boolean threadSafe;
+
+  /**
+   * The constructor.
+   */
+  public CliConsoleBuilder() {
+
+    super();
+    this.flushPolicy = CliFlushPolicy.LINE;
+    this.bufferSize = CliOutBuffer.DEFAULT_SIZE;
+    this.logFormat = CliLogFormat.TEXT;
+  }
+
+  /**
+   * @param policy the {@link CliFlushPolicy}. Defaults to {@link CliFlushPolicy#LINE}. Use {@link CliFlushPolicy#SIZE}
+   *        or {@link CliFlushPolicy#EXPLICIT} for commands printing large amounts of lines.
+   * @return this object itself for fluent API calls.
+   */
+  public CliConsoleBuilder flushPolicy(CliFlushPolicy policy) {
+
+    Objects.requireNonNull(policy, "policy");
+    this.flushPolicy = policy;
+    return this;
+  }
+
+  /**
+   * @param size the size of the output buffers in characters. Only relevant if the
+   *        {@link #flushPolicy(CliFlushPolicy) flush policy} is not {@link CliFlushPolicy#LINE}.
+   * @return this object itself for fluent API calls.
+   */
+  public CliConsoleBuilder bufferSize(int size) {
+
+    if (size <= 0) {
+      throw new IllegalArgumentException(Integer.toString(size));
+    }
+    this.bufferSize = size;
+    return this;
+  }
+
+  /**
+   * @param format the {@link CliLogFormat}. Defaults to {@link CliLogFormat#TEXT}. Use {@link CliLogFormat#JSON} if the
+   *        output is consumed by other programs.
+   * @return this object itself for fluent API calls.
+   */
+  public CliConsoleBuilder logFormat(CliLogFormat format) {
+
+    Objects.requireNonNull(format, "format");
+    this.logFormat = format;
+    return this;
+  }
+
+  /**
+   * Writes the output asynchronously with a default capacity blocking if the queue is full.
+   *
+   * @return this object itself for fluent API calls.
+   * @see #async(int, CliOverflowPolicy)
+   */
+  public CliConsoleBuilder async() {
+
+    return async(CliOutQueue.DEFAULT_CAPACITY, CliOverflowPolicy.BLOCK);
+  }
+
+  /**
+   * Writes the output asynchronously by a single writer thread so a slow terminal or pipe does not stall the threads
+   * of a command. Can not be combined with {@link #channel(boolean)}.
+   *
+   * @param capacity the maximum number of log records in the queue.
+   * @param policy the {@link CliOverflowPolicy} if the queue is full.
+   * @return this object itself for fluent API calls.
+   */
+  public CliConsoleBuilder async(int capacity, CliOverflowPolicy policy) {
+
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(Integer.toString(capacity));
+    }
+    Objects.requireNonNull(policy, "policy");
+    this.asyncCapacity = capacity;
+    this.overflowPolicy = policy;
+    return this;
+  }
+
+  /**
+   * Writes standard out and error directly to the {@link java.nio.channels.FileChannel}s of the file descriptors 1 and
+   * 2 bypassing {@link System#out} and {@link System#err}. This significantly increases the throughput of commands
+   * writing lots of text. Can not be combined with {@link #async(int, CliOverflowPolicy)}.
+   *
+   * @param channelThreadSafe - {@code true} if the console may be used by multiple threads concurrently,
+   *        {@code false} for the lock-free single-threaded fast path.
+   * @return this object itself for fluent API calls.
+   */
+  public CliConsoleBuilder channel(boolean channelThreadSafe) {
+
+    this.channel = true;
+    this.threadSafe = channelThreadSafe;
+    return this;
+  }
+
+  /**
+   * @return the new {@link CliConsole} as configured.
+   * @throws IllegalStateException if {@link #async(int, CliOverflowPolicy) async} and {@link #channel(boolean)
+   *         channel} have both been configured.
+   */
+  public CliConsole build() {
+
+    CliConsoleImpl console;
+    if (this.overflowPolicy != null) {
+      if (this.channel) {
+        throw new IllegalStateException("async and channel can not be combined");
+      }
+      console = new CliConsoleAsync(this.asyncCapacity, this.overflowPolicy);
+    } else if (this.channel) {
+      console = new CliConsoleChannel(this.threadSafe);
+    } else {
+      console = new CliConsoleImpl();
+    }
+    console.setBufferSize(this.bufferSize);
+    console.setFlushPolicy(this.flushPolicy);
+    console.setLogFormat(this.logFormat);
+    return console;
+  }
+
+}
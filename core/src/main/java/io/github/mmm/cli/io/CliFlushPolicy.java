@@ -0,0 +1,25 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io;
+
+/**
+ * {@link Enum} for the policies when buffered output of a {@link CliConsole} is written and flushed.
+ */
+public enum CliFlushPolicy {
+
+  /** Each log record is written with a single call and flushed immediately. */
+  LINE,
+
+  /**
+   * Log records are collected and written with a single call and flushed when the buffer size is exceeded or on
+   * {@link CliConsole#flush()}.
+   */
+  SIZE,
+
+  /**
+   * Log records are collected and only flushed on {@link CliConsole#flush()}. If the buffer size is exceeded, the
+   * collected records are written to the underlying stream without flushing it.
+   */
+  EXPLICIT;
+
+}
@@ -0,0 +1,20 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io;
+
+/**
+ * {@link Enum} for the formats of the log records written by {@link CliOut}.
+ */
+public enum CliLogFormat {
+
+  /** Human readable text with the {@link CliLogLevel} as prefix (e.g. "WARNING: "). */
+  TEXT,
+
+  /**
+   * Each log record is written as a single JSON object per line (<a href="https://jsonlines.org/">JSON Lines</a>) with
+   * the properties {@code level}, {@code key}, {@code text}, {@code args}, and {@code exception} so the output can be
+   * parsed by other programs.
+   */
+  JSON;
+
+}
@@ -2,6 +2,8 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.cli.io;
 
+import java.util.function.Supplier;
+
 /**
  * Interface to log messages and {@link Throwable exceptions}.
  */
@@ -25,6 +27,64 @@ public interface CliOut {
    */
   void logFormat(String format, Object... args);
 
+  /**
+   * Like {@link #logFormat(String, Object...)} but avoids the creation of the arguments array if this {@link CliOut}
+   * is {@link #isSuppressed() suppressed}.
+   *
+   * @param format - see {@link String#format(String, Object...)}.
+   * @param arg the single argument.
+   */
+  default void logFormat(String format, Object arg) {
+
+    if (!isSuppressed()) {
+      logFormat(format, new Object[] { arg });
+    }
+  }
+
+  /**
+   * Like {@link #logFormat(String, Object...)} but avoids the creation of the arguments array if this {@link CliOut}
+   * is {@link #isSuppressed() suppressed}.
+   *
+   * @param format - see {@link String#format(String, Object...)}.
+   * @param arg1 the first argument.
+   * @param arg2 the second argument.
+   */
+  default void logFormat(String format, Object arg1, Object arg2) {
+
+    if (!isSuppressed()) {
+      logFormat(format, new Object[] { arg1, arg2 });
+    }
+  }
+
+  /**
+   * Like {@link #logFormat(String, Object...)} but avoids the creation of the arguments array if this {@link CliOut}
+   * is {@link #isSuppressed() suppressed}.
+   *
+   * @param format - see {@link String#format(String, Object...)}.
+   * @param arg1 the first argument.
+   * @param arg2 the second argument.
+   * @param arg3 the third argument.
+   */
+  default void logFormat(String format, Object arg1, Object arg2, Object arg3) {
+
+    if (!isSuppressed()) {
+      logFormat(format, new Object[] { arg1, arg2, arg3 });
+    }
+  }
+
+  /**
+   * Like {@link #log(String)} but the message is only computed if this {@link CliOut} is not {@link #isSuppressed()
+   * suppressed}. Use this for messages that are expensive to build.
+   *
+   * @param message the {@link Supplier} of the message to print.
+   */
+  default void log(Supplier<String> message) {
+
+    if (!isSuppressed()) {
+      log(message.get());
+    }
+  }
+
   /**
    * @param message the error message to print.
    * @param exception the {@link Throwable} that occurred or {@code null} for none.
@@ -0,0 +1,26 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io;
+
+/**
+ * {@link Enum} for the policies what happens if the queue of an asynchronous {@link CliConsole} is full because the
+ * output is consumed slower than it is produced.
+ */
+public enum CliOverflowPolicy {
+
+  /** The logging thread waits until the queue has space again. No output is lost. */
+  BLOCK,
+
+  /**
+   * Log records of {@link CliLogLevel#DEBUG} are dropped while the queue is full. For all other records the logging
+   * thread waits as for {@link #BLOCK}.
+   */
+  DROP_DEBUG,
+
+  /**
+   * Log records are appended to a pending overflow chunk while the queue is full and written together once the queue
+   * is drained. The logging thread never waits and no output is lost at the cost of additional memory.
+   */
+  COALESCE;
+
+}
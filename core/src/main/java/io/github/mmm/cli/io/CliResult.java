@@ -0,0 +1,100 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io;
+
+/**
+ * Interface for a typed stream of result rows of a command. Unlike {@link CliOut} the values are not converted to
+ * {@link String}s and printed but encoded according to the {@link CliResultFormat} directly into pooled byte buffers.
+ * Use this for commands producing large amounts of results. Each row is written by adding one value per column and
+ * then calling {@link #endRow()}:
+ *
+ * <pre>
+ * try (CliResult result = console.result(format, "name", "size")) {
+ *   for (File file : files) {
+ *     result.add(file.getName()).add(file.length()).endRow();
+ *   }
+ * }
+ * </pre>
+ *
+ * Missing values at the end of a row are treated as {@code null}. All methods may throw
+ * {@link java.io.UncheckedIOException} if writing to the output failed.
+ *
+ * @see CliConsole#result(CliResultFormat, String...)
+ * @since 1.0.0
+ */
+public interface CliResult extends AutoCloseable {
+
+  /**
+   * @return the {@link CliResultFormat}.
+   */
+  CliResultFormat getFormat();
+
+  /**
+   * @param value the {@link String} value of the next column. May be {@code null}.
+   * @return this {@link CliResult} for fluent API calls.
+   */
+  CliResult add(String value);
+
+  /**
+   * @param value the integral value of the next column.
+   * @return this {@link CliResult} for fluent API calls.
+   */
+  CliResult add(long value);
+
+  /**
+   * @param value the floating point value of the next column.
+   * @return this {@link CliResult} for fluent API calls.
+   */
+  CliResult add(double value);
+
+  /**
+   * @param value the boolean value of the next column.
+   * @return this {@link CliResult} for fluent API calls.
+   */
+  CliResult add(boolean value);
+
+  /**
+   * @param value the value of the next column. {@link Number}s and {@link Boolean}s are delegated to the according
+   *        typed method, anything else is added as {@link Object#toString() string}. May be {@code null}.
+   * @return this {@link CliResult} for fluent API calls.
+   */
+  default CliResult add(Object value) {
+
+    if (value == null) {
+      return add((String) null);
+    } else if ((value instanceof Long) || (value instanceof Integer) || (value instanceof Short)
+        || (value instanceof Byte)) {
+      return add(((Number) value).longValue());
+    } else if ((value instanceof Double) || (value instanceof Float)) {
+      return add(((Number) value).doubleValue());
+    } else if (value instanceof Boolean) {
+      return add(((Boolean) value).booleanValue());
+    }
+    return add(value.toString());
+  }
+
+  /**
+   * Completes the current row.
+   *
+   * @throws IllegalStateException if more values have been added than there are columns.
+   */
+  void endRow();
+
+  /**
+   * @param values the values of the row to {@link #add(Object) add}.
+   */
+  default void row(Object... values) {
+
+    for (Object value : values) {
+      add(value);
+    }
+    endRow();
+  }
+
+  /**
+   * Writes all pending output and releases the resources of this {@link CliResult}. The underlying output stays open.
+   */
+  @Override
+  void close();
+
+}
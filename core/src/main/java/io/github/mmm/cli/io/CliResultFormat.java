@@ -0,0 +1,51 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io;
+
+import java.util.Locale;
+
+/**
+ * {@link Enum} for the formats of a {@link CliResult}.
+ */
+public enum CliResultFormat {
+
+  /** Human readable text table with aligned columns. */
+  TEXT,
+
+  /** Comma separated values as specified by <a href="https://www.rfc-editor.org/rfc/rfc4180">RFC 4180</a>. */
+  CSV,
+
+  /** <a href="https://jsonlines.org/">JSON Lines</a> with one JSON object per row using the columns as keys. */
+  JSON,
+
+  /**
+   * Compact binary format for efficient processing by other programs. The stream starts with the magic bytes
+   * {@code "MCR"} followed by the format version ({@code 1}), the number of columns as varint and the column names.
+   * Each value is written as a tag byte followed by the payload:
+   * <ul>
+   * <li>{@code 0} - {@code null}</li>
+   * <li>{@code 1} - {@code false}</li>
+   * <li>{@code 2} - {@code true}</li>
+   * <li>{@code 3} - integral number as zig-zag encoded varint</li>
+   * <li>{@code 4} - floating point number as 8 bytes IEEE 754 in big endian</li>
+   * <li>{@code 5} - string as varint length followed by UTF-8 bytes</li>
+   * </ul>
+   * A varint uses 7 bits per byte with the highest bit set if more bytes follow (least significant first). Column
+   * names are written as strings without tag. Each row has exactly as many values as there are columns.
+   */
+  BINARY;
+
+  /**
+   * @param format the name of the {@link CliResultFormat} (case insensitive). May be {@code null}.
+   * @return the {@link CliResultFormat} with the given name or {@link #TEXT} if {@code null}.
+   * @throws IllegalArgumentException if the given format is undefined.
+   */
+  public static CliResultFormat of(String format) {
+
+    if (format == null) {
+      return TEXT;
+    }
+    return valueOf(format.toUpperCase(Locale.ROOT));
+  }
+
+}
@@ -0,0 +1,352 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import io.github.mmm.cli.io.CliResult;
+import io.github.mmm.cli.io.CliResultFormat;
+
+/**
+ * Abstract base implementation of {@link CliResult} encoding the values directly into a pooled direct
+ * {@link ByteBuffer} that is written to a {@link WritableByteChannel} whenever it is full.
+ */
+public abstract class AbstractCliResult implements CliResult {
+
+  private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+  /** The names of the columns. */
+  protected final String[] columns;
+
+  private final WritableByteChannel channel;
+
+  private final byte[] digits;
+
+  private ByteBuffer buffer;
+
+  private int column;
+
+  private boolean started;
+
+  /**
+   * The constructor.
+   *
+   * @param channel the {@link WritableByteChannel} to write to. Will not be closed but {@link Flushable#flush()
+   *        flushed} on {@link #close()} if {@link Flushable}.
+   * @param columns the names of the columns.
+   */
+  public AbstractCliResult(WritableByteChannel channel, String... columns) {
+
+    super();
+    Objects.requireNonNull(channel, "channel");
+    if (columns.length == 0) {
+      throw new IllegalArgumentException("At least one column is required.");
+    }
+    this.channel = channel;
+    this.columns = columns;
+    this.digits = new byte[20];
+    this.buffer = CliBufferPool.acquire();
+  }
+
+  private int nextColumn() {
+
+    if (this.buffer == null) {
+      throw new IllegalStateException("Result already closed.");
+    }
+    if (!this.started) {
+      this.started = true;
+      writeStart();
+    }
+    if (this.column >= this.columns.length) {
+      throw new IllegalStateException("Row has more than " + this.columns.length + " values.");
+    }
+    return this.column++;
+  }
+
+  @Override
+  public CliResult add(String value) {
+
+    writeString(nextColumn(), value);
+    return this;
+  }
+
+  @Override
+  public CliResult add(long value) {
+
+    writeLong(nextColumn(), value);
+    return this;
+  }
+
+  @Override
+  public CliResult add(double value) {
+
+    writeDouble(nextColumn(), value);
+    return this;
+  }
+
+  @Override
+  public CliResult add(boolean value) {
+
+    writeBoolean(nextColumn(), value);
+    return this;
+  }
+
+  @Override
+  public void endRow() {
+
+    while (this.column < this.columns.length) {
+      add((String) null);
+    }
+    writeRowEnd();
+    this.column = 0;
+  }
+
+  /**
+   * Writes the start of the result (e.g. the header). Called before the first value is added.
+   */
+  protected abstract void writeStart();
+
+  /**
+   * @param col the index of the column.
+   * @param value the {@link String} value to write. May be {@code null}.
+   */
+  protected abstract void writeString(int col, String value);
+
+  /**
+   * @param col the index of the column.
+   * @param value the integral value to write.
+   */
+  protected abstract void writeLong(int col, long value);
+
+  /**
+   * @param col the index of the column.
+   * @param value the floating point value to write.
+   */
+  protected abstract void writeDouble(int col, double value);
+
+  /**
+   * @param col the index of the column.
+   * @param value the boolean value to write.
+   */
+  protected abstract void writeBoolean(int col, boolean value);
+
+  /**
+   * Writes the end of the current row.
+   */
+  protected abstract void writeRowEnd();
+
+  /**
+   * Writes the end of the result. Does nothing by default.
+   */
+  protected void writeEnd() {
+
+  }
+
+  /**
+   * @param length the number of bytes to write next (at most {@link CliBufferPool#BUFFER_SIZE}).
+   * @return the {@link ByteBuffer} with at least the given number of bytes remaining.
+   */
+  protected final ByteBuffer ensure(int length) {
+
+    if (this.buffer.remaining() < length) {
+      drain();
+    }
+    return this.buffer;
+  }
+
+  /**
+   * @param b the byte to write.
+   */
+  protected final void put(byte b) {
+
+    ensure(1).put(b);
+  }
+
+  /**
+   * @param bytes the bytes to write.
+   */
+  protected final void put(byte[] bytes) {
+
+    int offset = 0;
+    while (offset < bytes.length) {
+      int length = Math.min(bytes.length - offset, ensure(1).remaining());
+      this.buffer.put(bytes, offset, length);
+      offset += length;
+    }
+  }
+
+  /**
+   * @param value the {@link String} that only contains ASCII characters to write.
+   */
+  protected final void putAscii(String value) {
+
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      ensure(1).put((byte) value.charAt(i));
+    }
+  }
+
+  /**
+   * @param value the integral number to write as decimal digits.
+   */
+  protected final void putDecimal(long value) {
+
+    if (value == Long.MIN_VALUE) {
+      put(MIN_LONG);
+      return;
+    }
+    long v = value;
+    if (v < 0) {
+      put((byte) '-');
+      v = -v;
+    }
+    int i = this.digits.length;
+    do {
+      this.digits[--i] = (byte) ('0' + (v % 10));
+      v = v / 10;
+    } while (v != 0);
+    ByteBuffer b = ensure(this.digits.length - i);
+    b.put(this.digits, i, this.digits.length - i);
+  }
+
+  /**
+   * @param c the character to write UTF-8 encoded.
+   * @param value the {@link CharSequence} containing the character.
+   * @param index the index of the character in {@code value}.
+   * @return the number of characters consumed (2 for a surrogate pair, 1 otherwise).
+   */
+  protected final int putUtf8(char c, CharSequence value, int index) {
+
+    ByteBuffer b = ensure(4);
+    if (c < 0x80) {
+      b.put((byte) c);
+    } else if (c < 0x800) {
+      b.put((byte) (0xC0 | (c >> 6)));
+      b.put((byte) (0x80 | (c & 0x3F)));
+    } else if (Character.isHighSurrogate(c) && (index + 1 < value.length())
+        && Character.isLowSurrogate(value.charAt(index + 1))) {
+      int cp = Character.toCodePoint(c, value.charAt(index + 1));
+      b.put((byte) (0xF0 | (cp >> 18)));
+      b.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+      b.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+      b.put((byte) (0x80 | (cp & 0x3F)));
+      return 2;
+    } else if (Character.isSurrogate(c)) {
+      b.put((byte) '?');
+    } else {
+      b.put((byte) (0xE0 | (c >> 12)));
+      b.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+      b.put((byte) (0x80 | (c & 0x3F)));
+    }
+    return 1;
+  }
+
+  /**
+   * @param value the {@link CharSequence} to write UTF-8 encoded.
+   */
+  protected final void putUtf8(CharSequence value) {
+
+    int length = value.length();
+    int i = 0;
+    while (i < length) {
+      i += putUtf8(value.charAt(i), value, i);
+    }
+  }
+
+  /**
+   * @param value the {@link CharSequence}.
+   * @return the number of bytes of the given {@link CharSequence} when {@link #putUtf8(CharSequence) UTF-8 encoded}.
+   */
+  protected static int getUtf8Length(CharSequence value) {
+
+    int length = value.length();
+    int bytes = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        bytes++;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (Character.isHighSurrogate(c) && (i + 1 < length) && Character.isLowSurrogate(value.charAt(i + 1))) {
+        bytes += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        bytes++;
+      } else {
+        bytes += 3;
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Writes the content of the buffer to the {@link WritableByteChannel}.
+   */
+  protected final void drain() {
+
+    this.buffer.flip();
+    try {
+      while (this.buffer.hasRemaining()) {
+        this.channel.write(this.buffer);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      this.buffer.clear();
+    }
+  }
+
+  @Override
+  public void close() {
+
+    if (this.buffer == null) {
+      return;
+    }
+    try {
+      if (!this.started) {
+        this.started = true;
+        writeStart();
+      }
+      if (this.column > 0) {
+        endRow();
+      }
+      writeEnd();
+      drain();
+      if (this.channel instanceof Flushable) {
+        ((Flushable) this.channel).flush();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      CliBufferPool.release(this.buffer);
+      this.buffer = null;
+    }
+  }
+
+  /**
+   * @param format the {@link CliResultFormat}.
+   * @param channel the {@link WritableByteChannel} to write to.
+   * @param columns the names of the columns.
+   * @return the {@link CliResult} for the given {@link CliResultFormat}.
+   */
+  public static AbstractCliResult of(CliResultFormat format, WritableByteChannel channel, String... columns) {
+
+    switch (format) {
+      case CSV:
+        return new CliResultCsv(channel, columns);
+      case JSON:
+        return new CliResultJson(channel, columns);
+      case BINARY:
+        return new CliResultBinary(channel, columns);
+      default:
+        return new CliResultText(channel, columns);
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide pool of direct {@link ByteBuffer}s. Allocation of direct buffers is expensive, so they are reused across
+ * {@link io.github.mmm.cli.io.CliResult results} and invocations.
+ */
+public final class CliBufferPool {
+
+  /** The capacity of the pooled buffers in bytes. */
+  public static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final int MAX_POOLED = 16;
+
+  private static final Queue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+
+  private static final AtomicInteger POOLED = new AtomicInteger();
+
+  private CliBufferPool() {
+
+  }
+
+  /**
+   * @return a cleared direct {@link ByteBuffer} with a capacity of {@link #BUFFER_SIZE}. Should be
+   *         {@link #release(ByteBuffer) released} when no longer needed.
+   */
+  public static ByteBuffer acquire() {
+
+    ByteBuffer buffer = POOL.poll();
+    if (buffer == null) {
+      return ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+    POOLED.decrementAndGet();
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * @param buffer the {@link ByteBuffer} from {@link #acquire()} to return to the pool. Must not be used afterwards.
+   */
+  public static void release(ByteBuffer buffer) {
+
+    if (POOLED.incrementAndGet() <= MAX_POOLED) {
+      POOL.offer(buffer);
+    } else {
+      POOLED.decrementAndGet();
+    }
+  }
+
+}
@@ -0,0 +1,120 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import io.github.mmm.cli.io.CliConsole;
+import io.github.mmm.cli.io.CliLogLevel;
+import io.github.mmm.cli.io.CliOut;
+import io.github.mmm.cli.io.CliOverflowPolicy;
+
+/**
+ * Extends {@link CliConsoleImpl} with asynchronous output. Log records are put on a bounded {@link CliOutQueue} and
+ * written by a single writer thread so threads of a command are not stalled by a slow terminal or pipe consumer.
+ * {@link #flush()} waits until the queue is drained. Therefore {@link io.github.mmm.cli.CliMain#runAndExit(String...)}
+ * writes all output before the JVM exits. When used otherwise, {@link #flush()} or {@link #close()} has to be called
+ * before {@link System#exit(int)} as pending output would get lost.
+ *
+ * @since 1.0.0
+ */
+public class CliConsoleAsync extends CliConsoleImpl implements AutoCloseable {
+
+  private final CliOutQueue queue;
+
+  private long reportedFailures;
+
+  /**
+   * The constructor with {@link CliOutQueue#DEFAULT_CAPACITY default capacity} and {@link CliOverflowPolicy#BLOCK}.
+   */
+  public CliConsoleAsync() {
+
+    this(CliOutQueue.DEFAULT_CAPACITY, CliOverflowPolicy.BLOCK);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param capacity the maximum number of log records in the queue.
+   * @param policy the {@link CliOverflowPolicy} if the queue is full.
+   */
+  public CliConsoleAsync(int capacity, CliOverflowPolicy policy) {
+
+    super();
+    this.queue = new CliOutQueue(capacity, policy);
+  }
+
+  /**
+   * @return the {@link CliOverflowPolicy}.
+   */
+  public CliOverflowPolicy getOverflowPolicy() {
+
+    return this.queue.getPolicy();
+  }
+
+  /**
+   * @return the number of log records that have been dropped due to {@link CliOverflowPolicy#DROP_DEBUG}.
+   */
+  public long getDropped() {
+
+    return this.queue.getDropped();
+  }
+
+  /**
+   * @return the number of log records that could not be written by the writer thread due to an error.
+   */
+  public long getFailed() {
+
+    return this.queue.getFailed();
+  }
+
+  @Override
+  protected CliOut createOut(CliLogLevel logLevel) {
+
+    return createOut(logLevel, new CliOutBufferAsync(getBuffer(getOut(logLevel)), logLevel, this.queue));
+  }
+
+  @Override
+  protected void reset() {
+
+    this.queue.drain();
+    super.reset();
+  }
+
+  /**
+   * Waits until all pending log records have been written and then flushes as {@link CliConsole#flush() specified}.
+   * Log records that could not be written since the last call are reported as {@link #error() error}.
+   */
+  @Override
+  public void flush() {
+
+    this.queue.drain();
+    if (reportFailures()) {
+      this.queue.drain();
+    }
+    super.flush();
+  }
+
+  private synchronized boolean reportFailures() {
+
+    long failed = this.queue.getFailed();
+    if (failed == this.reportedFailures) {
+      return false;
+    }
+    long count = failed - this.reportedFailures;
+    this.reportedFailures = failed;
+    RuntimeException failure = this.queue.getFailure();
+    error().log("Failed to write " + count + " log record(s): " + failure, failure);
+    return true;
+  }
+
+  /**
+   * {@link #flush() Flushes} this console and stops the writer thread. Afterwards output is written synchronously.
+   */
+  @Override
+  public void close() {
+
+    this.queue.close();
+    reportFailures();
+    super.flush();
+  }
+
+}
@@ -0,0 +1,144 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Extends {@link CliConsoleImpl} with a backend writing straight to the {@link java.nio.channels.FileChannel}s of the
+ * file descriptors 1 (standard out) and 2 (standard error) instead of {@link System#out} and {@link System#err}. Each
+ * stream is a {@link CliOutBufferChannel} reusing one {@link java.nio.charset.CharsetEncoder} and direct
+ * {@link java.nio.ByteBuffer}. This avoids the synchronization and the separate encoding pass per call of
+ * {@link PrintStream} and significantly increases the throughput of commands writing lots of text (especially with
+ * {@link io.github.mmm.cli.io.CliFlushPolicy#SIZE}). {@link #result(io.github.mmm.cli.io.CliResultFormat, String...)
+ * Results} are written to the channel directly without copying.<br>
+ * By default the console is not thread-safe and takes no locks. Use {@link #CliConsoleChannel(boolean)} with
+ * {@code true} or {@link #setThreadSafe(boolean)} for commands logging from multiple threads (e.g. a worker pool).
+ * {@link io.github.mmm.cli.CliMain} does this automatically if it logs from the common pool itself (parallel dispatch
+ * or preloading of bundles).
+ *
+ * @since 1.0.0
+ */
+public class CliConsoleChannel extends CliConsoleImpl {
+
+  private final CliOutBufferChannel out;
+
+  private final CliOutBufferChannel err;
+
+  /**
+   * The constructor for single-threaded use.
+   */
+  public CliConsoleChannel() {
+
+    this(false);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param threadSafe - {@code true} if the console may be used by multiple threads concurrently, {@code false} for
+   *        the lock-free single-threaded fast path.
+   */
+  public CliConsoleChannel(boolean threadSafe) {
+
+    this(new FileOutputStream(FileDescriptor.out).getChannel(), getCharset("stdout"),
+        new FileOutputStream(FileDescriptor.err).getChannel(), getCharset("stderr"), threadSafe);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param out the {@link WritableByteChannel} for standard out.
+   * @param outCharset the {@link Charset} for standard out.
+   * @param err the {@link WritableByteChannel} for standard error.
+   * @param errCharset the {@link Charset} for standard error.
+   * @param threadSafe - {@code true} if the console may be used by multiple threads concurrently, {@code false} for
+   *        the lock-free single-threaded fast path.
+   */
+  public CliConsoleChannel(WritableByteChannel out, Charset outCharset, WritableByteChannel err, Charset errCharset,
+      boolean threadSafe) {
+
+    super();
+    this.out = new CliOutBufferChannel(out, outCharset, getFlushPolicy(), threadSafe);
+    this.err = new CliOutBufferChannel(err, errCharset, getFlushPolicy(), threadSafe);
+    setStdOut(this.out.getOut());
+    setStdErr(this.err.getOut());
+  }
+
+  /**
+   * @return {@code true} if thread-safe, {@code false} if this console may only be used by a single thread at a time.
+   */
+  public boolean isThreadSafe() {
+
+    return this.out.isThreadSafe();
+  }
+
+  /**
+   * @param threadSafe the new value of {@link #isThreadSafe()}. Has to be changed before this console is used by
+   *        multiple threads.
+   */
+  public void setThreadSafe(boolean threadSafe) {
+
+    this.out.setThreadSafe(threadSafe);
+    this.err.setThreadSafe(threadSafe);
+  }
+
+  private static Charset getCharset(String stream) {
+
+    // "stdout.encoding" since Java 19, "sun.stdout.encoding" for Windows console before
+    String encoding = System.getProperty(stream + ".encoding", System.getProperty("sun." + stream + ".encoding"));
+    if (encoding != null) {
+      try {
+        return Charset.forName(encoding);
+      } catch (RuntimeException e) {
+        // ignore and use default
+      }
+    }
+    return Charset.defaultCharset();
+  }
+
+  @Override
+  protected CliOutWriter getBuffer(PrintStream stream) {
+
+    if ((this.out != null) && (stream == this.out.getOut())) {
+      return this.out;
+    } else if ((this.err != null) && (stream == this.err.getOut())) {
+      return this.err;
+    }
+    return super.getBuffer(stream);
+  }
+
+  @Override
+  protected WritableByteChannel getResultChannel() {
+
+    if (getStdOut() == this.out.getOut()) {
+      return this.out;
+    }
+    return super.getResultChannel();
+  }
+
+  @Override
+  protected void reset() {
+
+    if (this.out != null) {
+      this.out.flush();
+      this.out.setPolicy(getFlushPolicy());
+      this.err.flush();
+      this.err.setPolicy(getFlushPolicy());
+    }
+    super.reset();
+  }
+
+  @Override
+  public void flush() {
+
+    this.out.flush();
+    this.err.flush();
+    super.flush();
+  }
+
+}
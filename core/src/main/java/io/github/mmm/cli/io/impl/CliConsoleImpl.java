@@ -4,15 +4,21 @@ package io.github.mmm.cli.io.impl;
 
 import java.io.BufferedReader;
 import java.io.PrintStream;
-import java.util.HashMap;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
 import io.github.mmm.cli.io.CliConsole;
+import io.github.mmm.cli.io.CliFlushPolicy;
 import io.github.mmm.cli.io.CliIn;
+import io.github.mmm.cli.io.CliLogFormat;
 import io.github.mmm.cli.io.CliLogLevel;
 import io.github.mmm.cli.io.CliOut;
+import io.github.mmm.cli.io.CliResult;
+import io.github.mmm.cli.io.CliResultFormat;
 
 /**
  * Interface for a console as standard in, out, and err. Allows to read user-input and output messages or errors. It is
@@ -20,7 +26,7 @@ import io.github.mmm.cli.io.CliOut;
  */
 public class CliConsoleImpl implements CliConsole {
 
-  private final Map<CliLogLevel, CliOut> outMap;
+  private final CliOut[] outs;
 
   private CliIn in;
 
@@ -32,18 +38,30 @@ public class CliConsoleImpl implements CliConsole {
 
   private Locale locale;
 
+  private CliFlushPolicy flushPolicy;
+
+  private int bufferSize;
+
+  private CliLogFormat logFormat;
+
+  private final Map<PrintStream, CliOutBuffer> buffers;
+
   /**
    * The constructor.
    */
   public CliConsoleImpl() {
 
     super();
-    this.outMap = new HashMap<>();
+    this.outs = new CliOut[CliLogLevel.values().length + 1];
     this.stdOut = System.out;
     this.stdErr = System.err;
     this.in = CliInConsole.INSTANCE;
     this.level = CliLogLevel.INFO;
     this.locale = Locale.getDefault();
+    this.flushPolicy = CliFlushPolicy.LINE;
+    this.bufferSize = CliOutBuffer.DEFAULT_SIZE;
+    this.logFormat = CliLogFormat.TEXT;
+    this.buffers = new IdentityHashMap<>();
   }
 
   @Override
@@ -124,6 +142,91 @@ public class CliConsoleImpl implements CliConsole {
     reset();
   }
 
+  /**
+   * @return the {@link CliFlushPolicy} for the {@link #out(CliLogLevel) output}. Defaults to
+   *         {@link CliFlushPolicy#LINE}.
+   */
+  public CliFlushPolicy getFlushPolicy() {
+
+    return this.flushPolicy;
+  }
+
+  /**
+   * @param flushPolicy the new value of {@link #getFlushPolicy()}. Use {@link CliFlushPolicy#SIZE} or
+   *        {@link CliFlushPolicy#EXPLICIT} for commands printing large amounts of lines.
+   */
+  public void setFlushPolicy(CliFlushPolicy flushPolicy) {
+
+    Objects.requireNonNull(flushPolicy, "flushPolicy");
+    if (this.flushPolicy == flushPolicy) {
+      return;
+    }
+    this.flushPolicy = flushPolicy;
+    reset();
+  }
+
+  /**
+   * @return the size of the output buffers in characters. Only relevant if the {@link #getFlushPolicy() flush policy}
+   *         is not {@link CliFlushPolicy#LINE}.
+   */
+  public int getBufferSize() {
+
+    return this.bufferSize;
+  }
+
+  /**
+   * @param bufferSize the new value of {@link #getBufferSize()}.
+   */
+  public void setBufferSize(int bufferSize) {
+
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException(Integer.toString(bufferSize));
+    }
+    if (this.bufferSize == bufferSize) {
+      return;
+    }
+    this.bufferSize = bufferSize;
+    reset();
+  }
+
+  /**
+   * @return the {@link CliLogFormat}. Defaults to {@link CliLogFormat#TEXT}.
+   */
+  public CliLogFormat getLogFormat() {
+
+    return this.logFormat;
+  }
+
+  /**
+   * @param logFormat the new value of {@link #getLogFormat()}. Use {@link CliLogFormat#JSON} if the output is consumed
+   *        by other programs.
+   */
+  public void setLogFormat(CliLogFormat logFormat) {
+
+    Objects.requireNonNull(logFormat, "logFormat");
+    if (this.logFormat == logFormat) {
+      return;
+    }
+    this.logFormat = logFormat;
+    reset();
+  }
+
+  @Override
+  public CliResult result(CliResultFormat format, String... columns) {
+
+    flush();
+    return AbstractCliResult.of(format, getResultChannel(), columns);
+  }
+
+  /**
+   * @return the {@link WritableByteChannel} to write {@link #result(CliResultFormat, String...) results} to. Writes to
+   *         {@link #getStdOut() standard out} by default.
+   */
+  protected WritableByteChannel getResultChannel() {
+
+    return new CliOutChannel(this.stdOut);
+  }
+
   @Override
   public CliIn in() {
 
@@ -147,15 +250,45 @@ public class CliConsoleImpl implements CliConsole {
     this.in = new CliInReader(stdIn, getStdOut());
   }
 
-  private void reset() {
+  /**
+   * Resets the cached {@link CliOut}s after a configuration change and flushes the current buffers.
+   */
+  protected void reset() {
+
+    Arrays.fill(this.outs, null);
+    synchronized (this.buffers) {
+      for (CliOutBuffer buffer : this.buffers.values()) {
+        buffer.flush();
+      }
+      this.buffers.clear();
+    }
+  }
 
-    this.outMap.clear();
+  /**
+   * @param out the {@link PrintStream} to write to.
+   * @return the {@link CliOutWriter} shared by all {@link CliOut}s writing to the given {@link PrintStream}.
+   */
+  protected CliOutWriter getBuffer(PrintStream out) {
+
+    synchronized (this.buffers) {
+      return this.buffers.computeIfAbsent(out, o -> new CliOutBuffer(o, this.flushPolicy, this.bufferSize));
+    }
   }
 
   @Override
   public CliOut out(CliLogLevel logLevel) {
 
-    return this.outMap.computeIfAbsent(logLevel, this::createOutInternal);
+    // lookup may race but is idempotent so concurrent callers (e.g. parallel dispatch) are safe without locking
+    int i = 0;
+    if (logLevel != null) {
+      i = logLevel.ordinal() + 1;
+    }
+    CliOut out = this.outs[i];
+    if (out == null) {
+      out = createOutInternal(logLevel);
+      this.outs[i] = out;
+    }
+    return out;
   }
 
   private CliOut createOutInternal(CliLogLevel logLevel) {
@@ -173,7 +306,20 @@ public class CliConsoleImpl implements CliConsole {
    */
   protected CliOut createOut(CliLogLevel logLevel) {
 
-    return new CliOutLogger(getOut(logLevel), getOutPrefix(logLevel), this.locale, isPrintStacktrace(logLevel));
+    return createOut(logLevel, getBuffer(getOut(logLevel)));
+  }
+
+  /**
+   * @param logLevel the {@link CliLogLevel} to log to.
+   * @param buffer the {@link CliOutWriter} to write to.
+   * @return the {@link CliOut} for the {@link #getLogFormat() log format}.
+   */
+  protected CliOut createOut(CliLogLevel logLevel, CliOutWriter buffer) {
+
+    if (this.logFormat == CliLogFormat.JSON) {
+      return new CliOutJson(buffer, logLevel, this.locale, isPrintStacktrace(logLevel));
+    }
+    return new CliOutBuffered(buffer, getOutPrefix(logLevel), this.locale, isPrintStacktrace(logLevel));
   }
 
   /**
@@ -219,6 +365,11 @@ public class CliConsoleImpl implements CliConsole {
   @Override
   public void flush() {
 
+    synchronized (this.buffers) {
+      for (CliOutBuffer buffer : this.buffers.values()) {
+        buffer.flush();
+      }
+    }
     this.stdOut.flush();
     this.stdErr.flush();
     this.in.flush();
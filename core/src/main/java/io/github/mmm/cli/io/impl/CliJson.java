@@ -0,0 +1,98 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+/**
+ * Minimal streaming encoder for JSON appending directly to a {@link StringBuilder} without any intermediate object
+ * model or reflection.
+ */
+public final class CliJson {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private CliJson() {
+
+  }
+
+  /**
+   * @param sb the {@link StringBuilder} to append to.
+   * @param value the value to append as JSON string literal (quoted and escaped). May be {@code null}.
+   * @return the given {@link StringBuilder}.
+   */
+  public static StringBuilder appendString(StringBuilder sb, CharSequence value) {
+
+    if (value == null) {
+      return sb.append("null");
+    }
+    sb.append('"');
+    int length = value.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if ((c < 0x20) || (c == '"') || (c == '\\') || (c == '\u2028') || (c == '\u2029')) {
+        sb.append(value, start, i);
+        appendEscaped(sb, c);
+        start = i + 1;
+      }
+    }
+    sb.append(value, start, length);
+    return sb.append('"');
+  }
+
+  private static void appendEscaped(StringBuilder sb, char c) {
+
+    switch (c) {
+      case '"':
+        sb.append("\\\"");
+        break;
+      case '\\':
+        sb.append("\\\\");
+        break;
+      case '\n':
+        sb.append("\\n");
+        break;
+      case '\r':
+        sb.append("\\r");
+        break;
+      case '\t':
+        sb.append("\\t");
+        break;
+      default:
+        // control characters as well as line and paragraph separator (invalid in JavaScript)
+        sb.append("\\u").append(HEX[(c >> 12) & 0xF]).append(HEX[(c >> 8) & 0xF]).append(HEX[(c >> 4) & 0xF])
+            .append(HEX[c & 0xF]);
+    }
+  }
+
+  /**
+   * @param sb the {@link StringBuilder} to append to.
+   * @param value the value to append. {@link Boolean} and integral {@link Number}s are appended as JSON literals,
+   *        anything else as {@link #appendString(StringBuilder, CharSequence) string}.
+   * @return the given {@link StringBuilder}.
+   */
+  public static StringBuilder appendValue(StringBuilder sb, Object value) {
+
+    if ((value instanceof Boolean) || (value instanceof Integer) || (value instanceof Long)
+        || (value instanceof Short) || (value instanceof Byte)) {
+      return sb.append(value);
+    } else if (value == null) {
+      return sb.append("null");
+    }
+    return appendString(sb, value.toString());
+  }
+
+  /**
+   * @param sb the {@link StringBuilder} to append to.
+   * @param name the name of the property. Has to be a plain name that requires no escaping.
+   * @return the given {@link StringBuilder}.
+   */
+  public static StringBuilder appendName(StringBuilder sb, String name) {
+
+    int last = sb.length() - 1;
+    if ((last >= 0) && (sb.charAt(last) != '{')) {
+      sb.append(',');
+    }
+    return sb.append('"').append(name).append("\":");
+  }
+
+}
@@ -0,0 +1,96 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.PrintStream;
+import java.util.Objects;
+
+import io.github.mmm.cli.io.CliFlushPolicy;
+
+/**
+ * Implementation of {@link CliOutWriter} buffering complete log records written to a {@link PrintStream} according to
+ * a {@link CliFlushPolicy}. It is shared by all {@link CliOutBuffered} instances writing to the same
+ * {@link PrintStream} and is thread-safe.
+ */
+public class CliOutBuffer implements CliOutWriter {
+
+  /** The default size of the buffer in characters. */
+  public static final int DEFAULT_SIZE = 8192;
+
+  private final PrintStream out;
+
+  private final CliFlushPolicy policy;
+
+  private final int size;
+
+  private final StringBuilder buffer;
+
+  /**
+   * The constructor.
+   *
+   * @param out the {@link PrintStream} to write to.
+   * @param policy the {@link CliFlushPolicy}.
+   * @param size the size of the buffer in characters. Ignored for {@link CliFlushPolicy#LINE}.
+   */
+  public CliOutBuffer(PrintStream out, CliFlushPolicy policy, int size) {
+
+    super();
+    Objects.requireNonNull(out, "out");
+    Objects.requireNonNull(policy, "policy");
+    this.out = out;
+    this.policy = policy;
+    this.size = size;
+    if (policy == CliFlushPolicy.LINE) {
+      this.buffer = null;
+    } else {
+      this.buffer = new StringBuilder(size);
+    }
+  }
+
+  @Override
+  public PrintStream getOut() {
+
+    return this.out;
+  }
+
+  /**
+   * @return the {@link CliFlushPolicy}.
+   */
+  public CliFlushPolicy getPolicy() {
+
+    return this.policy;
+  }
+
+  @Override
+  public synchronized void write(CharSequence record) {
+
+    if (this.buffer == null) {
+      this.out.append(record);
+      this.out.flush();
+      return;
+    }
+    this.buffer.append(record);
+    if (this.buffer.length() >= this.size) {
+      writeBuffer();
+      if (this.policy == CliFlushPolicy.SIZE) {
+        this.out.flush();
+      }
+    }
+  }
+
+  private void writeBuffer() {
+
+    if ((this.buffer != null) && (this.buffer.length() > 0)) {
+      this.out.append(this.buffer);
+      this.buffer.setLength(0);
+    }
+  }
+
+  @Override
+  public synchronized void flush() {
+
+    writeBuffer();
+    this.out.flush();
+  }
+
+}
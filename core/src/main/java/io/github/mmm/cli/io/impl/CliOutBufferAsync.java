@@ -0,0 +1,55 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.PrintStream;
+
+import io.github.mmm.cli.io.CliLogLevel;
+
+/**
+ * Implementation of {@link CliOutWriter} that hands each log record over to a {@link CliOutQueue} instead of writing
+ * it in the calling thread.
+ */
+public class CliOutBufferAsync implements CliOutWriter {
+
+  private final CliOutWriter target;
+
+  private final CliLogLevel level;
+
+  private final CliOutQueue queue;
+
+  /**
+   * The constructor.
+   *
+   * @param target the {@link CliOutWriter} the {@link CliOutQueue} finally writes to.
+   * @param level the {@link CliLogLevel} of the log records. May be {@code null} for plain output.
+   * @param queue the {@link CliOutQueue}.
+   */
+  public CliOutBufferAsync(CliOutWriter target, CliLogLevel level, CliOutQueue queue) {
+
+    super();
+    this.target = target;
+    this.level = level;
+    this.queue = queue;
+  }
+
+  @Override
+  public void write(CharSequence record) {
+
+    this.queue.write(this.target, this.level, record);
+  }
+
+  @Override
+  public void flush() {
+
+    this.queue.drain();
+    this.target.flush();
+  }
+
+  @Override
+  public PrintStream getOut() {
+
+    return this.target.getOut();
+  }
+
+}
@@ -0,0 +1,264 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Objects;
+
+import io.github.mmm.cli.io.CliFlushPolicy;
+
+/**
+ * Implementation of {@link CliOutWriter} that encodes log records with a single reused {@link CharsetEncoder} into a
+ * reused direct {@link ByteBuffer} and writes it straight to a {@link WritableByteChannel} (e.g. the
+ * {@link java.nio.channels.FileChannel} of file descriptor 1 or 2). Unlike a {@link PrintStream} it takes no lock
+ * unless {@link #isThreadSafe() thread-safe}. It is also a {@link WritableByteChannel} itself so
+ * {@link io.github.mmm.cli.io.CliResult results} are written in order with the log records. For other code the
+ * {@link #getOut() print stream} writes through this buffer as well.
+ */
+public class CliOutBufferChannel implements CliOutWriter, WritableByteChannel {
+
+  private static final int CHAR_CHUNK = 1024;
+
+  private static final int COPY_LIMIT = 1024;
+
+  private final WritableByteChannel channel;
+
+  private final CharsetEncoder encoder;
+
+  private final CharBuffer chars;
+
+  private final ByteBuffer bytes;
+
+  private volatile boolean threadSafe;
+
+  private final PrintStream out;
+
+  private volatile CliFlushPolicy flushPolicy;
+
+  /**
+   * The constructor.
+   *
+   * @param channel the {@link WritableByteChannel} to write to. Will never be closed.
+   * @param charset the {@link Charset} to encode the text with.
+   * @param policy the initial {@link #getPolicy() flush policy}.
+   * @param threadSafe - {@code true} if this buffer may be used by multiple threads concurrently (e.g. logging from a
+   *        worker pool), {@code false} for the lock-free single-threaded fast path.
+   */
+  public CliOutBufferChannel(WritableByteChannel channel, Charset charset, CliFlushPolicy policy, boolean threadSafe) {
+
+    super();
+    Objects.requireNonNull(channel, "channel");
+    Objects.requireNonNull(policy, "policy");
+    this.channel = channel;
+    this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.chars = CharBuffer.allocate(CHAR_CHUNK);
+    this.bytes = ByteBuffer.allocateDirect(CliBufferPool.BUFFER_SIZE);
+    this.threadSafe = threadSafe;
+    this.flushPolicy = policy;
+    this.out = new PrintStream(new ChannelOutputStream(), false, charset);
+  }
+
+  /**
+   * @return the {@link PrintStream} writing through this buffer. Use only for code that requires a
+   *         {@link PrintStream} as its methods are synchronized and encode each call separately.
+   */
+  @Override
+  public PrintStream getOut() {
+
+    return this.out;
+  }
+
+  /**
+   * @return the {@link CliFlushPolicy}.
+   */
+  public CliFlushPolicy getPolicy() {
+
+    return this.flushPolicy;
+  }
+
+  /**
+   * @param policy the new value of {@link #getPolicy()}.
+   */
+  public void setPolicy(CliFlushPolicy policy) {
+
+    Objects.requireNonNull(policy, "policy");
+    this.flushPolicy = policy;
+  }
+
+  /**
+   * @return {@code true} if thread-safe, {@code false} if this buffer may only be used by a single thread at a time.
+   */
+  public boolean isThreadSafe() {
+
+    return this.threadSafe;
+  }
+
+  /**
+   * @param threadSafe the new value of {@link #isThreadSafe()}. Has to be changed before this buffer is used by
+   *        multiple threads.
+   */
+  public void setThreadSafe(boolean threadSafe) {
+
+    this.threadSafe = threadSafe;
+  }
+
+  @Override
+  public void write(CharSequence record) {
+
+    if (this.threadSafe) {
+      synchronized (this) {
+        encode(record);
+      }
+    } else {
+      encode(record);
+    }
+  }
+
+  private void encode(CharSequence record) {
+
+    int length = record.length();
+    int start = 0;
+    boolean end;
+    do {
+      int count = Math.min(length - start, this.chars.remaining());
+      int offset = this.chars.position();
+      char[] array = this.chars.array();
+      if (record instanceof String) {
+        ((String) record).getChars(start, start + count, array, offset);
+      } else if (record instanceof StringBuilder) {
+        ((StringBuilder) record).getChars(start, start + count, array, offset);
+      } else {
+        for (int i = 0; i < count; i++) {
+          array[offset + i] = record.charAt(start + i);
+        }
+      }
+      this.chars.position(offset + count);
+      start += count;
+      end = (start == length);
+      this.chars.flip();
+      while (this.encoder.encode(this.chars, this.bytes, end).isOverflow()) {
+        drain();
+      }
+      // keeps a trailing high surrogate for the next chunk
+      this.chars.compact();
+    } while (!end);
+    while (this.encoder.flush(this.bytes).isOverflow()) {
+      drain();
+    }
+    this.encoder.reset();
+    this.chars.clear();
+    if (this.flushPolicy == CliFlushPolicy.LINE) {
+      drain();
+    }
+  }
+
+  private void drain() {
+
+    this.bytes.flip();
+    try {
+      while (this.bytes.hasRemaining()) {
+        this.channel.write(this.bytes);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      this.bytes.clear();
+    }
+  }
+
+  /**
+   * Writes the given bytes after the pending records. Small chunks are collected while larger ones (e.g. from
+   * {@link io.github.mmm.cli.io.CliResult results}) are written directly.
+   *
+   * @param src the {@link ByteBuffer} with the bytes to write.
+   * @return the number of bytes written.
+   */
+  @Override
+  public int write(ByteBuffer src) throws IOException {
+
+    if (this.threadSafe) {
+      synchronized (this) {
+        return writeBytes(src);
+      }
+    }
+    return writeBytes(src);
+  }
+
+  private int writeBytes(ByteBuffer src) throws IOException {
+
+    int length = src.remaining();
+    if ((length <= COPY_LIMIT) && (length <= this.bytes.remaining())) {
+      this.bytes.put(src);
+    } else {
+      drain();
+      while (src.hasRemaining()) {
+        this.channel.write(src);
+      }
+    }
+    if (this.flushPolicy == CliFlushPolicy.LINE) {
+      drain();
+    }
+    return length;
+  }
+
+  @Override
+  public void flush() {
+
+    if (this.threadSafe) {
+      synchronized (this) {
+        drain();
+      }
+    } else {
+      drain();
+    }
+  }
+
+  @Override
+  public boolean isOpen() {
+
+    return this.channel.isOpen();
+  }
+
+  /**
+   * {@link #flush() Flushes} this buffer. The underlying channel is not closed as it is typically standard out or
+   * error.
+   */
+  @Override
+  public void close() {
+
+    flush();
+  }
+
+  /** {@link OutputStream} for {@link CliOutBufferChannel#getOut()}. */
+  private class ChannelOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) throws IOException {
+
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+      CliOutBufferChannel.this.write(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public void flush() {
+
+      CliOutBufferChannel.this.flush();
+    }
+  }
+
+}
@@ -0,0 +1,171 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Locale;
+
+import io.github.mmm.base.exception.ApplicationException;
+import io.github.mmm.base.i18n.Localizable;
+import io.github.mmm.cli.exception.CliException;
+import io.github.mmm.cli.io.CliOut;
+
+/**
+ * Implementation of {@link CliOut} that builds each log record in a reusable per-thread buffer and writes it with a
+ * single call to a {@link CliOutWriter}. This avoids multiple small writes (and potentially system calls) per
+ * record.
+ */
+public class CliOutBuffered implements CliOut {
+
+  private static final String NEWLINE = System.lineSeparator();
+
+  /** Records exceeding this capacity do not keep their buffer to avoid retaining large memory per thread. */
+  private static final int MAX_RECORD_CAPACITY = 64 * 1024;
+
+  private static final ThreadLocal<StringBuilder> RECORD = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+  private final CliOutWriter buffer;
+
+  private final String prefix;
+
+  private final Locale locale;
+
+  private final boolean printStacktraces;
+
+  /**
+   * The constructor.
+   *
+   * @param buffer the {@link CliOutWriter} to write to.
+   * @param prefix the loglevel prefix.
+   * @param locale the {@link Locale} to use.
+   * @param printStacktraces - {@code true} to print stacktraces of {@link Throwable exceptions}, {@code false}
+   *        otherwise.
+   */
+  public CliOutBuffered(CliOutWriter buffer, String prefix, Locale locale, boolean printStacktraces) {
+
+    super();
+    this.buffer = buffer;
+    this.prefix = prefix;
+    this.locale = locale;
+    this.printStacktraces = printStacktraces;
+  }
+
+  /**
+   * @return the {@link StringBuilder} to build the next log record in. Has to be passed to
+   *         {@link #endRecord(StringBuilder)} when complete.
+   */
+  protected static StringBuilder startRecord() {
+
+    StringBuilder record = RECORD.get();
+    if (record.length() > 0) {
+      // re-entrant logging (e.g. from toString) while a record is built in this thread
+      return new StringBuilder();
+    }
+    return record;
+  }
+
+  /**
+   * @param record the complete log record from {@link #startRecord()} to write.
+   */
+  protected void endRecord(StringBuilder record) {
+
+    try {
+      this.buffer.write(record);
+    } finally {
+      if (record.capacity() > MAX_RECORD_CAPACITY) {
+        RECORD.remove();
+      } else {
+        record.setLength(0);
+      }
+    }
+  }
+
+  /**
+   * @return the {@link Locale} to use.
+   */
+  protected Locale getLocale() {
+
+    return this.locale;
+  }
+
+  /**
+   * @return {@code true} to print stacktraces of {@link Throwable exceptions}, {@code false} otherwise.
+   */
+  protected boolean isPrintStacktraces() {
+
+    return this.printStacktraces;
+  }
+
+  @Override
+  public void log(String message) {
+
+    StringBuilder record = startRecord();
+    record.append(this.prefix).append(message).append(NEWLINE);
+    endRecord(record);
+  }
+
+  @Override
+  public void log(Object... messages) {
+
+    StringBuilder record = startRecord();
+    if (messages != null) {
+      for (Object message : messages) {
+        if (message instanceof Localizable) {
+          message = ((Localizable) message).getLocalizedMessage(this.locale);
+        }
+        record.append(message);
+      }
+    }
+    record.append(NEWLINE);
+    endRecord(record);
+  }
+
+  @Override
+  public void logFormat(String format, Object... args) {
+
+    for (int i = 0; i < args.length; i++) {
+      if (args[i] instanceof Localizable) {
+        args[i] = ((Localizable) args[i]).getLocalizedMessage(this.locale);
+      }
+    }
+    log(String.format(format, args));
+  }
+
+  @Override
+  public void log(Throwable exception) {
+
+    log(null, exception);
+  }
+
+  @Override
+  public void log(String message, Throwable exception) {
+
+    String msg = message;
+    if (msg == null) {
+      if (exception instanceof ApplicationException) {
+        msg = ((ApplicationException) exception).getLocalizedMessage(this.locale);
+      } else {
+        msg = exception.getMessage();
+      }
+      if (msg == null) {
+        msg = exception.getClass().getSimpleName();
+      }
+    }
+    StringBuilder record = startRecord();
+    record.append(this.prefix).append(msg).append(NEWLINE);
+    if (this.printStacktraces && (exception != null) && !(exception instanceof CliException)) {
+      StringWriter stacktrace = new StringWriter();
+      exception.printStackTrace(new PrintWriter(stacktrace));
+      record.append(stacktrace.getBuffer());
+    }
+    endRecord(record);
+  }
+
+  @Override
+  public boolean isSuppressed() {
+
+    return false;
+  }
+
+}
@@ -0,0 +1,71 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.Flushable;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Adapter from {@link PrintStream} to {@link WritableByteChannel} that is also {@link Flushable}. It is never closed as
+ * the {@link PrintStream} is owned by the {@link io.github.mmm.cli.io.CliConsole}.
+ */
+public class CliOutChannel implements WritableByteChannel, Flushable {
+
+  private static final int CHUNK_SIZE = 8192;
+
+  private final PrintStream out;
+
+  private byte[] chunk;
+
+  /**
+   * The constructor.
+   *
+   * @param out the {@link PrintStream} to write to.
+   */
+  public CliOutChannel(PrintStream out) {
+
+    super();
+    this.out = out;
+  }
+
+  @Override
+  public int write(ByteBuffer src) {
+
+    int length = src.remaining();
+    if (src.hasArray()) {
+      this.out.write(src.array(), src.arrayOffset() + src.position(), length);
+      src.position(src.limit());
+      return length;
+    }
+    if (this.chunk == null) {
+      this.chunk = new byte[CHUNK_SIZE];
+    }
+    while (src.hasRemaining()) {
+      int count = Math.min(src.remaining(), CHUNK_SIZE);
+      src.get(this.chunk, 0, count);
+      this.out.write(this.chunk, 0, count);
+    }
+    return length;
+  }
+
+  @Override
+  public void flush() {
+
+    this.out.flush();
+  }
+
+  @Override
+  public boolean isOpen() {
+
+    return true;
+  }
+
+  @Override
+  public void close() {
+
+    flush();
+  }
+
+}
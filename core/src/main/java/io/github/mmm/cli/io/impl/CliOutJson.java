@@ -0,0 +1,179 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Locale;
+
+import io.github.mmm.base.exception.ApplicationException;
+import io.github.mmm.base.i18n.Localizable;
+import io.github.mmm.cli.exception.CliException;
+import io.github.mmm.cli.io.CliLogFormat;
+import io.github.mmm.cli.io.CliLogLevel;
+import io.github.mmm.cli.io.CliOut;
+
+/**
+ * Implementation of {@link CliOut} for {@link CliLogFormat#JSON} writing each log record as a single line with a JSON
+ * object. Example:
+ *
+ * <pre>
+ * {"level":"ERROR","key":"Invalid value {value}","text":"Invalid value 42","exception":{"type":"...","message":"..."}}
+ * </pre>
+ *
+ * The property {@code key} contains the untranslated message template (the format or
+ * {@link Localizable#getMessage() message} of a {@link Localizable}) and is omitted if there is none. The property
+ * {@code args} contains the arguments of {@link #logFormat(String, Object...)} or the parts of
+ * {@link #log(Object...)} and is omitted if there are none.
+ */
+public class CliOutJson extends CliOutBuffered {
+
+  private static final String NONE = "OUT";
+
+  private final String level;
+
+  /**
+   * The constructor.
+   *
+   * @param buffer the {@link CliOutWriter} to write to.
+   * @param level the {@link CliLogLevel} or {@code null} for standard output.
+   * @param locale the {@link Locale} to use.
+   * @param printStacktraces - {@code true} to print stacktraces of {@link Throwable exceptions}, {@code false}
+   *        otherwise.
+   */
+  public CliOutJson(CliOutWriter buffer, CliLogLevel level, Locale locale, boolean printStacktraces) {
+
+    super(buffer, "", locale, printStacktraces);
+    if (level == null) {
+      this.level = NONE;
+    } else {
+      this.level = level.name();
+    }
+  }
+
+  private StringBuilder startJson() {
+
+    StringBuilder record = startRecord();
+    record.append("{\"level\":\"").append(this.level).append('"');
+    return record;
+  }
+
+  private void endJson(StringBuilder record) {
+
+    record.append("}\n");
+    endRecord(record);
+  }
+
+  private String localize(Object value) {
+
+    if (value instanceof Localizable) {
+      return ((Localizable) value).getLocalizedMessage(getLocale());
+    }
+    return String.valueOf(value);
+  }
+
+  @Override
+  public void log(String message) {
+
+    StringBuilder record = startJson();
+    CliJson.appendString(CliJson.appendName(record, "text"), message);
+    endJson(record);
+  }
+
+  @Override
+  public void log(Object... messages) {
+
+    StringBuilder record = startJson();
+    if ((messages != null) && (messages.length == 1) && (messages[0] instanceof Localizable)) {
+      Localizable message = (Localizable) messages[0];
+      CliJson.appendString(CliJson.appendName(record, "key"), message.getMessage());
+      CliJson.appendString(CliJson.appendName(record, "text"), message.getLocalizedMessage(getLocale()));
+    } else {
+      StringBuilder text = new StringBuilder();
+      if (messages != null) {
+        for (Object message : messages) {
+          text.append(localize(message));
+        }
+      }
+      CliJson.appendString(CliJson.appendName(record, "text"), text);
+      if ((messages != null) && (messages.length > 1)) {
+        appendArgs(record, messages);
+      }
+    }
+    endJson(record);
+  }
+
+  @Override
+  public void logFormat(String format, Object... args) {
+
+    Object[] localized = args.clone();
+    for (int i = 0; i < localized.length; i++) {
+      if (localized[i] instanceof Localizable) {
+        localized[i] = ((Localizable) localized[i]).getLocalizedMessage(getLocale());
+      }
+    }
+    StringBuilder record = startJson();
+    CliJson.appendString(CliJson.appendName(record, "key"), format);
+    CliJson.appendString(CliJson.appendName(record, "text"), String.format(format, localized));
+    if (localized.length > 0) {
+      appendArgs(record, localized);
+    }
+    endJson(record);
+  }
+
+  private void appendArgs(StringBuilder record, Object[] args) {
+
+    CliJson.appendName(record, "args").append('[');
+    for (int i = 0; i < args.length; i++) {
+      if (i > 0) {
+        record.append(',');
+      }
+      Object arg = args[i];
+      if (arg instanceof Localizable) {
+        arg = localize(arg);
+      }
+      CliJson.appendValue(record, arg);
+    }
+    record.append(']');
+  }
+
+  @Override
+  public void log(String message, Throwable exception) {
+
+    String key = null;
+    String msg = message;
+    if (msg == null) {
+      if (exception instanceof ApplicationException) {
+        ApplicationException applicationException = (ApplicationException) exception;
+        Localizable nlsMessage = applicationException.getNlsMessage();
+        if (nlsMessage != null) {
+          key = nlsMessage.getMessage();
+        }
+        msg = applicationException.getLocalizedMessage(getLocale());
+      } else if (exception != null) {
+        msg = exception.getMessage();
+      }
+      if ((msg == null) && (exception != null)) {
+        msg = exception.getClass().getSimpleName();
+      }
+    }
+    StringBuilder record = startJson();
+    if (key != null) {
+      CliJson.appendString(CliJson.appendName(record, "key"), key);
+    }
+    CliJson.appendString(CliJson.appendName(record, "text"), msg);
+    if (exception != null) {
+      CliJson.appendName(record, "exception").append('{');
+      CliJson.appendString(CliJson.appendName(record, "type"), exception.getClass().getName());
+      CliJson.appendString(CliJson.appendName(record, "message"), exception.getMessage());
+      if (isPrintStacktraces() && !(exception instanceof CliException)) {
+        StringWriter stacktrace = new StringWriter();
+        exception.printStackTrace(new PrintWriter(stacktrace));
+        CliJson.appendString(CliJson.appendName(record, "stacktrace"), stacktrace.getBuffer());
+      }
+      record.append('}');
+    }
+    endJson(record);
+  }
+
+}
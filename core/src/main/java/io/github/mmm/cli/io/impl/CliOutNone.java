@@ -2,6 +2,8 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.cli.io.impl;
 
+import java.util.function.Supplier;
+
 import io.github.mmm.cli.io.CliOut;
 
 /**
@@ -36,6 +38,26 @@ public class CliOutNone implements CliOut {
     assert (String.format(format, args) != null); // detect format errors during development
   }
 
+  @Override
+  public void logFormat(String format, Object arg) {
+
+  }
+
+  @Override
+  public void logFormat(String format, Object arg1, Object arg2) {
+
+  }
+
+  @Override
+  public void logFormat(String format, Object arg1, Object arg2, Object arg3) {
+
+  }
+
+  @Override
+  public void log(Supplier<String> message) {
+
+  }
+
   @Override
   public void log(Throwable exception) {
 
@@ -0,0 +1,346 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.github.mmm.cli.io.CliLogLevel;
+import io.github.mmm.cli.io.CliOverflowPolicy;
+
+/**
+ * Bounded queue of log records drained by a single writer thread that writes them to their {@link CliOutWriter}. Log
+ * records are enqueued without locking (a {@link ConcurrentLinkedQueue} bounded by an atomic counter) so logging
+ * threads are not stalled by a slow terminal or pipe. What happens if the queue is full is determined by the
+ * {@link CliOverflowPolicy}.
+ */
+public class CliOutQueue {
+
+  /** The default capacity of the queue (number of log records). */
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private final Queue<Entry> queue;
+
+  private final AtomicInteger size;
+
+  private final int capacity;
+
+  private final CliOverflowPolicy policy;
+
+  /** Pending records of {@link CliOverflowPolicy#COALESCE} while the queue was full. Guarded by itself. */
+  private final List<Entry> overflow;
+
+  private final AtomicLong submitted;
+
+  private final AtomicLong dropped;
+
+  private final AtomicLong failed;
+
+  private final Thread thread;
+
+  private final Object drained;
+
+  private volatile long written;
+
+  private volatile boolean coalescing;
+
+  private volatile boolean parked;
+
+  private volatile boolean closed;
+
+  private volatile RuntimeException failure;
+
+  /**
+   * The constructor.
+   *
+   * @param capacity the maximum number of log records in the queue.
+   * @param policy the {@link CliOverflowPolicy}.
+   */
+  public CliOutQueue(int capacity, CliOverflowPolicy policy) {
+
+    super();
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(Integer.toString(capacity));
+    }
+    Objects.requireNonNull(policy, "policy");
+    this.queue = new ConcurrentLinkedQueue<>();
+    this.size = new AtomicInteger();
+    this.capacity = capacity;
+    this.policy = policy;
+    this.overflow = new ArrayList<>();
+    this.submitted = new AtomicLong();
+    this.dropped = new AtomicLong();
+    this.failed = new AtomicLong();
+    this.drained = new Object();
+    this.thread = new Thread(this::run, "mmm-cli-out-" + THREAD_COUNTER.incrementAndGet());
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * @return the maximum number of log records in the queue.
+   */
+  public int getCapacity() {
+
+    return this.capacity;
+  }
+
+  /**
+   * @return the {@link CliOverflowPolicy}.
+   */
+  public CliOverflowPolicy getPolicy() {
+
+    return this.policy;
+  }
+
+  /**
+   * @return the number of log records that have been dropped due to {@link CliOverflowPolicy#DROP_DEBUG}.
+   */
+  public long getDropped() {
+
+    return this.dropped.get();
+  }
+
+  /**
+   * @return the number of log records that could not be written due to an error of their {@link CliOutWriter}.
+   * @see #getFailure()
+   */
+  public long getFailed() {
+
+    return this.failed.get();
+  }
+
+  /**
+   * @return the last error that prevented a log record from being written or {@code null} if no such error occurred.
+   * @see #getFailed()
+   */
+  public RuntimeException getFailure() {
+
+    return this.failure;
+  }
+
+  /**
+   * @param target the {@link CliOutWriter} to write the record to.
+   * @param level the {@link CliLogLevel} of the record. May be {@code null} for plain output.
+   * @param record the complete log record including the line separator.
+   */
+  public void write(CliOutWriter target, CliLogLevel level, CharSequence record) {
+
+    if (this.closed || (Thread.currentThread() == this.thread)) {
+      target.write(record);
+      return;
+    }
+    String text = record.toString();
+    if (this.coalescing && coalesce(target, text, false)) {
+      return;
+    }
+    while (!reserve()) {
+      if (this.policy == CliOverflowPolicy.COALESCE) {
+        coalesce(target, text, true);
+        return;
+      } else if ((this.policy == CliOverflowPolicy.DROP_DEBUG) && (level == CliLogLevel.DEBUG)) {
+        this.dropped.incrementAndGet();
+        return;
+      }
+      LockSupport.parkNanos(this, WAIT_NANOS);
+    }
+    this.submitted.incrementAndGet();
+    this.queue.offer(new Entry(target, text));
+    wakeup();
+  }
+
+  private boolean reserve() {
+
+    int current;
+    do {
+      current = this.size.get();
+      if (current >= this.capacity) {
+        return false;
+      }
+    } while (!this.size.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  private boolean coalesce(CliOutWriter target, String text, boolean force) {
+
+    synchronized (this.overflow) {
+      int last = this.overflow.size() - 1;
+      if (last < 0) {
+        if (!force) {
+          // overflow has just been written - continue with the queue
+          return false;
+        }
+        this.coalescing = true;
+      }
+      this.submitted.incrementAndGet();
+      if ((last >= 0) && (this.overflow.get(last).target == target)) {
+        this.overflow.get(last).append(text);
+      } else {
+        this.overflow.add(new Entry(target, text));
+      }
+    }
+    wakeup();
+    return true;
+  }
+
+  private void wakeup() {
+
+    if (this.parked) {
+      LockSupport.unpark(this.thread);
+    }
+  }
+
+  private void run() {
+
+    while (true) {
+      Entry entry = this.queue.poll();
+      if (entry != null) {
+        this.size.decrementAndGet();
+        write(entry);
+      } else if (!writeOverflow()) {
+        signalDrained();
+        if (this.closed) {
+          return;
+        }
+        this.parked = true;
+        if (this.queue.isEmpty() && !this.coalescing && !this.closed) {
+          LockSupport.park(this);
+        }
+        this.parked = false;
+      }
+    }
+  }
+
+  private boolean writeOverflow() {
+
+    if (!this.coalescing) {
+      return false;
+    }
+    List<Entry> entries;
+    synchronized (this.overflow) {
+      entries = new ArrayList<>(this.overflow);
+      this.overflow.clear();
+      this.coalescing = false;
+    }
+    for (Entry entry : entries) {
+      write(entry);
+    }
+    return true;
+  }
+
+  private void write(Entry entry) {
+
+    try {
+      entry.target.write(entry.getText());
+    } catch (RuntimeException e) {
+      // the writer thread must survive any failure of a single record - reported by the console from a safe path
+      this.failure = e;
+      this.failed.addAndGet(entry.count);
+    } finally {
+      this.written += entry.count;
+    }
+  }
+
+  private void signalDrained() {
+
+    synchronized (this.drained) {
+      this.drained.notifyAll();
+    }
+  }
+
+  /**
+   * Waits until all log records submitted before this call have been written to their {@link CliOutWriter}.
+   */
+  public void drain() {
+
+    if (Thread.currentThread() == this.thread) {
+      return;
+    }
+    long target = this.submitted.get();
+    boolean interrupted = false;
+    synchronized (this.drained) {
+      while ((this.written < target) && this.thread.isAlive()) {
+        LockSupport.unpark(this.thread);
+        try {
+          this.drained.wait(10);
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * {@link #drain() Drains} this queue and stops the writer thread. Further log records are written synchronously.
+   */
+  public void close() {
+
+    drain();
+    this.closed = true;
+    LockSupport.unpark(this.thread);
+    try {
+      this.thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // write what was enqueued concurrently to closing
+    Entry entry = this.queue.poll();
+    while (entry != null) {
+      write(entry);
+      entry = this.queue.poll();
+    }
+    writeOverflow();
+  }
+
+  private static class Entry {
+
+    private final CliOutWriter target;
+
+    private String text;
+
+    private StringBuilder chunk;
+
+    private int count;
+
+    private Entry(CliOutWriter target, String text) {
+
+      super();
+      this.target = target;
+      this.text = text;
+      this.count = 1;
+    }
+
+    private void append(String record) {
+
+      if (this.chunk == null) {
+        this.chunk = new StringBuilder(this.text);
+        this.text = null;
+      }
+      this.chunk.append(record);
+      this.count++;
+    }
+
+    private CharSequence getText() {
+
+      if (this.chunk == null) {
+        return this.text;
+      }
+      return this.chunk;
+    }
+  }
+
+}
@@ -0,0 +1,34 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.Flushable;
+import java.io.PrintStream;
+
+/**
+ * Interface for the target of complete log records shared by all {@link CliOutBuffered} instances writing to the same
+ * stream.
+ *
+ * @see CliOutBuffer
+ * @see CliOutBufferAsync
+ * @see CliOutBufferChannel
+ */
+public interface CliOutWriter extends Flushable {
+
+  /**
+   * @param record the complete log record including the line separator.
+   */
+  void write(CharSequence record);
+
+  /**
+   * Writes all pending log records and flushes the underlying stream.
+   */
+  @Override
+  void flush();
+
+  /**
+   * @return the {@link PrintStream} the log records are finally written to.
+   */
+  PrintStream getOut();
+
+}
@@ -0,0 +1,123 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.nio.channels.WritableByteChannel;
+
+import io.github.mmm.cli.io.CliResultFormat;
+
+/**
+ * Implementation of {@link io.github.mmm.cli.io.CliResult} for {@link CliResultFormat#BINARY}. See
+ * {@link CliResultFormat#BINARY} for the specification of the format.
+ */
+public class CliResultBinary extends AbstractCliResult {
+
+  /** The format version. */
+  public static final byte VERSION = 1;
+
+  /** Tag for {@code null}. */
+  public static final byte TAG_NULL = 0;
+
+  /** Tag for {@code false}. */
+  public static final byte TAG_FALSE = 1;
+
+  /** Tag for {@code true}. */
+  public static final byte TAG_TRUE = 2;
+
+  /** Tag for an integral number. */
+  public static final byte TAG_LONG = 3;
+
+  /** Tag for a floating point number. */
+  public static final byte TAG_DOUBLE = 4;
+
+  /** Tag for a string. */
+  public static final byte TAG_STRING = 5;
+
+  /**
+   * The constructor.
+   *
+   * @param channel the {@link WritableByteChannel} to write to.
+   * @param columns the names of the columns.
+   */
+  public CliResultBinary(WritableByteChannel channel, String... columns) {
+
+    super(channel, columns);
+  }
+
+  @Override
+  public CliResultFormat getFormat() {
+
+    return CliResultFormat.BINARY;
+  }
+
+  @Override
+  protected void writeStart() {
+
+    put((byte) 'M');
+    put((byte) 'C');
+    put((byte) 'R');
+    put(VERSION);
+    putVarint(this.columns.length);
+    for (String column : this.columns) {
+      putString(column);
+    }
+  }
+
+  private void putVarint(long value) {
+
+    long v = value;
+    while ((v & ~0x7FL) != 0) {
+      put((byte) ((v & 0x7F) | 0x80));
+      v >>>= 7;
+    }
+    put((byte) v);
+  }
+
+  private void putString(String value) {
+
+    putVarint(getUtf8Length(value));
+    putUtf8(value);
+  }
+
+  @Override
+  protected void writeString(int col, String value) {
+
+    if (value == null) {
+      put(TAG_NULL);
+    } else {
+      put(TAG_STRING);
+      putString(value);
+    }
+  }
+
+  @Override
+  protected void writeLong(int col, long value) {
+
+    put(TAG_LONG);
+    putVarint((value << 1) ^ (value >> 63));
+  }
+
+  @Override
+  protected void writeDouble(int col, double value) {
+
+    put(TAG_DOUBLE);
+    ensure(8).putDouble(value);
+  }
+
+  @Override
+  protected void writeBoolean(int col, boolean value) {
+
+    if (value) {
+      put(TAG_TRUE);
+    } else {
+      put(TAG_FALSE);
+    }
+  }
+
+  @Override
+  protected void writeRowEnd() {
+
+    // rows have a fixed number of values
+  }
+
+}
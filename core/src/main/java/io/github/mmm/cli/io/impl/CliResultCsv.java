@@ -0,0 +1,109 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.nio.channels.WritableByteChannel;
+
+import io.github.mmm.cli.io.CliResultFormat;
+
+/**
+ * Implementation of {@link io.github.mmm.cli.io.CliResult} for {@link CliResultFormat#CSV}. The first row contains the
+ * column names. Values are only quoted if they contain a comma, quote or line break. {@code null} is written as empty
+ * value.
+ */
+public class CliResultCsv extends AbstractCliResult {
+
+  /**
+   * The constructor.
+   *
+   * @param channel the {@link WritableByteChannel} to write to.
+   * @param columns the names of the columns.
+   */
+  public CliResultCsv(WritableByteChannel channel, String... columns) {
+
+    super(channel, columns);
+  }
+
+  @Override
+  public CliResultFormat getFormat() {
+
+    return CliResultFormat.CSV;
+  }
+
+  @Override
+  protected void writeStart() {
+
+    for (int i = 0; i < this.columns.length; i++) {
+      writeString(i, this.columns[i]);
+    }
+    writeRowEnd();
+  }
+
+  private void writeSeparator(int col) {
+
+    if (col > 0) {
+      put((byte) ',');
+    }
+  }
+
+  @Override
+  protected void writeString(int col, String value) {
+
+    writeSeparator(col);
+    if (value == null) {
+      return;
+    }
+    int length = value.length();
+    boolean quote = false;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if ((c == ',') || (c == '"') || (c == '\n') || (c == '\r')) {
+        quote = true;
+        break;
+      }
+    }
+    if (!quote) {
+      putUtf8(value);
+      return;
+    }
+    put((byte) '"');
+    int i = 0;
+    while (i < length) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        put((byte) '"');
+      }
+      i += putUtf8(c, value, i);
+    }
+    put((byte) '"');
+  }
+
+  @Override
+  protected void writeLong(int col, long value) {
+
+    writeSeparator(col);
+    putDecimal(value);
+  }
+
+  @Override
+  protected void writeDouble(int col, double value) {
+
+    writeSeparator(col);
+    putAscii(Double.toString(value));
+  }
+
+  @Override
+  protected void writeBoolean(int col, boolean value) {
+
+    writeSeparator(col);
+    putAscii(Boolean.toString(value));
+  }
+
+  @Override
+  protected void writeRowEnd() {
+
+    put((byte) '\r');
+    put((byte) '\n');
+  }
+
+}
@@ -0,0 +1,138 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import io.github.mmm.cli.io.CliResultFormat;
+
+/**
+ * Implementation of {@link io.github.mmm.cli.io.CliResult} for {@link CliResultFormat#JSON} writing each row as a
+ * single line with a JSON object using the column names as keys. The encoded keys are computed once so a row only
+ * requires to encode its values.
+ */
+public class CliResultJson extends AbstractCliResult {
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+  private final byte[][] keys;
+
+  /**
+   * The constructor.
+   *
+   * @param channel the {@link WritableByteChannel} to write to.
+   * @param columns the names of the columns.
+   */
+  public CliResultJson(WritableByteChannel channel, String... columns) {
+
+    super(channel, columns);
+    this.keys = new byte[columns.length][];
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < columns.length; i++) {
+      sb.setLength(0);
+      if (i == 0) {
+        sb.append('{');
+      } else {
+        sb.append(',');
+      }
+      CliJson.appendString(sb, columns[i]).append(':');
+      this.keys[i] = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+  }
+
+  @Override
+  public CliResultFormat getFormat() {
+
+    return CliResultFormat.JSON;
+  }
+
+  @Override
+  protected void writeStart() {
+
+    // JSON Lines has no header
+  }
+
+  @Override
+  protected void writeString(int col, String value) {
+
+    put(this.keys[col]);
+    if (value == null) {
+      putAscii("null");
+      return;
+    }
+    put((byte) '"');
+    int length = value.length();
+    int i = 0;
+    while (i < length) {
+      char c = value.charAt(i);
+      if ((c < 0x20) || (c == '"') || (c == '\\') || (c == '\u2028') || (c == '\u2029')) {
+        putEscaped(c);
+        i++;
+      } else {
+        i += putUtf8(c, value, i);
+      }
+    }
+    put((byte) '"');
+  }
+
+  private void putEscaped(char c) {
+
+    put((byte) '\\');
+    switch (c) {
+      case '"':
+      case '\\':
+        put((byte) c);
+        break;
+      case '\n':
+        put((byte) 'n');
+        break;
+      case '\r':
+        put((byte) 'r');
+        break;
+      case '\t':
+        put((byte) 't');
+        break;
+      default:
+        put((byte) 'u');
+        put(HEX[(c >> 12) & 0xF]);
+        put(HEX[(c >> 8) & 0xF]);
+        put(HEX[(c >> 4) & 0xF]);
+        put(HEX[c & 0xF]);
+    }
+  }
+
+  @Override
+  protected void writeLong(int col, long value) {
+
+    put(this.keys[col]);
+    putDecimal(value);
+  }
+
+  @Override
+  protected void writeDouble(int col, double value) {
+
+    put(this.keys[col]);
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      // not representable in JSON
+      putAscii("null");
+    } else {
+      putAscii(Double.toString(value));
+    }
+  }
+
+  @Override
+  protected void writeBoolean(int col, boolean value) {
+
+    put(this.keys[col]);
+    putAscii(Boolean.toString(value));
+  }
+
+  @Override
+  protected void writeRowEnd() {
+
+    put((byte) '}');
+    put((byte) '\n');
+  }
+
+}
@@ -0,0 +1,168 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.mmm.cli.io.CliResultFormat;
+
+/**
+ * Implementation of {@link io.github.mmm.cli.io.CliResult} for {@link CliResultFormat#TEXT} writing a table with
+ * aligned columns for humans. To stream large results the column widths are determined from the header and the first
+ * {@link #SAMPLE_ROWS sample rows}. Longer values of further rows exceed their column. Numbers are aligned right,
+ * anything else left.
+ */
+public class CliResultText extends AbstractCliResult {
+
+  /** The number of rows to collect for computing the column widths. */
+  public static final int SAMPLE_ROWS = 100;
+
+  private static final String SEPARATOR = "  ";
+
+  private static final byte[] NEWLINE = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+  private final String[] cells;
+
+  private final boolean[] numeric;
+
+  private List<String[]> sampleCells;
+
+  private List<boolean[]> sampleNumeric;
+
+  private int[] widths;
+
+  /**
+   * The constructor.
+   *
+   * @param channel the {@link WritableByteChannel} to write to.
+   * @param columns the names of the columns.
+   */
+  public CliResultText(WritableByteChannel channel, String... columns) {
+
+    super(channel, columns);
+    this.cells = new String[columns.length];
+    this.numeric = new boolean[columns.length];
+    this.sampleCells = new ArrayList<>();
+    this.sampleNumeric = new ArrayList<>();
+  }
+
+  @Override
+  public CliResultFormat getFormat() {
+
+    return CliResultFormat.TEXT;
+  }
+
+  @Override
+  protected void writeStart() {
+
+    // header is written together with the sample rows
+  }
+
+  private void set(int col, String value, boolean isNumeric) {
+
+    this.cells[col] = value;
+    this.numeric[col] = isNumeric;
+  }
+
+  @Override
+  protected void writeString(int col, String value) {
+
+    if (value == null) {
+      set(col, "", false);
+    } else {
+      set(col, value, false);
+    }
+  }
+
+  @Override
+  protected void writeLong(int col, long value) {
+
+    set(col, Long.toString(value), true);
+  }
+
+  @Override
+  protected void writeDouble(int col, double value) {
+
+    set(col, Double.toString(value), true);
+  }
+
+  @Override
+  protected void writeBoolean(int col, boolean value) {
+
+    set(col, Boolean.toString(value), false);
+  }
+
+  @Override
+  protected void writeRowEnd() {
+
+    if (this.widths == null) {
+      this.sampleCells.add(this.cells.clone());
+      this.sampleNumeric.add(this.numeric.clone());
+      if (this.sampleCells.size() >= SAMPLE_ROWS) {
+        writeSample();
+      }
+    } else {
+      writeRow(this.cells, this.numeric);
+    }
+  }
+
+  @Override
+  protected void writeEnd() {
+
+    if (this.widths == null) {
+      writeSample();
+    }
+  }
+
+  private void writeSample() {
+
+    this.widths = new int[this.columns.length];
+    for (int i = 0; i < this.columns.length; i++) {
+      this.widths[i] = this.columns[i].length();
+    }
+    for (String[] row : this.sampleCells) {
+      for (int i = 0; i < row.length; i++) {
+        this.widths[i] = Math.max(this.widths[i], row[i].length());
+      }
+    }
+    writeRow(this.columns, new boolean[this.columns.length]);
+    for (int i = 0; i < this.sampleCells.size(); i++) {
+      writeRow(this.sampleCells.get(i), this.sampleNumeric.get(i));
+    }
+    this.sampleCells = null;
+    this.sampleNumeric = null;
+  }
+
+  private void writeRow(String[] row, boolean[] rightAligned) {
+
+    int last = row.length - 1;
+    for (int i = 0; i <= last; i++) {
+      if (i > 0) {
+        putAscii(SEPARATOR);
+      }
+      String cell = row[i];
+      int padding = this.widths[i] - cell.length();
+      if (rightAligned[i]) {
+        pad(padding);
+        putUtf8(cell);
+      } else {
+        putUtf8(cell);
+        if (i < last) {
+          pad(padding);
+        }
+      }
+    }
+    put(NEWLINE);
+  }
+
+  private void pad(int padding) {
+
+    for (int i = 0; i < padding; i++) {
+      put((byte) ' ');
+    }
+  }
+
+}
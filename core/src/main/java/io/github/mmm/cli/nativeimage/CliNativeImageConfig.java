@@ -0,0 +1,235 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.nativeimage;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.github.mmm.cli.CliMain;
+import io.github.mmm.cli.command.CliCommand;
+import io.github.mmm.cli.container.CliCommandMetadata;
+import io.github.mmm.cli.container.impl.AbstractCliCommandContainerGroup;
+import io.github.mmm.cli.container.impl.CliCommandContainerImpl;
+import io.github.mmm.cli.container.impl.CliContainerImpl;
+import io.github.mmm.cli.io.impl.CliJson;
+
+/**
+ * Generator for the reachability metadata required to build a {@link CliMain CLI program} as GraalVM native image. It
+ * inspects the {@link CliMain#getContainer() registered commands} on the JVM and writes
+ * <ul>
+ * <li>{@code reflect-config.json} with the {@link CliCommand} interfaces, their bean implementations and the
+ * {@link CliCommandMetadata generated metadata},</li>
+ * <li>{@code proxy-config.json} with the interfaces of {@link Proxy dynamic proxies} created by the
+ * {@link io.github.mmm.bean.BeanFactory} and</li>
+ * <li>{@code resource-config.json} with the {@link io.github.mmm.cli.CliBundle resource bundles} of the commands and
+ * the {@link CliMain#getVersion() version} resource as well as the {@link CliCommandMetadata#INDEX metadata
+ * index}.</li>
+ * </ul>
+ * The files are written to {@code META-INF/native-image/<name>} of the given resource folder so {@code native-image}
+ * picks them up automatically from the classpath. Run it as part of the build (e.g. via {@code exec-maven-plugin}):
+ *
+ * <pre>
+ * java io.github.mmm.cli.nativeimage.CliNativeImageConfig com.example.MyProgram target/classes com.example/my-program
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public class CliNativeImageConfig {
+
+  private final CliMain main;
+
+  private final Set<String> reflectClasses;
+
+  private final Set<List<String>> proxies;
+
+  private final Set<String> bundles;
+
+  private final Set<String> resources;
+
+  private String version;
+
+  /**
+   * The constructor.
+   *
+   * @param main the {@link CliMain} to generate the reachability metadata for.
+   */
+  public CliNativeImageConfig(CliMain main) {
+
+    super();
+    this.main = main;
+    this.reflectClasses = new LinkedHashSet<>();
+    this.proxies = new LinkedHashSet<>();
+    this.bundles = new LinkedHashSet<>();
+    this.resources = new LinkedHashSet<>();
+    collect();
+  }
+
+  private void collect() {
+
+    CliContainerImpl container = (CliContainerImpl) this.main.getContainer();
+    for (AbstractCliCommandContainerGroup group : container.getGroups()) {
+      int commandCount = group.getCommandCount();
+      for (int i = 0; i < commandCount; i++) {
+        collect(group.getCommand(i));
+      }
+    }
+    String programVersion = this.main.getVersion();
+    if (!"undefined".equals(programVersion)) {
+      this.version = programVersion;
+      this.resources.add(getVersionResource());
+    }
+  }
+
+  private void collect(CliCommandContainerImpl commandContainer) {
+
+    Class<? extends CliCommand> commandInterface = commandContainer.getCommandInterface();
+    collectInterfaces(commandInterface);
+    Class<?> commandClass = commandContainer.getCommand().getClass();
+    if (Proxy.isProxyClass(commandClass)) {
+      List<String> interfaces = new ArrayList<>();
+      for (Class<?> proxyInterface : commandClass.getInterfaces()) {
+        interfaces.add(proxyInterface.getName());
+      }
+      this.proxies.add(interfaces);
+    } else {
+      this.reflectClasses.add(commandClass.getName());
+    }
+    if (CliCommandMetadata.get(commandInterface) != null) {
+      this.reflectClasses.add(CliCommandMetadata.getMetadataClassName(commandInterface));
+      this.resources.add(CliCommandMetadata.INDEX);
+    }
+    if (commandContainer.getBundle().isAvailable()) {
+      this.bundles.add(commandContainer.getBundle().getName());
+    }
+  }
+
+  private void collectInterfaces(Class<?> commandInterface) {
+
+    if (this.reflectClasses.add(commandInterface.getName())) {
+      for (Class<?> superInterface : commandInterface.getInterfaces()) {
+        if (CliCommand.class.isAssignableFrom(superInterface)) {
+          collectInterfaces(superInterface);
+        }
+      }
+    }
+  }
+
+  private String getVersionResource() {
+
+    return CliMain.VERSION_RESOURCE_FOLDER + this.main.getClass().getName() + ".version";
+  }
+
+  /**
+   * @return the JSON for {@code reflect-config.json}.
+   */
+  public String getReflectConfig() {
+
+    StringBuilder sb = new StringBuilder("[");
+    String separator = "\n";
+    for (String className : this.reflectClasses) {
+      sb.append(separator);
+      sb.append("  {\"name\": ");
+      CliJson.appendString(sb, className);
+      sb.append(", \"allDeclaredConstructors\": true, \"allPublicMethods\": true, \"allDeclaredMethods\": true}");
+      separator = ",\n";
+    }
+    sb.append("\n]\n");
+    return sb.toString();
+  }
+
+  /**
+   * @return the JSON for {@code proxy-config.json}.
+   */
+  public String getProxyConfig() {
+
+    StringBuilder sb = new StringBuilder("[");
+    String separator = "\n";
+    for (List<String> interfaces : this.proxies) {
+      sb.append(separator);
+      sb.append("  {\"interfaces\": [");
+      String interfaceSeparator = "";
+      for (String proxyInterface : interfaces) {
+        sb.append(interfaceSeparator);
+        CliJson.appendString(sb, proxyInterface);
+        interfaceSeparator = ", ";
+      }
+      sb.append("]}");
+      separator = ",\n";
+    }
+    sb.append("\n]\n");
+    return sb.toString();
+  }
+
+  /**
+   * @return the JSON for {@code resource-config.json}.
+   */
+  public String getResourceConfig() {
+
+    StringBuilder sb = new StringBuilder("{\n  \"resources\": {\"includes\": [");
+    String separator = "\n";
+    for (String resource : this.resources) {
+      sb.append(separator);
+      sb.append("    {\"pattern\": ");
+      CliJson.appendString(sb, "\\Q" + resource + "\\E");
+      sb.append('}');
+      separator = ",\n";
+    }
+    sb.append("\n  ]},\n  \"bundles\": [");
+    separator = "\n";
+    for (String bundle : this.bundles) {
+      sb.append(separator);
+      sb.append("    {\"name\": ");
+      CliJson.appendString(sb, bundle);
+      sb.append('}');
+      separator = ",\n";
+    }
+    sb.append("\n  ]\n}\n");
+    return sb.toString();
+  }
+
+  /**
+   * @param resourceFolder the root folder of the resources (e.g. {@code target/classes}).
+   * @param name the name of the configuration (typically {@code <groupId>/<artifactId>}).
+   * @return the {@link Path} of the folder where the configuration files have been written.
+   * @throws IOException on I/O error.
+   */
+  public Path write(Path resourceFolder, String name) throws IOException {
+
+    Path configFolder = resourceFolder.resolve("META-INF/native-image").resolve(name);
+    Files.createDirectories(configFolder);
+    Files.writeString(configFolder.resolve("reflect-config.json"), getReflectConfig(), StandardCharsets.UTF_8);
+    Files.writeString(configFolder.resolve("proxy-config.json"), getProxyConfig(), StandardCharsets.UTF_8);
+    Files.writeString(configFolder.resolve("resource-config.json"), getResourceConfig(), StandardCharsets.UTF_8);
+    if (this.version != null) {
+      Path versionFile = resourceFolder.resolve(getVersionResource());
+      Files.createDirectories(versionFile.getParent());
+      Files.writeString(versionFile, this.version, StandardCharsets.UTF_8);
+    }
+    return configFolder;
+  }
+
+  /**
+   * @param args the fully qualified name of the {@link CliMain} class (requires a public no-args constructor), the
+   *        resource folder and the {@link #write(Path, String) name} of the configuration.
+   * @throws Exception on error.
+   */
+  public static void main(String[] args) throws Exception {
+
+    if (args.length != 3) {
+      throw new IllegalArgumentException(
+          "Usage: " + CliNativeImageConfig.class.getName() + " <main-class> <resource-folder> <name>");
+    }
+    Class<?> mainClass = Class.forName(args[0]);
+    CliMain main = (CliMain) mainClass.getDeclaredConstructor().newInstance();
+    Path folder = new CliNativeImageConfig(main).write(Path.of(args[1]), args[2]);
+    System.out.println("Generated native-image configuration for " + args[0] + " in " + folder);
+  }
+
+}
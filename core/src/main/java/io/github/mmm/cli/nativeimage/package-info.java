@@ -0,0 +1,6 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+/**
+ * Contains the support to build a {@link io.github.mmm.cli.CliMain CLI program} as GraalVM native image.
+ */
+package io.github.mmm.cli.nativeimage;
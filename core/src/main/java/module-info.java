@@ -169,6 +169,12 @@ module io.github.mmm.cli {
 
   exports io.github.mmm.cli.io;
 
+  exports io.github.mmm.cli.daemon;
+
+  exports io.github.mmm.cli.nativeimage;
+
+  exports io.github.mmm.cli.cds;
+
   // exports io.github.mmm.cli.io.impl;
 
 }
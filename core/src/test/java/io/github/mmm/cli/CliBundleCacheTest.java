@@ -0,0 +1,100 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.io.CliConsole;
+import io.github.mmm.cli.io.impl.CliConsoleImpl;
+
+/**
+ * Test of {@link CliBundleCache}.
+ */
+public class CliBundleCacheTest extends Assertions {
+
+  private static final String BUNDLE = "l10n.io.github.mmm.cli.CliCommandTest";
+
+  /** Test of {@link CliBundleCache#get(String, Locale, CliConsole)} for an existing bundle. */
+  @Test
+  public void testGet() {
+
+    // given
+    CliConsoleImpl console = new CliConsoleImpl();
+    // when
+    Map<String, String> english = CliBundleCache.get(BUNDLE, Locale.ENGLISH, console);
+    Map<String, String> german = CliBundleCache.get(BUNDLE, Locale.GERMAN, console);
+    // then
+    assertThat(english).containsEntry("help", "Test the command-line-interface.")
+        .isSameAs(CliBundleCache.get(BUNDLE, Locale.ENGLISH, console));
+    assertThat(german).containsEntry("help", "Test der Kommandozeilen-Schnittstelle.");
+  }
+
+  /** Test of {@link CliBundleCache#get(String, Locale, CliConsole)} for a missing bundle. */
+  @Test
+  public void testGetMissing() {
+
+    // given
+    CliConsoleImpl console = new CliConsoleImpl();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    console.setStdErr(new PrintStream(err));
+    String name = "l10n.io.github.mmm.cli.Undefined";
+    // when
+    Map<String, String> first = CliBundleCache.get(name, Locale.ENGLISH, console);
+    int errorLength = err.size();
+    Map<String, String> second = CliBundleCache.get(name, Locale.ENGLISH, console);
+    // then
+    assertThat(first).isNull();
+    assertThat(second).isNull();
+    assertThat(errorLength).isPositive();
+    assertThat(err.size()).isEqualTo(errorLength);
+  }
+
+  /** Test of {@link CliBundle#preload(Executor)}. */
+  @Test
+  public void testPreload() {
+
+    // given
+    CliConsoleImpl console = new CliConsoleImpl();
+    console.setLocale(Locale.ENGLISH);
+    CliBundle bundle = new CliBundle("io.github.mmm.cli.CliCommandInvalidOptionDuplicate", console);
+    List<Runnable> tasks = new ArrayList<>();
+    // when
+    bundle.preload(tasks::add);
+    bundle.preload(tasks::add);
+    // then
+    assertThat(tasks).hasSize(1);
+    // and when
+    tasks.get(0).run();
+    // then
+    assertThat(bundle.isAvailable()).isTrue();
+    assertThat(CliBundleCache.get(bundle.getName(), Locale.ENGLISH, console)).isNotEmpty();
+  }
+
+  /** Test of {@link CliBundleCache#invalidate(String)} with {@link CliBundle}. */
+  @Test
+  public void testInvalidate() {
+
+    // given
+    CliConsoleImpl console = new CliConsoleImpl();
+    console.setLocale(Locale.ENGLISH);
+    CliBundle bundle = new CliBundle("io.github.mmm.cli.CliCommandTest", console);
+    Map<String, String> table = CliBundleCache.get(BUNDLE, Locale.ENGLISH, console);
+    int version = CliBundleCache.getVersion();
+    // when
+    CliBundleCache.invalidate(BUNDLE);
+    // then
+    assertThat(CliBundleCache.getVersion()).isNotEqualTo(version);
+    assertThat(bundle.get("help")).isEqualTo("Test the command-line-interface.");
+    assertThat(CliBundleCache.get(BUNDLE, Locale.ENGLISH, console)).isNotSameAs(table).isEqualTo(table);
+  }
+
+}
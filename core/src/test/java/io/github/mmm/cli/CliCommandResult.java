@@ -0,0 +1,23 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli;
+
+import io.github.mmm.cli.command.CliCommandWithResult;
+import io.github.mmm.cli.io.CliResult;
+
+/**
+ * The test command with result.
+ */
+public interface CliCommandResult extends CliCommandWithResult {
+
+  @Override
+  default int run(CliMain main) {
+
+    main.console().out().log("running");
+    try (CliResult result = result(main, "name", "size")) {
+      result.row("a", Integer.valueOf(1));
+    }
+    return 0;
+  }
+
+}
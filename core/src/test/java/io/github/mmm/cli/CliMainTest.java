@@ -4,12 +4,18 @@ package io.github.mmm.cli;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.Test;
 
+import io.github.mmm.cli.io.impl.CliConsoleChannel;
 import io.github.mmm.cli.io.impl.CliConsoleImpl;
 
 /**
@@ -90,6 +96,59 @@ public class CliMainTest extends Assertions {
     assertProgram(0, "42\n[key1, key2]\n", "", "--mode", "JUnit", "--key", "key1", "--key", "key2", "42");
   }
 
+  /**
+   * Test of {@link CliMain#run(io.github.mmm.cli.io.CliConsole, String...)} with concurrent sessions.
+   *
+   * @throws Exception on error.
+   */
+  @Test
+  public void testRunConcurrentSessions() throws Exception {
+
+    // given
+    TestProgram prg = new TestProgram();
+    int sessionCount = 16;
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<Integer>> results = new ArrayList<>();
+    List<ByteArrayOutputStream> outs = new ArrayList<>();
+    try {
+      // when
+      for (int i = 0; i < sessionCount; i++) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        outs.add(out);
+        CliConsoleImpl console = new CliConsoleImpl();
+        console.setStdOut(new PrintStream(out));
+        String[] args = { "--mode", "JUnit", "--key", "key" + i, Integer.toString(i) };
+        results.add(executor.submit(() -> prg.run(console, args)));
+      }
+      // then
+      for (int i = 0; i < sessionCount; i++) {
+        assertThat(results.get(i).get()).isZero();
+        assertThat(outs.get(i).toString().replace("\r", "")).isEqualTo(i + "\n[key" + i + "]\n");
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /** Test that {@link CliMain} makes a {@link CliConsoleChannel} thread-safe for parallel dispatch. */
+  @Test
+  public void testParallelDispatchThreadSafeConsole() {
+
+    // given
+    CliConsoleChannel console = new CliConsoleChannel();
+    assertThat(console.isThreadSafe()).isFalse();
+    // when
+    new TestProgram(console) {
+      @Override
+      protected boolean isParallelDispatch() {
+
+        return true;
+      }
+    };
+    // then
+    assertThat(console.isThreadSafe()).isTrue();
+  }
+
   private void assertProgram(int expectedCode, String expectedOut, String expectedErr, String... args) {
 
     assertProgram(expectedCode, expectedOut, expectedErr, null, args);
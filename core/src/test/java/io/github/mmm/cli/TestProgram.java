@@ -2,11 +2,31 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.cli;
 
+import io.github.mmm.cli.io.CliConsole;
+
 /**
  * Stupid main program for testing.
  */
 public class TestProgram extends CliMain {
 
+  /**
+   * The constructor.
+   */
+  public TestProgram() {
+
+    super();
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param console the {@link CliConsole} to use.
+   */
+  public TestProgram(CliConsole console) {
+
+    super(console);
+  }
+
   @Override
   protected void addCommands() {
 
@@ -0,0 +1,146 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.arg;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.mmm.cli.exception.CliArgFileException;
+
+/**
+ * Test of {@link CliArgTokenizer} and its implementations.
+ */
+public class CliArgTokenizerTest extends Assertions {
+
+  /** Test of {@link CliArgs#of(java.io.Reader)} with quotes, escapes and comments. */
+  @Test
+  public void testTokenize() {
+
+    // given
+    String text = "# comment\n  --key=value  -xv\t\"file with spaces.txt\"\n'single \"quoted\"' "
+        + "\"a\\tb\\\\c\\\"d\" x#y # trailing comment\n\"long \\\n    line\" pre\"fix\"";
+    // when
+    CliArgs args = CliArgs.of(new StringReader(text));
+    // then
+    assertThat(args.getOriginalArguments()).containsExactly("--key=value", "-xv", "file with spaces.txt",
+        "single \"quoted\"", "a\tb\\c\"d", "x#y", "long line", "prefix");
+    assertThat(args.getOptions()).extracting(CliArgument::get).containsExactly("--key", "-x", "-v");
+  }
+
+  /** Test of {@link CliArgs#of(java.util.Iterator)}. */
+  @Test
+  public void testIterator() {
+
+    // when
+    CliArgs args = CliArgs.of(List.of("-abc", "--", "-file").iterator());
+    // then
+    assertThat(args.getOriginalArguments()).containsExactly("-abc", "--", "-file");
+    assertThat(args.getArguments()).extracting(CliArgument::get).containsExactly("-a", "-b", "-c", "-file");
+    assertThat(args.getLast().isEndOptions()).isTrue();
+  }
+
+  /**
+   * Test of {@link CliArgs#ofArgFiles(CliOptionSymbols, String...)}.
+   *
+   * @param dir the temporary directory.
+   * @throws IOException on error.
+   */
+  @Test
+  public void testArgFiles(@TempDir Path dir) throws IOException {
+
+    // given
+    Path file = dir.resolve("args.txt");
+    Files.writeString(file, "--include\nfile1.txt\n\"file 2.txt\"\n@nested.txt\n");
+    // when
+    CliArgs args = CliArgs.ofArgFiles(CliOptionSymbols.EMPTY, "build", "@" + file, "@@literal", "@", "last");
+    // then
+    assertThat(args.getOriginalArguments()).containsExactly("build", "--include", "file1.txt", "file 2.txt",
+        "@nested.txt", "@literal", "@", "last");
+    assertThat(CliArgs.of(file).getOriginalArguments()).containsExactly("--include", "file1.txt", "file 2.txt",
+        "@nested.txt");
+  }
+
+  /**
+   * Test of {@link CliArgs#ofArgFiles(CliOptionSymbols, String...)} with missing file.
+   *
+   * @param dir the temporary directory.
+   */
+  @Test
+  public void testArgFileMissing(@TempDir Path dir) {
+
+    // given
+    String file = dir.resolve("missing.txt").toString();
+    // when + then
+    assertThatThrownBy(() -> CliArgs.ofArgFiles(CliOptionSymbols.EMPTY, "@" + file))
+        .isInstanceOf(CliArgFileException.class).extracting("file").isEqualTo(file);
+  }
+
+  /**
+   * Test of {@link CliArgs#ofArgFiles(CliOptionSymbols, String...)} with a quote that is not terminated.
+   *
+   * @param dir the temporary directory.
+   * @throws IOException on error.
+   */
+  @Test
+  public void testArgFileUnterminatedQuote(@TempDir Path dir) throws IOException {
+
+    // given
+    Path file = dir.resolve("args.txt");
+    Files.writeString(file, "--include\r\n\"file 1.txt\"\n'file \\\n  2.txt' \"truncated\nfile\n");
+    String source = file.toString();
+    // when + then
+    assertThatThrownBy(() -> CliArgs.ofArgFiles(CliOptionSymbols.EMPTY, Long.MAX_VALUE, "@" + source))
+        .isInstanceOf(CliArgFileException.class).hasMessageContaining(source + ":4").extracting("line")
+        .isEqualTo(Integer.valueOf(4));
+    assertThatThrownBy(() -> CliArgs.ofArgFiles(CliOptionSymbols.EMPTY, 0, "@" + source))
+        .isInstanceOf(CliArgFileException.class).extracting("line").isEqualTo(Integer.valueOf(4));
+  }
+
+  /**
+   * Test of {@link CliArgMappedTokenizer} compared to {@link CliArgReaderTokenizer}.
+   *
+   * @param dir the temporary directory.
+   * @throws IOException on error.
+   */
+  @Test
+  public void testMapped(@TempDir Path dir) throws IOException {
+
+    // given
+    Path file = dir.resolve("args.txt");
+    Files.writeString(file, "# Gr\u00fc\u00dfe\n--name=\"J\u00f6rg \u00c4\"\n\u00fcber.txt 'a\\tb'\n");
+    // when
+    CliArgs buffered = CliArgs.ofArgFiles(CliOptionSymbols.EMPTY, Long.MAX_VALUE, "@" + file);
+    CliArgs mapped = CliArgs.ofArgFiles(CliOptionSymbols.EMPTY, 0, "@" + file);
+    // then
+    assertThat(buffered.getOriginalArguments()).containsExactly("--name=J\u00f6rg \u00c4", "\u00fcber.txt", "a\tb");
+    assertThat(mapped.getOriginalArguments()).containsExactly(buffered.getOriginalArguments());
+  }
+
+  /**
+   * Test of {@link CliArgMappedTokenizer} with tokens spanning multiple mapped regions.
+   *
+   * @param dir the temporary directory.
+   * @throws IOException on error.
+   */
+  @Test
+  public void testMappedRegions(@TempDir Path dir) throws IOException {
+
+    // given
+    Path file = dir.resolve("args.txt");
+    Files.writeString(file, "first \"second arg\" third\n");
+    // when
+    try (CliArgMappedTokenizer tokenizer = new CliArgMappedTokenizer(file, file.toString(), 4)) {
+      CliArgs args = CliArgs.of(tokenizer);
+      // then
+      assertThat(args.getOriginalArguments()).containsExactly("first", "second arg", "third");
+    }
+  }
+
+}
@@ -175,4 +175,44 @@ public class CliArgsTest extends Assertions {
     assertThat(argument.isValue()).isTrue();
     assertThat(argument.getValueType()).isSameAs(CliValueType.VALUE_END_OPTION);
   }
+
+  /** Test of {@link CliArgs#get(int)}, {@link CliArgs#getOptions()} and {@link CliArgs#getArguments(int, int)}. */
+  @Test
+  public void testPositionalAccess() {
+
+    // given
+    String[] args = { "first", "-ab", "--key=value", "second", "--flag" };
+    // when
+    CliArgs cliArgs = new CliArgs(args);
+    // then
+    assertThat(cliArgs.getSize()).isEqualTo(7);
+    assertThat(cliArgs.get(0)).isSameAs(cliArgs.getFirst());
+    assertThat(cliArgs.get(6)).isSameAs(cliArgs.getLast()).isSameAs(cliArgs.getLastOption());
+    assertThat(cliArgs.getLast().get()).isEqualTo("--flag");
+    for (int i = 0; i < cliArgs.getSize(); i++) {
+      assertThat(cliArgs.get(i).getIndex()).isEqualTo(i);
+    }
+    assertThat(cliArgs.getArguments()).extracting(CliArgument::get).containsExactly("first", "-a", "-b", "--key",
+        "value", "second", "--flag");
+    assertThat(cliArgs.getOptions()).extracting(CliArgument::get).containsExactly("-a", "-b", "--key", "--flag");
+    assertThat(cliArgs.getArguments(3, 5)).extracting(CliArgument::get).containsExactly("--key", "value");
+    assertThat(cliArgs.getArguments(1, 6).subList(1, 2)).containsExactly(cliArgs.get(2));
+    assertThat(cliArgs.get(0).getNextOption()).isSameAs(cliArgs.get(1));
+    assertThat(cliArgs.get(4).getNextOption()).isSameAs(cliArgs.get(6));
+    assertThat(cliArgs.get(6).getNextOption()).isNull();
+    assertThatThrownBy(() -> cliArgs.get(7)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> cliArgs.getArguments(2, 1)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  /** Test of {@link CliArgs#getLastOption()} without options. */
+  @Test
+  public void testNoOptions() {
+
+    // given
+    CliArgs cliArgs = new CliArgs("value");
+    // when + then
+    assertThat(cliArgs.getLastOption()).isNull();
+    assertThat(cliArgs.getOptions()).isEmpty();
+    assertThat(new CliArgs().getLast()).isNull();
+  }
 }
@@ -0,0 +1,50 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.arg;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link CliOptionSymbols}.
+ */
+public class CliOptionSymbolsTest extends Assertions {
+
+  /** Test of {@link CliOptionSymbols#get(String, int)}. */
+  @Test
+  public void testGet() {
+
+    // given
+    String key = "--key";
+    CliOptionSymbols symbols = CliOptionSymbols.of(List.of(key, "--key-two", "-k", "--help", key));
+    // when + then
+    assertThat(symbols.getSize()).isEqualTo(4);
+    assertThat(symbols.get("--key=value", 5)).isSameAs(key);
+    assertThat(symbols.get("--key-two=value", 9)).isEqualTo("--key-two");
+    assertThat(symbols.get("--ke=value", 4)).isNull();
+    assertThat(symbols.get("--other=value", 7)).isNull();
+    assertThat(CliOptionSymbols.EMPTY.get("--key=value", 5)).isNull();
+  }
+
+  /** Test of {@link CliArgs#CliArgs(CliOptionSymbols, String...)} reusing canonical option strings. */
+  @Test
+  public void testCliArgsWithSymbols() {
+
+    // given
+    String key = "--key";
+    CliOptionSymbols symbols = CliOptionSymbols.of(List.of(key));
+    // when
+    CliArgs args1 = new CliArgs(symbols, "-xvf", "--key=value", "--other=value");
+    CliArgs args2 = new CliArgs(symbols, "-fx", "--key=value2");
+    // then
+    assertThat(args1.get(0).get()).isEqualTo("-x").isSameAs(args2.get(1).get());
+    assertThat(args1.get(2).get()).isEqualTo("-f").isSameAs(args2.get(0).get());
+    assertThat(args1.get(3).get()).isSameAs(key);
+    assertThat(args2.get(2).get()).isSameAs(key);
+    assertThat(args1.get(5).get()).isEqualTo("--other");
+    assertThat(args1.get(6).get()).isEqualTo("value");
+  }
+
+}
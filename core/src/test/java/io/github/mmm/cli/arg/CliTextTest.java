@@ -0,0 +1,51 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.arg;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link CliText}.
+ */
+public class CliTextTest extends Assertions {
+
+  /** Test of {@link CliText} as {@link CharSequence}. */
+  @Test
+  public void testSlice() {
+
+    // given
+    String source = "--key=value";
+    // when
+    CliText text = new CliText(source, 6, source.length());
+    // then
+    assertThat(text.length()).isEqualTo(5);
+    assertThat(text.charAt(0)).isEqualTo('v');
+    assertThat(text.subSequence(1, 3)).hasToString("al");
+    assertThat(text.contentEquals("value")).isTrue();
+    assertThat(text.contentEquals("valu")).isFalse();
+    assertThat(text).isEqualTo(new CliText("value", 0, 5));
+    assertThat(text.hashCode()).isEqualTo("value".hashCode());
+    assertThat(text.toString()).isEqualTo("value").isSameAs(text.toString());
+    assertThat(new CliText(source, 0, source.length()).toString()).isSameAs(source);
+    assertThatThrownBy(() -> text.charAt(5)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> new CliText(source, 6, 12)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  /** Test of {@link CliArgument#getText()} for an assignment. */
+  @Test
+  public void testAssignment() {
+
+    // given
+    String arg = "--key=value";
+    // when
+    CliArgs args = new CliArgs(arg, "other");
+    // then
+    CliArgument value = args.get(1);
+    assertThat(value.getText()).isInstanceOf(CliText.class).hasToString("value");
+    assertThat(value.get()).isEqualTo("value");
+    assertThat(args.get(2).getText()).isSameAs(args.getOriginalArguments()[1]);
+    assertThat(args.get(0).getValues()).containsExactly("value", "other");
+  }
+
+}
@@ -0,0 +1,102 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.cds;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.mmm.cli.CliMain;
+import io.github.mmm.cli.GitCli;
+
+/**
+ * Test of {@link CliAppCds}.
+ */
+public class CliAppCdsTest extends Assertions {
+
+  /** Test of {@link CliMain#train()} with {@link GitCli}. */
+  @Test
+  public void testTrain() {
+
+    // given
+    CliMain main = new GitCli();
+    // when
+    int failures = main.train();
+    // then
+    assertThat(failures).isZero();
+  }
+
+  /**
+   * Test of {@link CliAppCds#writeLauncher(Path, Path)}.
+   *
+   * @param dir the temporary directory.
+   * @throws IOException on error.
+   */
+  @Test
+  public void testWriteLauncher(@TempDir Path dir) throws IOException {
+
+    // given
+    Path lib = Files.createDirectories(dir.resolve("app/lib"));
+    String classpath = lib.resolve("cli.jar") + File.pathSeparator + lib.resolve("it's $x.jar");
+    CliAppCds appCds = new CliAppCds(GitCli.class.getName(), classpath);
+    // when
+    Path launcher = appCds.writeLauncher(dir.resolve("app/bin/git"), lib.resolve("git.jsa"));
+    // then
+    assertThat(launcher).isExecutable();
+    assertThat(Files.readString(launcher)).startsWith("#!/bin/sh\n")
+        .contains("BASE=$(cd \"$(dirname \"$0\")/..\" && pwd -P)\n")
+        .contains("exec \"$JAVA\" -XX:SharedArchiveFile=\"$BASE/lib/git.jsa\" -Xshare:auto "
+            + "-cp \"$BASE/lib/cli.jar:$BASE/lib/it's \\$x.jar\" io.github.mmm.cli.GitCli \"$@\"\n");
+  }
+
+  /**
+   * Test of {@link CliAppCds#writeLauncher(Path, Path) launcher} executed from another working directory with a
+   * classpath of multiple JAR files in different folders.
+   *
+   * @param dir the temporary directory.
+   * @throws Exception on error.
+   */
+  @Test
+  @EnabledOnOs({ OS.LINUX, OS.MAC })
+  public void testRunLauncher(@TempDir Path dir) throws Exception {
+
+    // given
+    Path app = Files.createDirectories(dir.resolve("my app"));
+    Path lib = Files.createDirectories(app.resolve("lib"));
+    Path ext = Files.createDirectories(app.resolve("ext/plugins"));
+    Path cliJar = Files.createFile(lib.resolve("cli.jar"));
+    Path pluginJar = Files.createFile(ext.resolve("plugin \"1\".jar"));
+    String classpath = cliJar + File.pathSeparator + dir.resolve("my app/lib/../ext/plugins").resolve(
+        pluginJar.getFileName());
+    CliAppCds appCds = new CliAppCds(GitCli.class.getName(), classpath);
+    Path launcher = appCds.writeLauncher(app.resolve("bin/git"), lib.resolve("git.jsa"));
+    // fake JDK printing the arguments of the JVM
+    Path javaHome = dir.resolve("jdk");
+    Path java = Files.createDirectories(javaHome.resolve("bin")).resolve("java");
+    Files.writeString(java, "#!/bin/sh\nfor arg in \"$@\"; do echo \"$arg\"; done\n");
+    java.toFile().setExecutable(true);
+    // when
+    ProcessBuilder builder = new ProcessBuilder("sh", dir.relativize(launcher).toString(), "tag", "-l");
+    builder.directory(dir.toFile());
+    builder.environment().put("JAVA_HOME", javaHome.toString());
+    builder.redirectErrorStream(true);
+    Process process = builder.start();
+    String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    // then
+    assertThat(process.waitFor()).isZero();
+    Path real = app.toRealPath();
+    assertThat(output).isEqualTo("-XX:SharedArchiveFile=" + real.resolve("lib/git.jsa") + "\n-Xshare:auto\n-cp\n"
+        + appCds.getArchiveClasspath() + "\n" + GitCli.class.getName() + "\ntag\n-l\n");
+    assertThat(appCds.getArchiveClasspath())
+        .isEqualTo(real.resolve("lib/cli.jar") + ":" + real.resolve("ext/plugins/plugin \"1\".jar"));
+  }
+
+}
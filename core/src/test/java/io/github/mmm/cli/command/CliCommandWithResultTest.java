@@ -0,0 +1,62 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.command;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.CliCommandResult;
+import io.github.mmm.cli.GenericTestProgram;
+import io.github.mmm.cli.io.impl.CliConsoleImpl;
+
+/**
+ * Test of {@link CliCommandWithResult}.
+ */
+public class CliCommandWithResultTest extends Assertions {
+
+  /** Test of {@link CliCommandWithResult#Format()} with a supported format. */
+  @Test
+  public void testFormatCsv() {
+
+    // given
+    GenericTestProgram prg = new GenericTestProgram(CliCommandResult.class);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    setStreams(prg, out, err);
+    // when
+    int code = prg.run("--format", "csv");
+    // then
+    assertThat(code).isZero();
+    assertThat(err.toString()).isEmpty();
+    assertThat(out.toString().replace("\r", "")).isEqualTo("running\nname,size\na,1\n");
+  }
+
+  /** Test of {@link CliCommandWithResult#Format()} with an undefined format rejected before the command runs. */
+  @Test
+  public void testFormatInvalid() {
+
+    // given
+    GenericTestProgram prg = new GenericTestProgram(CliCommandResult.class);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    setStreams(prg, out, err);
+    // when
+    int code = prg.run("--format", "xml");
+    // then
+    assertThat(code).isEqualTo(1);
+    assertThat(out.toString()).isEmpty();
+    assertThat(err.toString()).startsWith(
+        "ERROR: Invalid value 'xml' for option --format. Supported values: text, csv, json, binary.");
+  }
+
+  private static void setStreams(GenericTestProgram prg, ByteArrayOutputStream out, ByteArrayOutputStream err) {
+
+    CliConsoleImpl console = (CliConsoleImpl) prg.console();
+    console.setStdOut(new PrintStream(out));
+    console.setStdErr(new PrintStream(err));
+  }
+
+}
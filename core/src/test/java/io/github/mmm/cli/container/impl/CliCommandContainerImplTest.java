@@ -0,0 +1,83 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container.impl;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.GitCli;
+import io.github.mmm.cli.TagCreate;
+import io.github.mmm.cli.arg.CliArgs;
+
+/**
+ * Test of {@link CliCommandContainerImpl}.
+ */
+public class CliCommandContainerImplTest extends Assertions {
+
+  /** Test of {@link CliCommandContainerImpl#match(CliArgs)} for arguments that do not match. */
+  @Test
+  public void testMatchWithoutSideEffects() {
+
+    // given
+    CliCommandContainerImpl commandContainer = getTagCreate();
+    TagCreate tagCreate = (TagCreate) commandContainer.getCommand();
+    // when
+    CliBindingPlan plan = commandContainer.match(new CliArgs("tag", "-m", "message", "-d", "release/1.0.0"));
+    // then
+    assertThat(plan).isNull();
+    assertThat(tagCreate.Tag().get()).isNull();
+    assertThat(tagCreate.Message().get()).isNull();
+  }
+
+  /** Test of {@link CliCommandContainerImpl#match(CliArgs)} and {@link CliBindingPlan#bind()}. */
+  @Test
+  public void testMatchAndBind() {
+
+    // given
+    CliCommandContainerImpl commandContainer = getTagCreate();
+    TagCreate tagCreate = (TagCreate) commandContainer.getCommand();
+    // when
+    CliBindingPlan plan = commandContainer.match(new CliArgs("tag", "-a", "release/1.0.0", "-m", "message"));
+    // then
+    assertThat(plan).isNotNull();
+    assertThat(plan.getContainer()).isSameAs(commandContainer);
+    assertThat(plan.getBindingCount()).isEqualTo(4);
+    assertThat(tagCreate.Tag().get()).isNull();
+    assertThat(tagCreate.Message().get()).isNull();
+    // and when
+    plan.bind();
+    // then
+    assertThat(tagCreate.Tag().get()).isTrue();
+    assertThat(tagCreate.Annotate().get()).isTrue();
+    assertThat(tagCreate.TagName().get()).isEqualTo("release/1.0.0");
+    assertThat(tagCreate.Message().get()).containsExactly("message");
+  }
+
+  /** Test of {@link CliBindingPlan#bindNewCommand()}. */
+  @Test
+  public void testBindNewCommand() {
+
+    // given
+    CliCommandContainerImpl commandContainer = getTagCreate();
+    TagCreate prototype = (TagCreate) commandContainer.getCommand();
+    CliBindingPlan plan = commandContainer.match(new CliArgs("tag", "-a", "release/1.0.0", "-m", "message"));
+    // when
+    TagCreate tagCreate1 = (TagCreate) plan.bindNewCommand();
+    TagCreate tagCreate2 = (TagCreate) plan.bindNewCommand();
+    // then
+    assertThat(tagCreate1).isNotSameAs(prototype).isNotSameAs(tagCreate2);
+    assertThat(tagCreate1.TagName().get()).isEqualTo("release/1.0.0");
+    assertThat(tagCreate1.Message().get()).containsExactly("message");
+    assertThat(tagCreate2.Message().get()).containsExactly("message");
+    assertThat(prototype.TagName().get()).isNull();
+    assertThat(prototype.Message().get()).isNull();
+    assertThat(commandContainer.getCommand(tagCreate1)).isSameAs(commandContainer);
+  }
+
+  private static CliCommandContainerImpl getTagCreate() {
+
+    CliContainerImpl container = (CliContainerImpl) new GitCli().getContainer();
+    return (CliCommandContainerImpl) container.getGroup(TagCreate.class.getName());
+  }
+
+}
@@ -0,0 +1,79 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container.impl;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.bean.BeanFactory;
+import io.github.mmm.cli.TagCreate;
+import io.github.mmm.cli.TagDelete;
+import io.github.mmm.cli.TagList;
+import io.github.mmm.cli.TagVerify;
+import io.github.mmm.cli.arg.CliArgs;
+import io.github.mmm.cli.container.CliCommandMetadata;
+import io.github.mmm.cli.container.CliPropertyMetadata;
+import io.github.mmm.cli.io.impl.CliConsoleImpl;
+
+/**
+ * Test of {@link CliCommandDescriptor}.
+ */
+public class CliCommandDescriptorTest extends Assertions {
+
+  /** Test that lazily registered commands are only materialized if they are dispatch candidates. */
+  @Test
+  public void testLazyDispatch() {
+
+    // given
+    CliContainerImpl container = new CliContainerImpl(new CliConsoleImpl());
+    container.addLazy(TagCreate.class, TagDelete.class, TagList.class, TagVerify.class);
+    CliCommandDescriptor tagCreate = getDescriptor(container, TagCreate.class.getName());
+    CliCommandDescriptor tagDelete = getDescriptor(container, TagDelete.class.getName());
+    CliCommandDescriptor tagList = getDescriptor(container, TagList.class.getName());
+    CliCommandDescriptor tagVerify = getDescriptor(container, TagVerify.class.getName());
+    // when
+    container.getOptionSymbols();
+    // then
+    assertThat(tagCreate.isMaterialized()).isFalse();
+    assertThat(tagDelete.isMaterialized()).isFalse();
+    assertThat(tagList.isMaterialized()).isFalse();
+    assertThat(tagVerify.isMaterialized()).isFalse();
+    // and when
+    CliBindingPlan plan = container.match(new CliArgs("tag", "-d", "release/1.0.0"), false);
+    // then
+    assertThat(plan.getContainer()).hasToString("TagDelete").isSameAs(tagDelete.getContainer());
+    assertThat(tagCreate.isMaterialized()).isTrue();
+    assertThat(tagList.isMaterialized()).isFalse();
+    assertThat(tagVerify.isMaterialized()).isFalse();
+  }
+
+  /** Test of {@link CliCommandMetadata#of(Class)} computing the same metadata as the eager registration. */
+  @Test
+  public void testMetadataFromAnnotations() {
+
+    // given
+    CliCommandContainerImpl eager = CliCommandContainerImpl.of(BeanFactory.get().create(TagList.class),
+        new CliConsoleImpl());
+    // when
+    CliCommandMetadata metadata = CliCommandMetadata.of(TagList.class);
+    // then
+    assertThat(metadata.getCommandInterface()).isSameAs(TagList.class);
+    assertThat(toString(metadata.getProperties()))
+        .containsExactlyInAnyOrderElementsOf(toString(eager.getDescriptor().getMetadata().getProperties()));
+  }
+
+  private static CliCommandDescriptor getDescriptor(CliContainerImpl container, String name) {
+
+    AbstractCliCommandContainerGroup group = container.getGroup(name);
+    assertThat(group).isInstanceOf(CliCommandDescriptor.class);
+    return (CliCommandDescriptor) group;
+  }
+
+  private static List<String> toString(List<CliPropertyMetadata> properties) {
+
+    return properties.stream().map(p -> p.getPropertyName() + "=" + p.getAliases() + ":" + p).toList();
+  }
+
+}
@@ -0,0 +1,86 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container.impl;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.GitCli;
+import io.github.mmm.cli.TagCreate;
+import io.github.mmm.cli.arg.CliArgs;
+import io.github.mmm.cli.command.CliCommand;
+
+/**
+ * Test of {@link CliCommandPool}.
+ */
+public class CliCommandPoolTest extends Assertions {
+
+  /** Test of {@link CliCommandPool#acquire()} and {@link CliCommandPool#release(CliCommand)} with reset. */
+  @Test
+  public void testAcquireReleaseReset() {
+
+    // given
+    CliCommandContainerImpl commandContainer = getTagCreate();
+    CliCommandPool pool = new CliCommandPool(commandContainer, 2);
+    CliBindingPlan plan = commandContainer.match(new CliArgs("tag", "-a", "release/1.0.0", "-m", "m1", "-m", "m2"));
+    TagCreate tagCreate = (TagCreate) pool.acquire();
+    plan.bind(tagCreate);
+    assertThat(tagCreate.Message().get()).containsExactly("m1", "m2");
+    // when
+    pool.release(tagCreate);
+    // then
+    assertThat(pool.getSize()).isEqualTo(1);
+    assertThat(tagCreate.Tag().get()).isNull();
+    assertThat(tagCreate.Annotate().get()).isNull();
+    assertThat(tagCreate.TagName().get()).isNull();
+    assertThat(tagCreate.Message().get()).isNull();
+    // and when
+    CliCommand reused = pool.acquire();
+    // then
+    assertThat(reused).isSameAs(tagCreate);
+    assertThat(pool.getSize()).isZero();
+    assertThat(pool.acquire()).isNotSameAs(tagCreate).isNotSameAs(commandContainer.getCommand());
+  }
+
+  /** Test of {@link CliCommandPool#acquire()} with an unset collection property after a run that has set it. */
+  @Test
+  public void testReuseUnsetCollection() {
+
+    // given
+    CliCommandContainerImpl commandContainer = getTagCreate();
+    CliCommandPool pool = new CliCommandPool(commandContainer, 1);
+    TagCreate tagCreate = (TagCreate) pool.acquire();
+    commandContainer.match(new CliArgs("tag", "-a", "release/1.0.0", "-m", "message")).bind(tagCreate);
+    pool.release(tagCreate);
+    // when
+    TagCreate reused = (TagCreate) pool.acquire();
+    commandContainer.match(new CliArgs("tag", "-a", "release/1.0.1")).bind(reused);
+    // then
+    assertThat(reused).isSameAs(tagCreate);
+    assertThat(reused.TagName().get()).isEqualTo("release/1.0.1");
+    assertThat(reused.Message().get()).isNull();
+  }
+
+  /** Test of {@link CliCommandPool#release(CliCommand)} exceeding the {@link CliCommandPool#getCapacity() capacity}. */
+  @Test
+  public void testCapacity() {
+
+    // given
+    CliCommandPool pool = new CliCommandPool(getTagCreate(), 1);
+    CliCommand command1 = pool.acquire();
+    CliCommand command2 = pool.acquire();
+    // when
+    pool.release(command1);
+    pool.release(command2);
+    // then
+    assertThat(pool.getSize()).isEqualTo(1);
+    assertThat(pool.acquire()).isSameAs(command1);
+  }
+
+  private static CliCommandContainerImpl getTagCreate() {
+
+    CliContainerImpl container = (CliContainerImpl) new GitCli().getContainer();
+    return (CliCommandContainerImpl) container.getGroup(TagCreate.class.getName());
+  }
+
+}
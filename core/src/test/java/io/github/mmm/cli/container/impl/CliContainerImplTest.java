@@ -0,0 +1,78 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.GitCli;
+import io.github.mmm.cli.arg.CliArgs;
+import io.github.mmm.cli.io.CliConsole;
+import io.github.mmm.cli.io.CliLogLevel;
+import io.github.mmm.cli.io.impl.CliConsoleImpl;
+
+/**
+ * Test of {@link CliContainerImpl}.
+ */
+public class CliContainerImplTest extends Assertions {
+
+  /** Test of {@link CliContainerImpl#match(CliArgs, boolean)} in sequential and parallel mode. */
+  @Test
+  public void testMatchParallel() {
+
+    checkMatch("TagCreate", "tag", "-a", "release/1.0.0", "-m", "this is a message", "-f");
+    checkMatch("TagDelete", "tag", "-d", "release/1.0.0");
+    checkMatch("TagList", "tag", "-l", "--column=hash", "--sort=date");
+    checkMatch("TagVerify", "tag", "-v", "--format=%(refname:strip=2)", "release/1.0.0");
+    checkMatch("CliCommandVersion", "-v");
+    checkMatch(null, "tag", "-x");
+  }
+
+  /** Test of {@link CliContainerImpl#match(CliArgs, boolean, CliConsole)} logging to the session console. */
+  @Test
+  public void testMatchLogsToSessionConsole() {
+
+    // given
+    GitCli cli = new GitCli();
+    CliContainerImpl container = (CliContainerImpl) cli.getContainer();
+    ByteArrayOutputStream mainOut = new ByteArrayOutputStream();
+    CliConsoleImpl mainConsole = (CliConsoleImpl) cli.console();
+    mainConsole.setLogLevel(CliLogLevel.DEBUG);
+    mainConsole.setStdOut(new PrintStream(mainOut));
+    mainConsole.setStdErr(new PrintStream(mainOut));
+    ByteArrayOutputStream sessionOut = new ByteArrayOutputStream();
+    CliConsoleImpl sessionConsole = new CliConsoleImpl();
+    sessionConsole.setLogLevel(CliLogLevel.DEBUG);
+    sessionConsole.setStdOut(new PrintStream(sessionOut));
+    sessionConsole.setStdErr(new PrintStream(sessionOut));
+    // when
+    CliBindingPlan plan = container.match(new CliArgs("tag", "-l", "--undefined"), false, sessionConsole);
+    // then
+    assertThat(plan).isNull();
+    assertThat(sessionOut.toString()).contains("Undefined option --undefined for command TagList");
+    assertThat(mainOut.toString()).isEmpty();
+  }
+
+  private void checkMatch(String expectedCommand, String... args) {
+
+    // given
+    CliContainerImpl container = (CliContainerImpl) new GitCli().getContainer();
+    CliArgs cliArgs = new CliArgs(args);
+    // when
+    CliBindingPlan sequential = container.match(cliArgs, false);
+    CliBindingPlan parallel = container.match(cliArgs, true);
+    // then
+    if (expectedCommand == null) {
+      assertThat(sequential).isNull();
+      assertThat(parallel).isNull();
+    } else {
+      assertThat(sequential.getContainer()).hasToString(expectedCommand);
+      assertThat(parallel.getContainer()).isSameAs(sequential.getContainer());
+      assertThat(parallel).hasToString(sequential.toString());
+    }
+  }
+
+}
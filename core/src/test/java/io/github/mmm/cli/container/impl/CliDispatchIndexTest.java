@@ -0,0 +1,72 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.container.impl;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.GitCli;
+import io.github.mmm.cli.arg.CliArgs;
+
+/**
+ * Test of {@link CliDispatchIndex}.
+ */
+public class CliDispatchIndexTest extends Assertions {
+
+  /** Test of {@link CliDispatchIndex#getCandidates(CliArgs)} with keyword and mandatory option. */
+  @Test
+  public void testCandidatesKeywordAndOption() {
+
+    assertCandidates(new String[] { "TagCreate", "TagDelete" }, "tag", "-d", "release/1.0.0");
+  }
+
+  /** Test of {@link CliDispatchIndex#getCandidates(CliArgs)} with option shared by different commands. */
+  @Test
+  public void testCandidatesInRegistrationOrder() {
+
+    assertCandidates(new String[] { "CliCommandVersion", "TagCreate", "TagVerify" }, "tag", "-v",
+        "--format=%(refname:strip=2)", "release/1.0.0");
+  }
+
+  /** Test of {@link CliDispatchIndex#getCandidates(CliArgs)} with option only. */
+  @Test
+  public void testCandidatesOptionOnly() {
+
+    assertCandidates(new String[] { "CliCommandHelp" }, "--help");
+  }
+
+  /** Test of {@link CliDispatchIndex#getCandidates(CliArgs)} without matching anchor. */
+  @Test
+  public void testCandidatesNone() {
+
+    assertCandidates(new String[0], "undefined", "--option");
+  }
+
+  /** Test of {@link CliDispatchIndex#getCandidates(CliArgs)} ignoring the value of an assignment. */
+  @Test
+  public void testCandidatesIgnoreAssignmentValue() {
+
+    assertCandidates(new String[0], "--format=tag");
+  }
+
+  /** Test of {@link CliDispatchIndex#getCandidates(CliArgs)} with keyword after an assignment. */
+  @Test
+  public void testCandidatesKeywordAfterAssignment() {
+
+    assertCandidates(new String[] { "TagCreate", "TagList" }, "--format=%(refname:strip=2)", "tag", "-l");
+  }
+
+  private void assertCandidates(String[] expectedCommands, String... args) {
+
+    // given
+    GitCli cli = new GitCli();
+    CliContainerImpl container = (CliContainerImpl) cli.getContainer();
+    // when
+    List<CliCommandContainerImpl> candidates = container.getDispatchIndex().getCandidates(new CliArgs(args));
+    // then
+    assertThat(candidates).extracting(CliCommandContainerImpl::toString).containsExactly(expectedCommands);
+  }
+
+}
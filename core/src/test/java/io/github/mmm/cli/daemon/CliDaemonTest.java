@@ -0,0 +1,101 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.daemon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.mmm.cli.TestProgram;
+
+/**
+ * Test of {@link CliDaemon} and {@link CliDaemonClient}.
+ */
+public class CliDaemonTest extends Assertions {
+
+  /**
+   * Test of {@link CliDaemonClient} with multiple invocations served by the same {@link CliDaemon}.
+   *
+   * @param tempDir the temporary directory.
+   * @throws IOException on error.
+   */
+  @Test
+  public void testRunMultipleInvocations(@TempDir Path tempDir) throws IOException {
+
+    // given
+    Path socket = tempDir.resolve("test.sock");
+    AtomicReference<CliDaemonRequest> lastRequest = new AtomicReference<>();
+    try (CliDaemon daemon = new CliDaemon(socket, request -> {
+      lastRequest.set(request);
+      return new TestProgram(request.getConsole());
+    })) {
+      daemon.start();
+      CliDaemonClient client = new CliDaemonClient(socket);
+      for (int i = 1; i <= 3; i++) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        // when
+        int exitCode = client.run(new String[] { "--mode", "JUnit", Integer.toString(i) }, Map.of("KEY", "value" + i),
+            tempDir, new ByteArrayInputStream(new byte[0]), out, err);
+        // then
+        assertThat(exitCode).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8).replace("\r", "")).isEqualTo(i + "\n");
+        assertThat(err.toString(StandardCharsets.UTF_8)).isEmpty();
+        CliDaemonRequest request = lastRequest.get();
+        assertThat(request.getArgs()).containsExactly("--mode", "JUnit", Integer.toString(i));
+        assertThat(request.getEnvironment()).containsExactly(Map.entry("KEY", "value" + i));
+        assertThat(request.getWorkingDirectory()).isEqualTo(tempDir);
+      }
+    }
+    assertThat(socket).doesNotExist();
+  }
+
+  /**
+   * Test of {@link CliDaemonClient} with a {@link CliDaemon} sharing the same {@link TestProgram} for all requests.
+   *
+   * @param tempDir the temporary directory.
+   * @throws IOException on error.
+   */
+  @Test
+  public void testRunSharedMain(@TempDir Path tempDir) throws IOException {
+
+    // given
+    Path socket = tempDir.resolve("shared.sock");
+    try (CliDaemon daemon = new CliDaemon(socket, new TestProgram())) {
+      daemon.start();
+      CliDaemonClient client = new CliDaemonClient(socket);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ByteArrayOutputStream err = new ByteArrayOutputStream();
+      // when
+      int exitCode = client.run(new String[] { "--mode", "JUnit", "--key", "shared", "42" }, Map.of(), tempDir,
+          new ByteArrayInputStream(new byte[0]), out, err);
+      // then
+      assertThat(exitCode).isZero();
+      assertThat(out.toString(StandardCharsets.UTF_8).replace("\r", "")).isEqualTo("42\n[shared]\n");
+      assertThat(err.toString(StandardCharsets.UTF_8)).isEmpty();
+    }
+  }
+
+  /**
+   * Test of {@link CliDaemonClient#run(String...)} without running {@link CliDaemon}.
+   *
+   * @param tempDir the temporary directory.
+   */
+  @Test
+  public void testRunWithoutDaemon(@TempDir Path tempDir) {
+
+    // given
+    CliDaemonClient client = new CliDaemonClient(tempDir.resolve("missing.sock"));
+    // when + then
+    assertThatThrownBy(() -> client.run("--version")).isInstanceOf(IOException.class);
+  }
+
+}
@@ -0,0 +1,73 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.io.impl.CliConsoleAsync;
+import io.github.mmm.cli.io.impl.CliConsoleChannel;
+import io.github.mmm.cli.io.impl.CliConsoleImpl;
+
+/**
+ * Test of {@link CliConsoleBuilder}.
+ */
+public class CliConsoleBuilderTest extends Assertions {
+
+  /** Test of {@link CliConsoleBuilder#build()} with defaults. */
+  @Test
+  public void testDefault() {
+
+    // given
+    CliConsoleBuilder builder = new CliConsoleBuilder();
+    // when
+    CliConsole console = builder.build();
+    // then
+    assertThat(console.getClass()).isEqualTo(CliConsoleImpl.class);
+    CliConsoleImpl impl = (CliConsoleImpl) console;
+    assertThat(impl.getFlushPolicy()).isSameAs(CliFlushPolicy.LINE);
+    assertThat(impl.getLogFormat()).isSameAs(CliLogFormat.TEXT);
+  }
+
+  /** Test of {@link CliConsoleBuilder#async(int, CliOverflowPolicy)}. */
+  @Test
+  public void testAsync() {
+
+    // given
+    CliConsoleBuilder builder = new CliConsoleBuilder().flushPolicy(CliFlushPolicy.SIZE).logFormat(CliLogFormat.JSON)
+        .async(16, CliOverflowPolicy.DROP_DEBUG);
+    // when
+    CliConsole console = builder.build();
+    // then
+    assertThat(console).isInstanceOf(CliConsoleAsync.class);
+    CliConsoleAsync async = (CliConsoleAsync) console;
+    assertThat(async.getOverflowPolicy()).isSameAs(CliOverflowPolicy.DROP_DEBUG);
+    assertThat(async.getFlushPolicy()).isSameAs(CliFlushPolicy.SIZE);
+    assertThat(async.getLogFormat()).isSameAs(CliLogFormat.JSON);
+    async.close();
+  }
+
+  /** Test of {@link CliConsoleBuilder#channel(boolean)}. */
+  @Test
+  public void testChannel() {
+
+    // given
+    CliConsoleBuilder builder = new CliConsoleBuilder().channel(true);
+    // when
+    CliConsole console = builder.build();
+    // then
+    assertThat(console).isInstanceOf(CliConsoleChannel.class);
+    assertThat(((CliConsoleChannel) console).isThreadSafe()).isTrue();
+  }
+
+  /** Test of {@link CliConsoleBuilder#build()} with async and channel combined. */
+  @Test
+  public void testAsyncAndChannel() {
+
+    // given
+    CliConsoleBuilder builder = new CliConsoleBuilder().async().channel(false);
+    // when + then
+    assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+  }
+
+}
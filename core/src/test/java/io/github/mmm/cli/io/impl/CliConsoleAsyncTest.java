@@ -0,0 +1,155 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.io.CliLogLevel;
+import io.github.mmm.cli.io.CliOverflowPolicy;
+
+/**
+ * Test of {@link CliConsoleAsync}.
+ */
+public class CliConsoleAsyncTest extends Assertions {
+
+  private static final String NL = System.lineSeparator();
+
+  /** Test that {@link CliConsoleAsync#flush()} drains the queue with {@link CliOverflowPolicy#BLOCK}. */
+  @Test
+  public void testFlushDrainsQueue() {
+
+    // given
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    StringBuilder expected = new StringBuilder();
+    try (CliConsoleAsync console = new CliConsoleAsync(4, CliOverflowPolicy.BLOCK)) {
+      console.setStdOut(new PrintStream(stream));
+      // when
+      for (int i = 0; i < 100; i++) {
+        console.out().log("line", i);
+        expected.append("line").append(i).append(NL);
+      }
+      console.flush();
+      // then
+      assertThat(stream.toString()).isEqualTo(expected.toString());
+    }
+  }
+
+  /** Test of {@link CliOverflowPolicy#COALESCE} not blocking the logging thread while the output is stalled. */
+  @Test
+  public void testCoalesce() {
+
+    // given
+    GateStream stream = new GateStream();
+    StringBuilder expected = new StringBuilder();
+    try (CliConsoleAsync console = new CliConsoleAsync(2, CliOverflowPolicy.COALESCE)) {
+      console.setStdOut(new PrintStream(stream));
+      console.setLogLevel(CliLogLevel.DEBUG);
+      // when
+      for (int i = 0; i < 50; i++) {
+        console.debug().log("record" + i);
+        expected.append("DEBUG: record").append(i).append(NL);
+      }
+      stream.gate.countDown();
+      console.flush();
+      // then
+      assertThat(stream.toString()).isEqualTo(expected.toString());
+      assertThat(console.getDropped()).isZero();
+    }
+  }
+
+  /** Test of {@link CliOverflowPolicy#DROP_DEBUG} only dropping {@link CliLogLevel#DEBUG} records. */
+  @Test
+  public void testDropDebug() {
+
+    // given
+    GateStream stream = new GateStream();
+    try (CliConsoleAsync console = new CliConsoleAsync(2, CliOverflowPolicy.DROP_DEBUG)) {
+      console.setStdOut(new PrintStream(stream));
+      console.setLogLevel(CliLogLevel.DEBUG);
+      // when
+      for (int i = 0; i < 50; i++) {
+        console.debug().log("record" + i);
+      }
+      stream.gate.countDown();
+      console.info().log("done");
+      console.flush();
+      // then
+      assertThat(console.getDropped()).isPositive();
+      assertThat(stream.toString()).startsWith("DEBUG: record0").endsWith("INFO: done" + NL);
+    }
+  }
+
+  /** Test that a failing output does not stop the writer thread and is reported on {@link CliConsoleAsync#flush()}. */
+  @Test
+  public void testFailureReported() {
+
+    // given
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    try (CliConsoleAsync console = new CliConsoleAsync()) {
+      console.setStdOut(new PrintStream(new OutputStream() {
+
+        @Override
+        public void write(int b) {
+
+          throw new IllegalStateException("broken");
+        }
+      }));
+      console.setStdErr(new PrintStream(err));
+      // when
+      console.out().log("lost");
+      console.warning().log("still written");
+      console.flush();
+      // then
+      assertThat(console.getFailed()).isEqualTo(1L);
+      String errors = err.toString();
+      assertThat(errors).startsWith("WARNING: still written" + NL
+          + "ERROR: Failed to write 1 log record(s): java.lang.IllegalStateException: broken" + NL);
+      // and when
+      console.flush();
+      // then
+      assertThat(err.toString()).isEqualTo(errors);
+    }
+  }
+
+  /** {@link OutputStream} that blocks writing until the {@link #gate} is opened. */
+  private static class GateStream extends OutputStream {
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    @Override
+    public void write(int b) {
+
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+
+      try {
+        this.gate.await();
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      synchronized (this.bytes) {
+        this.bytes.write(b, off, len);
+      }
+    }
+
+    @Override
+    public String toString() {
+
+      synchronized (this.bytes) {
+        return this.bytes.toString();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.io.CliFlushPolicy;
+import io.github.mmm.cli.io.CliResult;
+import io.github.mmm.cli.io.CliResultFormat;
+
+/**
+ * Test of {@link CliConsoleChannel} and {@link CliOutBufferChannel}.
+ */
+public class CliConsoleChannelTest extends Assertions {
+
+  private static final String NL = System.lineSeparator();
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+  private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+  private CliConsoleChannel newConsole(boolean threadSafe) {
+
+    return new CliConsoleChannel(Channels.newChannel(this.out), StandardCharsets.UTF_8, Channels.newChannel(this.err),
+        StandardCharsets.UTF_8, threadSafe);
+  }
+
+  private String getOut() {
+
+    return this.out.toString(StandardCharsets.UTF_8);
+  }
+
+  /** Test of {@link CliFlushPolicy#LINE} writing each record immediately in order with other output. */
+  @Test
+  public void testLine() {
+
+    // given
+    CliConsoleChannel console = newConsole(false);
+    // when
+    console.out().log("Hello W\u00f6rld \ud83d\ude00");
+    console.warning().log("Careful");
+    console.getStdOut().println("direct");
+    try (CliResult result = console.result(CliResultFormat.CSV, "n")) {
+      result.add(42).endRow();
+    }
+    console.info().log("Done");
+    // then
+    assertThat(getOut()).isEqualTo("Hello W\u00f6rld \ud83d\ude00" + NL + "direct" + NL + "n\r\n42\r\n" //
+        + "INFO: Done" + NL);
+    assertThat(this.err.toString(StandardCharsets.UTF_8)).isEqualTo("WARNING: Careful" + NL);
+  }
+
+  /** Test of {@link CliFlushPolicy#SIZE} only writing when the buffer is full or on flush. */
+  @Test
+  public void testSize() {
+
+    // given
+    CliConsoleChannel console = newConsole(false);
+    console.setFlushPolicy(CliFlushPolicy.SIZE);
+    // when
+    console.out().log("buffered");
+    // then
+    assertThat(this.out.size()).isZero();
+    // and when
+    console.flush();
+    // then
+    assertThat(getOut()).isEqualTo("buffered" + NL);
+  }
+
+  /** Test of records exceeding the internal chunk sizes including a surrogate pair split across chunks. */
+  @Test
+  public void testLarge() {
+
+    // given
+    CliConsoleChannel console = newConsole(false);
+    // "abc" ensures that the high surrogate is the last char of the first chunk
+    StringBuilder sb = new StringBuilder("abc");
+    while (sb.length() < 200000) {
+      sb.append("\ud83d\ude00 \u00e4");
+    }
+    String large = sb.toString();
+    // when
+    console.out().log(large);
+    // then
+    assertThat(getOut()).isEqualTo(large + NL);
+  }
+
+  /**
+   * Test of a thread-safe {@link CliConsoleChannel} used by multiple threads.
+   *
+   * @throws InterruptedException if interrupted.
+   */
+  @Test
+  public void testThreadSafe() throws InterruptedException {
+
+    // given
+    CliConsoleChannel console = newConsole(true);
+    console.setFlushPolicy(CliFlushPolicy.SIZE);
+    int threadCount = 4;
+    int lines = 1000;
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      String name = "thread" + t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < lines; i++) {
+          console.out().log(name, "-", i);
+        }
+      }));
+    }
+    // when
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    console.flush();
+    // then
+    String[] output = getOut().split(NL);
+    assertThat(output).hasSize(threadCount * lines);
+    for (String line : output) {
+      assertThat(line).matches("thread[0-9]-[0-9]+");
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.io.CliLogLevel;
+import io.github.mmm.cli.io.CliOut;
+
+/**
+ * Test of {@link CliConsoleImpl}.
+ */
+public class CliConsoleImplTest extends Assertions {
+
+  private static final String NL = System.lineSeparator();
+
+  /** Test of {@link CliConsoleImpl#isEnabled(CliLogLevel)}. */
+  @Test
+  public void testIsEnabled() {
+
+    // given
+    CliConsoleImpl console = new CliConsoleImpl();
+    // when
+    console.setLogLevel(CliLogLevel.WARNING);
+    // then
+    assertThat(console.isEnabled(null)).isTrue();
+    assertThat(console.isEnabled(CliLogLevel.DEBUG)).isFalse();
+    assertThat(console.isEnabled(CliLogLevel.INFO)).isFalse();
+    assertThat(console.isEnabled(CliLogLevel.WARNING)).isTrue();
+    assertThat(console.isEnabled(CliLogLevel.ERROR)).isTrue();
+    assertThat(console.debug().isSuppressed()).isTrue();
+  }
+
+  /** Test that suppressed {@link CliOut} neither calls a message supplier nor formats arguments. */
+  @Test
+  public void testSuppressedIsLazy() {
+
+    // given
+    CliConsoleImpl console = new CliConsoleImpl();
+    Counter counter = new Counter();
+    // when
+    console.debug().log(() -> counter.toString());
+    console.debug().logFormat("%s", counter);
+    console.debug().logFormat("%s %s", counter, counter);
+    console.debug().logFormat("%s %s %s", counter, counter, counter);
+    // then
+    assertThat(counter.count).isZero();
+  }
+
+  /** Test of {@link CliOut#log(java.util.function.Supplier)} and parameterized logging if enabled. */
+  @Test
+  public void testEnabled() {
+
+    // given
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    CliConsoleImpl console = new CliConsoleImpl();
+    console.setStdOut(new PrintStream(stream));
+    console.setLogLevel(CliLogLevel.DEBUG);
+    // when
+    console.debug().log(() -> "lazy");
+    console.debug().logFormat("%s-%s", "a", "b");
+    console.out().logFormat("%s/%s/%s", 1, 2, 3);
+    // then
+    assertThat(stream.toString()).isEqualTo("DEBUG: lazy" + NL + "DEBUG: a-b" + NL + "1/2/3" + NL);
+  }
+
+  private static class Counter {
+
+    private int count;
+
+    @Override
+    public String toString() {
+
+      this.count++;
+      return "counter";
+    }
+  }
+
+}
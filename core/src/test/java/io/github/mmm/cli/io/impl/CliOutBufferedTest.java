@@ -0,0 +1,125 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.io.CliFlushPolicy;
+import io.github.mmm.cli.io.CliLogLevel;
+
+/**
+ * Test of {@link CliOutBuffered} and {@link CliOutBuffer}.
+ */
+public class CliOutBufferedTest extends Assertions {
+
+  private static final String NL = System.lineSeparator();
+
+  /** Test of {@link CliFlushPolicy#LINE} writing each record with a single call. */
+  @Test
+  public void testLine() {
+
+    // given
+    CountingStream stream = new CountingStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    CliConsoleImpl console = new CliConsoleImpl();
+    console.setStdOut(new PrintStream(stream));
+    console.setStdErr(new PrintStream(err));
+    // when
+    console.out().log("Hello ", "World", "!");
+    console.warning().log("Careful");
+    console.info().log("Done");
+    // then
+    assertThat(stream.toString()).isEqualTo("Hello World!" + NL + "INFO: Done" + NL);
+    assertThat(stream.writes).isEqualTo(2);
+    assertThat(err.toString()).isEqualTo("WARNING: Careful" + NL);
+  }
+
+  /** Test of {@link CliFlushPolicy#SIZE} collecting records until the buffer size is exceeded. */
+  @Test
+  public void testSize() {
+
+    // given
+    CountingStream stream = new CountingStream();
+    CliConsoleImpl console = new CliConsoleImpl();
+    console.setStdOut(new PrintStream(stream));
+    console.setFlushPolicy(CliFlushPolicy.SIZE);
+    console.setBufferSize(10 * (5 + NL.length()));
+    // when
+    for (int i = 0; i < 25; i++) {
+      console.out().log("line" + (i % 10));
+    }
+    // then
+    assertThat(stream.writes).isEqualTo(2);
+    assertThat(stream.flushes).isEqualTo(2);
+    // and when
+    console.flush();
+    // then
+    assertThat(stream.writes).isEqualTo(3);
+    assertThat(stream.toString().split(NL)).hasSize(25).startsWith("line0", "line1").endsWith("line4");
+  }
+
+  /** Test of {@link CliFlushPolicy#EXPLICIT} only flushing on {@link CliConsoleImpl#flush()}. */
+  @Test
+  public void testExplicit() {
+
+    // given
+    CountingStream stream = new CountingStream();
+    CliConsoleImpl console = new CliConsoleImpl();
+    console.setStdOut(new PrintStream(stream));
+    console.setFlushPolicy(CliFlushPolicy.EXPLICIT);
+    console.setLogLevel(CliLogLevel.DEBUG);
+    // when
+    console.debug().log("first");
+    console.out().log("second");
+    // then
+    assertThat(stream.writes).isZero();
+    assertThat(stream.flushes).isZero();
+    // and when
+    console.flush();
+    // then
+    assertThat(stream.writes).isEqualTo(1);
+    assertThat(stream.flushes).isPositive();
+    assertThat(stream.toString()).isEqualTo("DEBUG: first" + NL + "second" + NL);
+  }
+
+  private static class CountingStream extends OutputStream {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    private int writes;
+
+    private int flushes;
+
+    @Override
+    public void write(int b) {
+
+      this.writes++;
+      this.bytes.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+
+      this.writes++;
+      this.bytes.write(b, off, len);
+    }
+
+    @Override
+    public void flush() {
+
+      this.flushes++;
+    }
+
+    @Override
+    public String toString() {
+
+      return this.bytes.toString();
+    }
+  }
+
+}
@@ -0,0 +1,72 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.io.CliLogFormat;
+import io.github.mmm.cli.io.CliLogLevel;
+
+/**
+ * Test of {@link CliOutJson} and {@link CliJson}.
+ */
+public class CliOutJsonTest extends Assertions {
+
+  /** Test of {@link CliLogFormat#JSON} writing one JSON object per line. */
+  @Test
+  public void testJsonLines() {
+
+    // given
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    CliConsoleImpl console = new CliConsoleImpl();
+    console.setStdOut(new PrintStream(stream));
+    console.setStdErr(new PrintStream(stream));
+    console.setLogFormat(CliLogFormat.JSON);
+    // when
+    console.out().log("Hello \"World\"\n");
+    console.info().logFormat("Copied %s files to %s", 42, "C:\\tmp");
+    console.warning().log("Value: ", Boolean.TRUE);
+    console.error().log(new IllegalStateException("broken"));
+    // then
+    String[] lines = stream.toString().split("\n");
+    assertThat(lines).hasSize(4);
+    assertThat(lines[0]).isEqualTo("{\"level\":\"OUT\",\"text\":\"Hello \\\"World\\\"\\n\"}");
+    assertThat(lines[1]).isEqualTo("{\"level\":\"INFO\",\"key\":\"Copied %s files to %s\","
+        + "\"text\":\"Copied 42 files to C:\\\\tmp\",\"args\":[42,\"C:\\\\tmp\"]}");
+    assertThat(lines[2]).isEqualTo("{\"level\":\"WARNING\",\"text\":\"Value: true\",\"args\":[\"Value: \",true]}");
+    assertThat(lines[3]).startsWith("{\"level\":\"ERROR\",\"text\":\"broken\",\"exception\":{"
+        + "\"type\":\"java.lang.IllegalStateException\",\"message\":\"broken\","
+        + "\"stacktrace\":\"java.lang.IllegalStateException: broken").endsWith("\"}}");
+  }
+
+  /** Test of {@link CliJson#appendString(StringBuilder, CharSequence)} with characters that need escaping. */
+  @Test
+  public void testEscape() {
+
+    // given
+    String value = "a\tb\u0001c\u2028d";
+    // when
+    String json = CliJson.appendString(new StringBuilder(), value).toString();
+    // then
+    assertThat(json).isEqualTo("\"a\\tb\\u0001c\\u2028d\"");
+    assertThat(CliJson.appendValue(new StringBuilder(), null)).hasToString("null");
+  }
+
+  /** Test that {@link CliLogLevel#DEBUG} is still suppressed with {@link CliLogFormat#JSON}. */
+  @Test
+  public void testSuppressed() {
+
+    // given
+    CliConsoleImpl console = new CliConsoleImpl();
+    // when
+    console.setLogFormat(CliLogFormat.JSON);
+    // then
+    assertThat(console.debug().isSuppressed()).isTrue();
+    assertThat(console.info()).isInstanceOf(CliOutJson.class);
+  }
+
+}
@@ -0,0 +1,189 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.io.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.cli.io.CliConsole;
+import io.github.mmm.cli.io.CliIn;
+import io.github.mmm.cli.io.CliLogLevel;
+import io.github.mmm.cli.io.CliOut;
+import io.github.mmm.cli.io.CliResult;
+import io.github.mmm.cli.io.CliResultFormat;
+
+/**
+ * Test of {@link CliConsoleImpl#result(CliResultFormat, String...)} and the {@link AbstractCliResult} implementations.
+ */
+public class CliResultTest extends Assertions {
+
+  private static final String NL = System.lineSeparator();
+
+  private static byte[] write(CliResultFormat format) {
+
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    CliConsoleImpl console = new CliConsoleImpl();
+    console.setStdOut(new PrintStream(stream));
+    console.out().log("before");
+    try (CliResult result = console.result(format, "name", "size", "ok")) {
+      result.add("a,\"b\"").add(42).add(true).endRow();
+      result.row("x\u00e9", -1L);
+      result.add((String) null).add(1.5).add(false).endRow();
+    }
+    return stream.toByteArray();
+  }
+
+  private static String writeString(CliResultFormat format) {
+
+    return new String(write(format), StandardCharsets.UTF_8);
+  }
+
+  /** Test of {@link CliResultFormat#TEXT}. */
+  @Test
+  public void testText() {
+
+    assertThat(writeString(CliResultFormat.TEXT)).isEqualTo("before" + NL //
+        + "name   size  ok" + NL //
+        + "a,\"b\"    42  true" + NL //
+        + "x\u00e9       -1  " + NL //
+        + "        1.5  false" + NL);
+  }
+
+  /** Test of {@link CliResultFormat#CSV}. */
+  @Test
+  public void testCsv() {
+
+    assertThat(writeString(CliResultFormat.CSV)).isEqualTo("before" + NL //
+        + "name,size,ok\r\n" //
+        + "\"a,\"\"b\"\"\",42,true\r\n" //
+        + "x\u00e9,-1,\r\n" //
+        + ",1.5,false\r\n");
+  }
+
+  /** Test of {@link CliResultFormat#JSON}. */
+  @Test
+  public void testJson() {
+
+    assertThat(writeString(CliResultFormat.JSON)).isEqualTo("before" + NL //
+        + "{\"name\":\"a,\\\"b\\\"\",\"size\":42,\"ok\":true}\n" //
+        + "{\"name\":\"x\u00e9\",\"size\":-1,\"ok\":null}\n" //
+        + "{\"name\":null,\"size\":1.5,\"ok\":false}\n");
+  }
+
+  /** Test of {@link CliResultFormat#BINARY}. */
+  @Test
+  public void testBinary() {
+
+    byte[] bytes = write(CliResultFormat.BINARY);
+    int start = ("before" + NL).length();
+    assertThat(bytes).startsWith(("before" + NL).getBytes(StandardCharsets.US_ASCII));
+    assertThat(Arrays.copyOfRange(bytes, start, bytes.length)).containsExactly( //
+        'M', 'C', 'R', 1, 3, 4, 'n', 'a', 'm', 'e', 4, 's', 'i', 'z', 'e', 2, 'o', 'k', //
+        5, 5, 'a', ',', '"', 'b', '"', 3, 84, 2, //
+        5, 3, 'x', 0xC3 - 256, 0xA9 - 256, 3, 1, 0, //
+        0, 4, 0x3F, 0xF8 - 256, 0, 0, 0, 0, 0, 0, 1);
+  }
+
+  /** Test of a result exceeding the size of the pooled buffer. */
+  @Test
+  public void testLarge() {
+
+    // given
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    CliConsoleImpl console = new CliConsoleImpl();
+    console.setStdOut(new PrintStream(stream));
+    int rows = 100000;
+    // when
+    try (CliResult result = console.result(CliResultFormat.CSV, "n")) {
+      for (int i = 0; i < rows; i++) {
+        result.add(i).endRow();
+      }
+    }
+    // then
+    String[] lines = stream.toString().split("\r\n");
+    assertThat(lines).hasSize(rows + 1);
+    assertThat(lines[0]).isEqualTo("n");
+    assertThat(lines[rows]).isEqualTo(Integer.toString(rows - 1));
+  }
+
+  /** Test of the default implementation of {@link CliConsole#result(CliResultFormat, String...)}. */
+  @Test
+  public void testDefaultConsole() {
+
+    // given
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    PrintStream out = new PrintStream(stream);
+    CliConsole console = new CliConsole() {
+
+      @Override
+      public CliLogLevel getLogLevel() {
+
+        return CliLogLevel.INFO;
+      }
+
+      @Override
+      public Locale getLocale() {
+
+        return Locale.ROOT;
+      }
+
+      @Override
+      public CliOut out(CliLogLevel level) {
+
+        return CliOutNone.INSTANCE;
+      }
+
+      @Override
+      public CliIn in() {
+
+        return null;
+      }
+
+      @Override
+      public PrintStream getStdOut() {
+
+        return out;
+      }
+
+      @Override
+      public PrintStream getStdErr() {
+
+        return out;
+      }
+
+      @Override
+      public void flush() {
+
+        out.flush();
+      }
+    };
+    // when
+    try (CliResult result = console.result(CliResultFormat.CSV, "name", "size")) {
+      result.row("a", 1L);
+    }
+    // then
+    assertThat(stream.toString()).isEqualTo("name,size\r\na,1\r\n");
+  }
+
+  /** Test that adding more values than columns fails. */
+  @Test
+  public void testTooManyValues() {
+
+    // given
+    CliConsoleImpl console = new CliConsoleImpl();
+    console.setStdOut(new PrintStream(new ByteArrayOutputStream()));
+    try (CliResult result = console.result(CliResultFormat.CSV, "n")) {
+      result.add(1);
+      // when + then
+      assertThatThrownBy(() -> result.add(2)).isInstanceOf(IllegalStateException.class)
+          .hasMessage("Row has more than 1 values.");
+    }
+  }
+
+}
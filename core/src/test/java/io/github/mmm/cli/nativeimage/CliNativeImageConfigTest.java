@@ -0,0 +1,62 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.nativeimage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.mmm.cli.CliMain;
+import io.github.mmm.cli.GitCli;
+import io.github.mmm.cli.TestProgram;
+
+/**
+ * Test of {@link CliNativeImageConfig}.
+ */
+public class CliNativeImageConfigTest extends Assertions {
+
+  /** Test of {@link CliNativeImageConfig} with {@link GitCli}. */
+  @Test
+  public void testGitCli() {
+
+    // given
+    CliNativeImageConfig config = new CliNativeImageConfig(new GitCli());
+    // when
+    String reflectConfig = config.getReflectConfig();
+    String resourceConfig = config.getResourceConfig();
+    // then
+    assertThat(reflectConfig).contains("\"name\": \"io.github.mmm.cli.TagCreate\"",
+        "\"name\": \"io.github.mmm.cli.GitAbstractTagWithName\"", "\"name\": \"io.github.mmm.cli.GitAbstractTag\"",
+        "\"name\": \"io.github.mmm.cli.command.CliCommandHelp\"");
+    assertThat(resourceConfig)
+        .contains("{\"pattern\": \"\\\\QMETA-INF/mmm-cli/io.github.mmm.cli.GitCli.version\\\\E\"}");
+  }
+
+  /**
+   * Test of {@link CliNativeImageConfig#write(Path, String)} with {@link TestProgram}.
+   *
+   * @param dir the temporary directory.
+   * @throws IOException on error.
+   */
+  @Test
+  public void testWrite(@TempDir Path dir) throws IOException {
+
+    // given
+    CliNativeImageConfig config = new CliNativeImageConfig(new TestProgram());
+    // when
+    Path folder = config.write(dir, "test/program");
+    // then
+    assertThat(folder).isEqualTo(dir.resolve("META-INF/native-image/test/program"));
+    assertThat(Files.readString(folder.resolve("reflect-config.json"))).contains("io.github.mmm.cli.CliCommandTest");
+    assertThat(folder.resolve("proxy-config.json")).exists();
+    assertThat(Files.readString(folder.resolve("resource-config.json")))
+        .contains("{\"name\": \"l10n.io.github.mmm.cli.CliCommandTest\"}");
+    assertThat(dir.resolve(CliMain.VERSION_RESOURCE_FOLDER + "io.github.mmm.cli.TestProgram.version"))
+        .hasContent("1.2.3.4");
+  }
+
+}
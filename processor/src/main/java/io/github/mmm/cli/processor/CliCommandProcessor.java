@@ -0,0 +1,376 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import io.github.mmm.cli.container.CliCommandMetadata;
+import io.github.mmm.cli.container.CliPropertyMetadata;
+
+/**
+ * {@link javax.annotation.processing.Processor} that generates a {@link CliCommandMetadata} for every
+ * {@link io.github.mmm.cli.command.CliCommand} interface. It computes the {@link CliPropertyMetadata} of each property
+ * from its {@code @PropertyAlias} and {@code @Mandatory} annotations and its type exactly as done at runtime and
+ * {@link CliCommandMetadata#validate(String, List) validates} the result. Validation errors are reported as compile
+ * errors. The names of all generated classes are written to the {@link CliCommandMetadata#INDEX index} so only these
+ * are loaded at runtime.
+ *
+ * @since 1.0.0
+ */
+@SupportedAnnotationTypes("*")
+public class CliCommandProcessor extends AbstractProcessor {
+
+  private static final String CLI_COMMAND = "io.github.mmm.cli.command.CliCommand";
+
+  private static final String WRITABLE_PROPERTY = "io.github.mmm.property.WritableProperty";
+
+  private static final String BOOLEAN_PROPERTY = "io.github.mmm.property.booleans.BooleanProperty";
+
+  private static final String CONTAINER_PROPERTY = "io.github.mmm.property.container.WritableContainerProperty";
+
+  private static final String PROPERTY_ALIAS = "io.github.mmm.bean.PropertyAlias";
+
+  private static final String MANDATORY = "io.github.mmm.bean.Mandatory";
+
+  private Elements elements;
+
+  private Types types;
+
+  private TypeMirror cliCommand;
+
+  private TypeMirror writableProperty;
+
+  private TypeMirror booleanProperty;
+
+  private TypeMirror containerProperty;
+
+  private final Set<String> generated = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+    if (!init()) {
+      return false;
+    }
+    for (Element element : roundEnv.getRootElements()) {
+      process(element);
+    }
+    if (roundEnv.processingOver() && !this.generated.isEmpty()) {
+      writeIndex();
+    }
+    return false;
+  }
+
+  private boolean init() {
+
+    if (this.cliCommand == null) {
+      this.elements = this.processingEnv.getElementUtils();
+      this.types = this.processingEnv.getTypeUtils();
+      TypeElement cliCommandType = this.elements.getTypeElement(CLI_COMMAND);
+      if (cliCommandType == null) {
+        return false;
+      }
+      this.cliCommand = this.types.erasure(cliCommandType.asType());
+      this.writableProperty = getErasure(WRITABLE_PROPERTY);
+      this.booleanProperty = getErasure(BOOLEAN_PROPERTY);
+      this.containerProperty = getErasure(CONTAINER_PROPERTY);
+    }
+    return true;
+  }
+
+  private TypeMirror getErasure(String qualifiedName) {
+
+    TypeElement type = this.elements.getTypeElement(qualifiedName);
+    if (type == null) {
+      return null;
+    }
+    return this.types.erasure(type.asType());
+  }
+
+  private void process(Element element) {
+
+    if ((element.getKind() == ElementKind.INTERFACE) && isCommand((TypeElement) element)) {
+      generate((TypeElement) element);
+    }
+    for (Element enclosed : element.getEnclosedElements()) {
+      if (enclosed.getKind().isInterface() || enclosed.getKind().isClass()) {
+        process(enclosed);
+      }
+    }
+  }
+
+  private boolean isCommand(TypeElement type) {
+
+    TypeMirror erasure = this.types.erasure(type.asType());
+    return !this.types.isSameType(erasure, this.cliCommand) && this.types.isAssignable(erasure, this.cliCommand);
+  }
+
+  private boolean isAssignable(TypeMirror type, TypeMirror superType) {
+
+    return (superType != null) && this.types.isAssignable(this.types.erasure(type), superType);
+  }
+
+  private void generate(TypeElement type) {
+
+    Map<String, PropertyInfo> propertyMap = new LinkedHashMap<>();
+    collectProperties(type, propertyMap);
+    String commandName = type.getSimpleName().toString();
+    List<CliPropertyMetadata> properties = new ArrayList<>(propertyMap.size());
+    for (PropertyInfo info : propertyMap.values()) {
+      try {
+        properties.add(CliPropertyMetadata.of(info.name, commandName + "." + info.name, info.aliases, info.mandatory,
+            info.flag, info.container));
+      } catch (RuntimeException e) {
+        error(e, info.method, type);
+        return;
+      }
+    }
+    try {
+      CliCommandMetadata.validate(commandName, properties);
+    } catch (RuntimeException e) {
+      error(e, type, type);
+      return;
+    }
+    write(type, properties);
+  }
+
+  private void error(RuntimeException e, Element element, TypeElement type) {
+
+    Element target = element;
+    if (element.getEnclosingElement() != type) {
+      target = type;
+    }
+    this.processingEnv.getMessager().printMessage(Kind.ERROR, e.getMessage(), target);
+  }
+
+  private void collectProperties(TypeElement type, Map<String, PropertyInfo> propertyMap) {
+
+    for (TypeMirror superInterface : type.getInterfaces()) {
+      TypeElement superType = (TypeElement) this.types.asElement(superInterface);
+      if (isCommand(superType)) {
+        collectProperties(superType, propertyMap);
+      }
+    }
+    for (Element member : type.getEnclosedElements()) {
+      if (member.getKind() == ElementKind.METHOD) {
+        ExecutableElement method = (ExecutableElement) member;
+        Set<Modifier> modifiers = method.getModifiers();
+        if (method.getParameters().isEmpty() && !modifiers.contains(Modifier.DEFAULT)
+            && !modifiers.contains(Modifier.STATIC) && isAssignable(method.getReturnType(), this.writableProperty)) {
+          String name = method.getSimpleName().toString();
+          PropertyInfo inherited = propertyMap.get(name);
+          propertyMap.put(name, new PropertyInfo(method, inherited));
+        }
+      }
+    }
+  }
+
+  private void write(TypeElement type, List<CliPropertyMetadata> properties) {
+
+    PackageElement pkg = this.elements.getPackageOf(type);
+    String packageName = pkg.getQualifiedName().toString();
+    String qualifiedName = type.getQualifiedName().toString();
+    String nestedName = qualifiedName;
+    if (!packageName.isEmpty()) {
+      nestedName = qualifiedName.substring(packageName.length() + 1);
+    }
+    String simpleName = nestedName.replace('.', '_') + CliCommandMetadata.SUFFIX;
+    String className = simpleName;
+    if (!packageName.isEmpty()) {
+      className = packageName + "." + simpleName;
+    }
+    this.generated.add(className);
+    try (Writer writer = this.processingEnv.getFiler().createSourceFile(className, type).openWriter()) {
+      StringBuilder sb = new StringBuilder();
+      if (!packageName.isEmpty()) {
+        sb.append("package ").append(packageName).append(";\n\n");
+      }
+      sb.append("import java.util.List;\n\n");
+      sb.append("import io.github.mmm.cli.container.CliCommandMetadata;\n");
+      sb.append("import io.github.mmm.cli.container.CliPropertyMetadata;\n\n");
+      sb.append("/**\n * {@link CliCommandMetadata} of {@link ").append(nestedName).append("}.\n");
+      sb.append(" * Generated by ").append(getClass().getName()).append(" - do not edit.\n */\n");
+      sb.append("public final class ").append(simpleName).append(" extends CliCommandMetadata {\n\n");
+      sb.append("  /**\n   * The constructor.\n   */\n");
+      sb.append("  public ").append(simpleName).append("() {\n\n");
+      sb.append("    super(").append(nestedName).append(".class");
+      for (CliPropertyMetadata property : properties) {
+        sb.append(", //\n        new CliPropertyMetadata(");
+        appendString(sb, property.getPropertyName());
+        sb.append(", List.of(");
+        String separator = "";
+        for (String alias : property.getAliases()) {
+          sb.append(separator);
+          appendString(sb, alias);
+          separator = ", ";
+        }
+        sb.append("), ");
+        appendString(sb, property.getSyntax());
+        sb.append(", ");
+        appendString(sb, property.getUsage());
+        sb.append(", ").append(property.getIndex());
+        sb.append(", ").append(property.isMandatory());
+        sb.append(", ").append(property.isOption());
+        sb.append(", ").append(property.isFlag());
+        sb.append(", ").append(property.isValue());
+        sb.append(", ").append(property.isVararg());
+        sb.append(", ").append(property.isWildcard());
+        sb.append(')');
+      }
+      sb.append(");\n  }\n\n}\n");
+      writer.write(sb.toString());
+    } catch (IOException e) {
+      this.processingEnv.getMessager().printMessage(Kind.ERROR, "Failed to generate " + className + ": " + e, type);
+    }
+  }
+
+  private void writeIndex() {
+
+    Filer filer = this.processingEnv.getFiler();
+    // keep the entries from previous (incremental) compilations
+    try {
+      FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", CliCommandMetadata.INDEX);
+      try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+        String line = reader.readLine();
+        while (line != null) {
+          line = line.trim();
+          if (!line.isEmpty() && !line.startsWith("#")) {
+            this.generated.add(line);
+          }
+          line = reader.readLine();
+        }
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      // no index written so far
+    }
+    try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", CliCommandMetadata.INDEX)
+        .openWriter()) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("# Generated by ").append(getClass().getName()).append(" - do not edit.\n");
+      for (String className : this.generated) {
+        sb.append(className).append('\n');
+      }
+      writer.write(sb.toString());
+    } catch (IOException e) {
+      this.processingEnv.getMessager().printMessage(Kind.ERROR,
+          "Failed to generate " + CliCommandMetadata.INDEX + ": " + e);
+    }
+  }
+
+  private static void appendString(StringBuilder sb, String value) {
+
+    sb.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if ((c == '"') || (c == '\\')) {
+        sb.append('\\').append(c);
+      } else if (c < 0x20) {
+        sb.append(String.format("\\u%04x", Integer.valueOf(c)));
+      } else {
+        sb.append(c);
+      }
+    }
+    sb.append('"');
+  }
+
+  private static AnnotationMirror getAnnotation(Element element, String annotationType) {
+
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+          .contentEquals(annotationType)) {
+        return annotation;
+      }
+    }
+    return null;
+  }
+
+  private static List<String> getAliases(AnnotationMirror alias) {
+
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : alias.getElementValues()
+        .entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals("value")) {
+        Object value = entry.getValue().getValue();
+        List<String> aliases = new ArrayList<>();
+        if (value instanceof List) {
+          for (Object item : (List<?>) value) {
+            aliases.add((String) ((AnnotationValue) item).getValue());
+          }
+        } else {
+          aliases.add((String) value);
+        }
+        return aliases;
+      }
+    }
+    return Collections.emptyList();
+  }
+
+  private class PropertyInfo {
+
+    private final ExecutableElement method;
+
+    private final String name;
+
+    private final List<String> aliases;
+
+    private final boolean mandatory;
+
+    private final boolean flag;
+
+    private final boolean container;
+
+    private PropertyInfo(ExecutableElement method, PropertyInfo inherited) {
+
+      super();
+      this.method = method;
+      this.name = method.getSimpleName().toString();
+      AnnotationMirror alias = getAnnotation(method, PROPERTY_ALIAS);
+      if (alias != null) {
+        this.aliases = getAliases(alias);
+      } else if (inherited != null) {
+        this.aliases = inherited.aliases;
+      } else {
+        this.aliases = Collections.emptyList();
+      }
+      this.mandatory = (getAnnotation(method, MANDATORY) != null) || ((inherited != null) && inherited.mandatory);
+      TypeMirror returnType = method.getReturnType();
+      this.flag = isAssignable(returnType, CliCommandProcessor.this.booleanProperty);
+      this.container = isAssignable(returnType, CliCommandProcessor.this.containerProperty);
+    }
+  }
+
+}
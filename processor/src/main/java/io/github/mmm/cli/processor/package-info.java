@@ -0,0 +1,6 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+/**
+ * Contains the annotation processor to generate {@link io.github.mmm.cli.container.CliCommandMetadata}.
+ */
+package io.github.mmm.cli.processor;
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+/**
+ * Provides an annotation processor that generates the {@link io.github.mmm.cli.container.CliCommandMetadata metadata}
+ * of {@link io.github.mmm.cli.command.CliCommand}s at build time.<br>
+ * <h2>CLI Processor</h2><br>
+ * Add this module to the annotation processor path of your CLI program. For each {@link
+ * io.github.mmm.cli.command.CliCommand} interface a class with the suffix
+ * {@link io.github.mmm.cli.container.CliCommandMetadata#SUFFIX _CliMetadata} is generated in the same package and
+ * listed in the {@link io.github.mmm.cli.container.CliCommandMetadata#INDEX index}. At runtime this precomputed
+ * metadata is loaded instead of analyzing the properties of each command on every start.
+ * Invalid commands (e.g. with a gap in the value indexes) cause a compile error instead of a runtime error.
+ */
+module io.github.mmm.cli.processor {
+
+  requires transitive java.compiler;
+
+  requires io.github.mmm.cli;
+
+  exports io.github.mmm.cli.processor;
+
+  provides javax.annotation.processing.Processor with io.github.mmm.cli.processor.CliCommandProcessor;
+
+}
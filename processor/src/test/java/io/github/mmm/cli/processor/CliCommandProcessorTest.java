@@ -0,0 +1,122 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.cli.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.mmm.cli.container.CliCommandMetadata;
+
+/**
+ * Test of {@link CliCommandProcessor}.
+ */
+public class CliCommandProcessorTest extends Assertions {
+
+  private static final String IMPORTS = "package demo;\n" //
+      + "import io.github.mmm.bean.Mandatory;\n" //
+      + "import io.github.mmm.bean.PropertyAlias;\n" //
+      + "import io.github.mmm.cli.CliMain;\n" //
+      + "import io.github.mmm.cli.command.CliCommand;\n" //
+      + "import io.github.mmm.property.booleans.BooleanProperty;\n" //
+      + "import io.github.mmm.property.container.list.ListProperty;\n" //
+      + "import io.github.mmm.property.string.StringProperty;\n";
+
+  /**
+   * Test of {@link CliCommandProcessor} with a valid command.
+   *
+   * @param dir the temporary directory.
+   * @throws IOException on error.
+   */
+  @Test
+  public void testGenerate(@TempDir Path dir) throws IOException {
+
+    // given
+    String source = IMPORTS + "public interface Demo extends CliCommand {\n" //
+        + "  @PropertyAlias({\"demo\", \"0\"}) @Mandatory BooleanProperty Demo();\n" //
+        + "  @PropertyAlias({\"--message\", \"-m\"}) ListProperty<String> Message();\n" //
+        + "  @PropertyAlias(\"1\") StringProperty Target();\n" //
+        + "  default int run(CliMain main) { return 0; }\n" //
+        + "}\n";
+    // when
+    List<Diagnostic<? extends JavaFileObject>> errors = process(dir, source);
+    // then
+    assertThat(errors).isEmpty();
+    String generated = Files.readString(dir.resolve("generated/demo/Demo_CliMetadata.java"));
+    assertThat(generated).contains("public final class Demo_CliMetadata extends CliCommandMetadata")
+        .contains("super(Demo.class")
+        .contains("new CliPropertyMetadata(\"Demo\", List.of(\"demo\", \"0\"), \"demo\", \"demo\", 0, true, false, "
+            + "true, false, false, false)")
+        .contains("new CliPropertyMetadata(\"Message\", List.of(\"--message\", \"-m\"), \"--message|-m\", "
+            + "\"[--message|-m <message>...]\", -1, false, true, false, false, true, false)")
+        .contains("new CliPropertyMetadata(\"Target\", List.of(\"1\"), \"target\", \"[<target>]\", 1, false, false, "
+            + "false, true, false, false)");
+    assertThat(Files.readAllLines(dir.resolve("classes/" + CliCommandMetadata.INDEX)))
+        .contains("demo.Demo_CliMetadata");
+  }
+
+  /**
+   * Test of {@link CliCommandProcessor} with an invalid command.
+   *
+   * @param dir the temporary directory.
+   * @throws IOException on error.
+   */
+  @Test
+  public void testInvalidValueIndex(@TempDir Path dir) throws IOException {
+
+    // given
+    String source = IMPORTS + "public interface Demo extends CliCommand {\n" //
+        + "  @PropertyAlias(\"1\") StringProperty Value();\n" //
+        + "  default int run(CliMain main) { return 0; }\n" //
+        + "}\n";
+    // when
+    List<Diagnostic<? extends JavaFileObject>> errors = process(dir, source);
+    // then
+    assertThat(errors).hasSize(1);
+    assertThat(errors.get(0).getMessage(null)).isEqualTo(
+        "Invalid value Demo.Value() with index 1 but expected index 0 - please fix @PropertyAlias annotation.");
+    assertThat(dir.resolve("generated/demo/Demo_CliMetadata.java")).doesNotExist();
+    assertThat(dir.resolve("classes/" + CliCommandMetadata.INDEX)).doesNotExist();
+  }
+
+  private static List<Diagnostic<? extends JavaFileObject>> process(Path dir, String source) throws IOException {
+
+    Path sourceFile = dir.resolve("src/demo/Demo.java");
+    Files.createDirectories(sourceFile.getParent());
+    Files.writeString(sourceFile, source, StandardCharsets.UTF_8);
+    Path generated = Files.createDirectories(dir.resolve("generated"));
+    Path classes = Files.createDirectories(dir.resolve("classes"));
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+        StandardCharsets.UTF_8)) {
+      String classpath = System.getProperty("java.class.path");
+      String modulepath = System.getProperty("jdk.module.path");
+      if ((modulepath != null) && !modulepath.isEmpty()) {
+        classpath = modulepath + File.pathSeparator + classpath;
+      }
+      List<String> options = List.of("-proc:only", "-classpath", classpath, "-s", generated.toString(), "-d",
+          classes.toString());
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+          fileManager.getJavaFileObjects(sourceFile));
+      task.setProcessors(List.of(new CliCommandProcessor()));
+      task.call();
+    }
+    return diagnostics.getDiagnostics().stream().filter(d -> d.getKind() == Diagnostic.Kind.ERROR).toList();
+  }
+
+}